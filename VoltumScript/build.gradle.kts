@@ -19,6 +19,7 @@ plugins {
     id("org.jetbrains.kotlin.jvm") version "1.9.25"
     id("org.jetbrains.intellij.platform") version "2.1.0"
     id("org.jetbrains.gradle.plugin.idea-ext") version "1.1.9"
+    id("me.champeau.jmh") version "0.7.2"
 //    id("org.jetbrains.intellij.platform.migration") version "2.1.0"
 }
 
@@ -55,6 +56,44 @@ dependencies {
     testImplementation("junit:junit:4.13.2")
 }
 
+// Benchmarks live in `src/jmh` and reuse the test classpath, so the platform
+// backed suites can bootstrap the same light fixtures our tests use.
+configurations {
+    named("jmhImplementation") {
+        extendsFrom(configurations["testImplementation"], configurations["intellijPlatformClasspath"])
+    }
+    named("jmhRuntimeOnly") {
+        extendsFrom(configurations["testRuntimeOnly"], configurations["intellijPlatformTestClasspath"])
+    }
+}
+
+jmh {
+    jmhVersion = "1.37"
+    includeTests = true
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    // Machine readable results so runs can be diffed between revisions:
+    // `./gradlew jmh -PjmhCorpusSize=100,1000 -PjmhIncludes=Lexer`
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+    profilers = listOf("gc")
+    if (hasProp("jmhIncludes")) {
+        includes = prop("jmhIncludes").split(',')
+    }
+    if (hasProp("jmhCorpusSize")) {
+        benchmarkParameters.put("size", objects.listProperty<String>().value(prop("jmhCorpusSize").split(',')))
+    }
+    jvmArgsAppend = listOf(
+        "-Xmx2g",
+        "-Djava.awt.headless=true",
+        "-Djna.nosys=true",
+        "-Didea.is.unit.test=true",
+        "-Dvoltum.bindingsMeta=${rootDir.resolve("../CSScriptingLang/BindingsMeta.json").canonicalPath}",
+        "-Djava.util.concurrent.ForkJoinPool.common.threadFactory=com.intellij.concurrency.IdeaForkJoinWorkerThreadFactory",
+    )
+}
+
 idea {
     module {
         setDownloadJavadoc(true)
@@ -0,0 +1,24 @@
+package com.voltum.voltumscript.benchmarks
+
+import org.openjdk.jmh.annotations.AuxCounters
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+
+/**
+ * Retained heap reported next to the timings, as the `retainedBytes` secondary result of the benchmark.
+ *
+ * Benchmarks set it in a fixture method, outside the measured code, from two [usedHeap] readings. jmh only reports
+ * the counters of states a benchmark method takes, so the benchmark methods take it as a parameter as well.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+open class HeapFootprint {
+    @JvmField
+    var retainedBytes: Long = 0
+}
+
+/** Heap in use after a few full collections, only what is still reachable is left */
+fun usedHeap(): Long {
+    repeat(3) { System.gc() }
+    return Runtime.getRuntime().let { it.totalMemory() - it.freeMemory() }
+}
@@ -0,0 +1,116 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.testFramework.LightProjectDescriptor
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory
+import com.intellij.testFramework.runInEdtAndWait
+import com.voltum.voltumscript.lang.types.typeRegistry
+import com.voltum.voltumscript.runtime.RuntimeSettings
+import com.voltum.voltumscript.runtime.std.StdLibMetaService
+import com.voltum.voltumscript.runtime.std.stdMeta
+import org.openjdk.jmh.annotations.*
+import java.util.concurrent.TimeUnit
+
+/**
+ * Startup cost of the std lib: what [StdLibMetaService.load] pays now that modules materialize lazily,
+ * against loading and then materializing every module, which is what the eager configuration did.
+ *
+ * The std lib is generated, [modules] modules of one prototype with [METHODS] methods each, so the numbers don't
+ * depend on the runtime installed. Time is the single shot score; the heap the std lib keeps once loaded is the
+ * `retainedBytes` secondary result, see [HeapFootprint].
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+open class StdLibMaterializeBenchmark {
+    companion object {
+        private const val METHODS = 20
+    }
+
+    @Param("50", "500")
+    var modules: Int = 0
+
+    private lateinit var fixture: CodeInsightTestFixture
+    private lateinit var stdLibDir: VirtualFile
+    private lateinit var metaJson: String
+
+    private var heapBefore = 0L
+
+    private val service: StdLibMetaService get() = fixture.project.stdMeta
+
+    @Setup(Level.Trial)
+    fun setUpFixture() {
+        val factory = IdeaTestFixtureFactory.getFixtureFactory()
+        val builder = factory.createLightFixtureBuilder(LightProjectDescriptor.EMPTY_PROJECT_DESCRIPTOR, javaClass.simpleName)
+        fixture = factory.createCodeInsightFixture(builder.fixture)
+        runInEdtAndWait { fixture.setUp() }
+
+        val methods = (0 until METHODS).joinToString("\n") { "    m$it() int32 {}" }
+        runInEdtAndWait {
+            for (i in 0 until modules) {
+                val file = fixture.addFileToProject(
+                    "${RuntimeSettings.STD_LIB_DIR_NAME}/Mod$i/Type$i.vlt",
+                    "type Type$i struct {\n$methods\n}\n"
+                )
+                stdLibDir = file.virtualFile.parent.parent
+            }
+        }
+        metaJson = (0 until modules).joinToString(",\n", "[\n", "\n]") { moduleJson(it) }
+    }
+
+    private fun moduleJson(i: Int): String {
+        val methods = (0 until METHODS).joinToString(", ") { m ->
+            """{ "Name": "m$m", "Definition": "def m$m() int32;", "Documentation": null, "Parameters": [] }"""
+        }
+        return """
+            {
+              "Classes": [],
+              "Prototypes": [
+                {
+                  "Name": "Type$i", "Kind": "Prototype", "Module": "Mod$i", "RelativePath": "Mod$i/Type$i", "Aliases": [],
+                  "Definition": "type Type$i struct {}", "Methods": [$methods], "Properties": [], "Constructors": []
+                }
+              ],
+              "Methods": [], "Properties": [], "Constructors": [], "Aliases": [],
+              "Name": "Mod$i", "Namespace": "Mod$i", "Module": null, "SuperType": null,
+              "Kind": "Module", "RelativePath": "Mod$i", "Definition": ""
+            }
+        """.trimIndent()
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDownFixture() {
+        runInEdtAndWait { fixture.tearDown() }
+    }
+
+    /** Starts every invocation from an empty std lib, and takes the heap baseline outside the measured code */
+    @Setup(Level.Invocation)
+    fun unload() {
+        service.reset()
+        fixture.project.typeRegistry.reset()
+        heapBefore = usedHeap()
+    }
+
+    @TearDown(Level.Invocation)
+    fun measureRetained(footprint: HeapFootprint) {
+        footprint.retainedBytes = usedHeap() - heapBefore
+    }
+
+    /** Lazy: metadata and the per module name index only */
+    @Benchmark
+    fun load(@Suppress("UNUSED_PARAMETER") footprint: HeapFootprint): Int {
+        service.load(metaJson, stdLibDir)
+        return service.moduleCount
+    }
+
+    /** Eager: every module's PSI loaded and its types configured and registered */
+    @Benchmark
+    fun loadAndMaterializeAll(@Suppress("UNUSED_PARAMETER") footprint: HeapFootprint): Int {
+        service.load(metaJson, stdLibDir)
+        service.objects.forEach { service.materialize(it.name) }
+        return service.materializedModuleCount
+    }
+}
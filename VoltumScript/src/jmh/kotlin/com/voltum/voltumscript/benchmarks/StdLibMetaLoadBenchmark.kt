@@ -0,0 +1,48 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.voltum.voltumscript.runtime.std.StdLibMetaSnapshot
+import org.openjdk.jmh.annotations.*
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.util.concurrent.TimeUnit
+import kotlin.io.path.div
+import kotlin.io.path.readText
+
+/**
+ * Startup cost of the std lib metadata: Gson parsing of `BindingsMeta.json` vs reading the mmapped binary snapshot.
+ * The json is taken from `-Dvoltum.bindingsMeta` (defaults to the runtime checkout next to the plugin).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class StdLibMetaLoadBenchmark {
+    private lateinit var json: String
+    private lateinit var hash: String
+    private lateinit var dir: Path
+    private lateinit var snapshot: Path
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        json = Paths.get(System.getProperty("voltum.bindingsMeta", "../CSScriptingLang/BindingsMeta.json")).readText()
+        hash = StdLibMetaSnapshot.contentHash(json)
+        dir = Files.createTempDirectory("voltum-std-meta")
+        snapshot = dir / "$hash.bin"
+        StdLibMetaSnapshot.write(snapshot, hash, StdLibMetaSnapshot.parseJson(json))
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        dir.toFile().deleteRecursively()
+    }
+
+    @Benchmark
+    fun json(): Any = StdLibMetaSnapshot.parseJson(json)
+
+    @Benchmark
+    fun snapshot(): Any = StdLibMetaSnapshot.read(snapshot, hash)
+
+    /** What `StdLibMetaService.load` pays on a warm cache: hashing the json + reading the snapshot */
+    @Benchmark
+    fun hashAndSnapshot(): Any = StdLibMetaSnapshot.load(json, dir)
+}
@@ -0,0 +1,69 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.voltum.voltumscript.lang.types.Ty
+import com.voltum.voltumscript.lang.types.TyField
+import com.voltum.voltumscript.lang.types.TyInt32
+import com.voltum.voltumscript.lang.types.TyStruct
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Member lookup on a prototype chain of `depth` levels, each level declaring `membersPerLevel` fields.
+ * `chainWalk` is the previous implementation (walk [Ty.prototypeChain] and probe every level) kept as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+open class TyMemberLookupBenchmark {
+    @Param("1", "10", "25")
+    var depth: Int = 0
+
+    @Param("8")
+    var membersPerLevel: Int = 0
+
+    private lateinit var leaf: Ty
+    private lateinit var names: Array<String>
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        var parent: Ty? = null
+        val allNames = mutableListOf<String>()
+        for (level in 0 until depth) {
+            val ty = TyStruct().apply { name = "Level$level" }
+            for (i in 0 until membersPerLevel) {
+                val name = "field_${level}_$i"
+                ty.addField(name, TyInt32.INSTANCE)
+                allNames += name
+            }
+            ty.addToPrototype(parent)
+            parent = ty
+        }
+        leaf = parent!!
+        // Root level names are the worst case for the chain walk
+        names = allNames.toTypedArray()
+    }
+
+    @Benchmark
+    fun flattened(bh: Blackhole) {
+        for (name in names) {
+            bh.consume(leaf.getField(name))
+        }
+    }
+
+    @Benchmark
+    fun chainWalk(bh: Blackhole) {
+        for (name in names) {
+            bh.consume(chainWalkLookup(leaf, name))
+        }
+    }
+
+    private fun chainWalkLookup(ty: Ty, name: String): TyField? {
+        ty.prototypeChain().forEach {
+            if (it.members.containsKey(name)) {
+                return it.members[name]
+            }
+        }
+        return null
+    }
+}
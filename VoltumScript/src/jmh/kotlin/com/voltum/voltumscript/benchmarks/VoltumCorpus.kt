@@ -0,0 +1,50 @@
+package com.voltum.voltumscript.benchmarks
+
+import kotlin.random.Random
+
+/**
+ * Generates synthetic Voltum sources for the benchmark suites.
+ *
+ * A corpus of `size` units contains one type declaration, one function and a handful of top level
+ * statements per unit; every unit references declarations from the previous units, so resolve and
+ * inference have real (cross declaration) work to do.
+ */
+object VoltumCorpus {
+    fun generate(size: Int, seed: Long = 42): String {
+        val random = Random(seed)
+        val sb = StringBuilder(size * 512)
+
+        for (i in 0 until size) {
+            val prev = if (i > 0) random.nextInt(i) else 0
+
+            sb.append("type Point").append(i).append(" struct {\n")
+            sb.append("    x int\n")
+            sb.append("    y int\n")
+            sb.append("    name string\n")
+            sb.append("    def length() int {\n")
+            sb.append("        return x + y\n")
+            sb.append("    }\n")
+            sb.append("}\n\n")
+
+            sb.append("function compute").append(i).append("(int a, int b) int {\n")
+            sb.append("    var total = a + b * ").append(random.nextInt(100)).append('\n')
+            sb.append("    var items = [a, b, total, 'item ").append(i).append("']\n")
+            sb.append("    var dict = {x: a, y: b, nested: {z: total}}\n")
+            sb.append("    for(var j = 0; j < total; j++) {\n")
+            sb.append("        if(j > b) {\n")
+            sb.append("            total = total + items[0]\n")
+            sb.append("        }\n")
+            sb.append("    }\n")
+            if (i > 0) {
+                sb.append("    var other = compute").append(prev).append("(total, a)\n")
+            }
+            sb.append("    return total\n")
+            sb.append("}\n\n")
+
+            sb.append("var value").append(i).append(" = compute").append(i).append("(1, 2)\n")
+            sb.append("var copy").append(i).append(" = value").append(prev).append("\n\n")
+        }
+
+        return sb.toString()
+    }
+}
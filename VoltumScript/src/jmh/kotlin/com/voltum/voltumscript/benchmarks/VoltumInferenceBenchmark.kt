@@ -0,0 +1,36 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.openapi.application.ReadAction
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.lang.inference.Inference
+import com.voltum.voltumscript.psi.VoltumElement
+import com.voltum.voltumscript.psi.VoltumIdentifier
+import com.voltum.voltumscript.psi.ext.VoltumInferenceContextOwner
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Runs [com.voltum.voltumscript.lang.inference.InferenceHandler.resolve] for every inference context owner
+ * in the corpus. Handlers are created directly, so the CachedValue layer is bypassed and every op is a cold run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class VoltumInferenceBenchmark : VoltumPlatformBenchmark() {
+    private lateinit var owners: List<VoltumElement>
+
+    override fun setUpCorpus() {
+        val file = configureFile(text)
+        owners = ReadAction.compute<List<VoltumElement>, Throwable> {
+            PsiTreeUtil.collectElementsOfType(file, VoltumInferenceContextOwner::class.java)
+                .filter { it !is VoltumIdentifier || it.name != null }
+        }
+    }
+
+    @Benchmark
+    fun resolve(bh: Blackhole) = ReadAction.run<Throwable> {
+        for (owner in owners) {
+            bh.consume(Inference.infer(owner).resolve())
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.openapi.application.ReadAction
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.lang.inference.CachedInferenceResult
+import com.voltum.voltumscript.lang.inference.Inference
+import com.voltum.voltumscript.psi.VoltumIdentifier
+import com.voltum.voltumscript.psi.ext.VoltumInferenceContextOwner
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Reads and merges of the [CachedInferenceResult]s of every inference context owner in the corpus, what resolve,
+ * completion and the project inference do with them once inferred. The results are built once per trial; their
+ * retained heap is the `retainedBytes` secondary result ([HeapFootprint]), allocation per op comes from the gc profiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class VoltumInferenceResultBenchmark : VoltumPlatformBenchmark() {
+    private lateinit var results: List<CachedInferenceResult>
+    private lateinit var names: Array<String>
+    private var retainedBytes = 0L
+
+    override fun setUpCorpus() {
+        val file = configureFile(text)
+        val before = usedHeap()
+        results = ReadAction.compute<List<CachedInferenceResult>, Throwable> {
+            PsiTreeUtil.collectElementsOfType(file, VoltumInferenceContextOwner::class.java)
+                .filter { it !is VoltumIdentifier || it.name != null }
+                .map { Inference.infer(it).resolve() }
+        }
+        retainedBytes = usedHeap() - before
+
+        // A fixed sample, so the lookup cost per result stays comparable across sizes
+        val sample = minOf(size, 32)
+        names = Array(sample) { "compute$it" } + Array(sample) { "value$it" }
+    }
+
+    @Setup(Level.Iteration)
+    fun reportFootprint(footprint: HeapFootprint) {
+        footprint.retainedBytes = retainedBytes
+    }
+
+    @Benchmark
+    fun merge(@Suppress("UNUSED_PARAMETER") footprint: HeapFootprint): CachedInferenceResult =
+        CachedInferenceResult().apply { results.forEach { merge(it) } }
+
+    @Benchmark
+    fun elementsNamed(bh: Blackhole, @Suppress("UNUSED_PARAMETER") footprint: HeapFootprint) {
+        for (result in results) {
+            for (name in names) {
+                result.elementsNamed(name).forEach { bh.consume(it) }
+            }
+        }
+    }
+
+    @Benchmark
+    fun allIdValues(bh: Blackhole, @Suppress("UNUSED_PARAMETER") footprint: HeapFootprint) = ReadAction.run<Throwable> {
+        for (result in results) {
+            bh.consume(result.allIdValues)
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.voltum.voltumscript.lexer.VoltumLexerAdapter
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Raw lexer throughput; doesn't need an application, so it runs without a fixture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class VoltumLexerBenchmark {
+    @Param("100", "1000", "10000")
+    var size: Int = 0
+
+    private lateinit var text: String
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        text = VoltumCorpus.generate(size)
+    }
+
+    @Benchmark
+    fun lex(bh: Blackhole) {
+        val lexer = VoltumLexerAdapter()
+        lexer.start(text)
+        while (lexer.tokenType != null) {
+            bh.consume(lexer.tokenType)
+            lexer.advance()
+        }
+    }
+}
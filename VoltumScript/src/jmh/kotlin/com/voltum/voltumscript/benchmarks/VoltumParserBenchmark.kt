@@ -0,0 +1,21 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.lang.PsiBuilderFactory
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import com.voltum.voltumscript.lexer.VoltumLexerAdapter
+import com.voltum.voltumscript.parser.VoltumParser
+import com.voltum.voltumscript.parser.VoltumParserDefinition
+import org.openjdk.jmh.annotations.*
+import java.util.concurrent.TimeUnit
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class VoltumParserBenchmark : VoltumPlatformBenchmark() {
+    private val definition = VoltumParserDefinition()
+
+    @Benchmark
+    fun parse(): Any {
+        val builder = PsiBuilderFactory.getInstance().createBuilder(definition, VoltumLexerAdapter(), text)
+        return VoltumParser().parse(VoltumFileStub.Type, builder)
+    }
+}
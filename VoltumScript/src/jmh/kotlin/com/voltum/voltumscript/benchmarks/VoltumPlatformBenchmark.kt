@@ -0,0 +1,56 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.openapi.project.Project
+import com.intellij.psi.PsiFileFactory
+import com.intellij.testFramework.LightProjectDescriptor
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory
+import com.intellij.testFramework.runInEdtAndWait
+import com.voltum.voltumscript.lang.VoltumLanguage
+import com.voltum.voltumscript.psi.VoltumFile
+import org.openjdk.jmh.annotations.*
+
+/**
+ * Base state for the suites which need the platform (PSI, stubs, indexes, services).
+ *
+ * Boots the same light fixture that [com.voltum.voltumscript.VoltumTestCase] uses, once per trial.
+ */
+@State(Scope.Benchmark)
+abstract class VoltumPlatformBenchmark {
+    @Param("100", "1000", "10000")
+    var size: Int = 0
+
+    protected lateinit var fixture: CodeInsightTestFixture
+    protected lateinit var text: String
+
+    protected val project: Project get() = fixture.project
+
+    @Setup(Level.Trial)
+    fun setUpFixture() {
+        val factory = IdeaTestFixtureFactory.getFixtureFactory()
+        val builder = factory.createLightFixtureBuilder(LightProjectDescriptor.EMPTY_PROJECT_DESCRIPTOR, javaClass.simpleName)
+        fixture = factory.createCodeInsightFixture(builder.fixture)
+        runInEdtAndWait { fixture.setUp() }
+
+        text = VoltumCorpus.generate(size)
+        setUpCorpus()
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDownFixture() {
+        runInEdtAndWait { fixture.tearDown() }
+    }
+
+    protected open fun setUpCorpus() {}
+
+    /** Non-physical file, not visible to the indexes */
+    protected fun createFile(text: String, name: String = "benchmark.vlt"): VoltumFile =
+        PsiFileFactory.getInstance(project).createFileFromText(name, VoltumLanguage, text) as VoltumFile
+
+    /** Physical file inside the fixture project, so index based lookups can see it */
+    protected fun configureFile(text: String, name: String = "benchmark.vlt"): VoltumFile {
+        var file: VoltumFile? = null
+        runInEdtAndWait { file = fixture.configureByText(name, text) as VoltumFile }
+        return file!!
+    }
+}
@@ -0,0 +1,52 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.testFramework.runInEdtAndWait
+import com.voltum.voltumscript.lang.inference.ProjectInferenceResult
+import com.voltum.voltumscript.lang.inference.projectInference
+import com.voltum.voltumscript.psi.voltumPsiManager
+import org.openjdk.jmh.annotations.*
+import java.util.concurrent.TimeUnit
+
+/**
+ * Whole project inference of the corpus split over [FILES] files, across worker counts. File `n` uses a function
+ * of file `(n - 1) / 2`, so the dependency layers form a binary tree and get wider the deeper they go.
+ *
+ * The inference caches are dropped before every op, so each one is a cold batch run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class VoltumProjectInferenceBenchmark : VoltumPlatformBenchmark() {
+    @Param("1", "2", "4", "8")
+    var threads: Int = 0
+
+    private lateinit var files: List<VirtualFile>
+
+    override fun setUpCorpus() {
+        val perFile = (size / FILES).coerceAtLeast(1)
+        val texts = List(FILES) { n ->
+            // Every file gets its own top level names, so only the explicit link makes a dependency
+            val declarations = VoltumCorpus.generate(perFile, seed = n.toLong())
+                .replace("Point", "f${n}Point")
+                .replace("compute", "f${n}compute")
+                .replace("value", "f${n}value")
+                .replace("copy", "f${n}copy")
+            if (n == 0) declarations else declarations + "var f${n}link = f${(n - 1) / 2}compute0(1, 2)\n"
+        }
+        runInEdtAndWait {
+            files = texts.mapIndexed { n, text -> fixture.addFileToProject("file$n.vlt", text).virtualFile }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    fun dropInferenceCaches() {
+        project.voltumPsiManager.incVoltumStructureModificationCount()
+    }
+
+    @Benchmark
+    fun infer(): ProjectInferenceResult = project.projectInference.infer(files, threads)
+
+    companion object {
+        const val FILES = 16
+    }
+}
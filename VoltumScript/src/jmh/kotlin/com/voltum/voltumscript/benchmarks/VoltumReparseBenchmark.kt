@@ -0,0 +1,62 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.lang.PsiBuilderFactory
+import com.intellij.openapi.command.WriteCommandAction
+import com.intellij.openapi.editor.Document
+import com.intellij.psi.PsiDocumentManager
+import com.intellij.testFramework.runInEdtAndWait
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import com.voltum.voltumscript.lexer.VoltumLexerAdapter
+import com.voltum.voltumscript.parser.VoltumParser
+import com.voltum.voltumscript.parser.VoltumParserDefinition
+import org.openjdk.jmh.annotations.*
+import java.util.concurrent.TimeUnit
+
+/**
+ * Cost of committing a one character edit to an identifier in the middle of the corpus file, typed and then removed
+ * again. `bodyEdit` renames a local inside a function body and only reparses that body, `topLevelEdit` renames the
+ * function itself, where nothing but the whole file can be reparsed. `fullParse` is a from scratch parse of the same
+ * text.
+ *
+ * A corpus unit is about 25 lines, `-p size=400` gives the 10k line file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class VoltumReparseBenchmark : VoltumPlatformBenchmark() {
+    private val definition = VoltumParserDefinition()
+
+    private lateinit var document: Document
+    private var bodyOffset = 0
+    private var topLevelOffset = 0
+
+    override fun setUpCorpus() {
+        val file = configureFile(text)
+        document = PsiDocumentManager.getInstance(project).getDocument(file)!!
+
+        val middle = text.indexOf("function compute${size / 2}(")
+        bodyOffset = text.indexOf("var total", middle) + "var tot".length
+        topLevelOffset = middle + "function comp".length
+    }
+
+    @Benchmark
+    fun bodyEdit() = editAndRevert(bodyOffset)
+
+    @Benchmark
+    fun topLevelEdit() = editAndRevert(topLevelOffset)
+
+    @Benchmark
+    fun fullParse(): Any {
+        val builder = PsiBuilderFactory.getInstance().createBuilder(definition, VoltumLexerAdapter(), text)
+        return VoltumParser().parse(VoltumFileStub.Type, builder)
+    }
+
+    private fun editAndRevert(offset: Int) = runInEdtAndWait {
+        val documentManager = PsiDocumentManager.getInstance(project)
+        WriteCommandAction.runWriteCommandAction(project) {
+            document.insertString(offset, "x")
+            documentManager.commitDocument(document)
+            document.deleteString(offset, offset + 1)
+            documentManager.commitDocument(document)
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.openapi.application.ReadAction
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.lang.references.VoltumReferenceCached
+import com.voltum.voltumscript.lang.resolver.VoltumResolveCache
+import com.voltum.voltumscript.psi.VoltumReferenceElement
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Resolves every [VoltumReferenceCached] in the corpus; `cold` drops the resolve cache before each op,
+ * `warm` measures the cache hit path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class VoltumResolveBenchmark : VoltumPlatformBenchmark() {
+    private lateinit var references: List<VoltumReferenceCached<*>>
+
+    override fun setUpCorpus() {
+        val file = configureFile(text)
+        references = ReadAction.compute<List<VoltumReferenceCached<*>>, Throwable> {
+            PsiTreeUtil.collectElementsOfType(file, VoltumReferenceElement::class.java)
+                .mapNotNull { it.reference as? VoltumReferenceCached<*> }
+        }
+    }
+
+    @Benchmark
+    fun cold(bh: Blackhole) = ReadAction.run<Throwable> {
+        VoltumResolveCache.getInstance(project).anyPsiChangeDependentCache.clear()
+        for (reference in references) {
+            bh.consume(reference.multiResolve(false))
+        }
+    }
+
+    @Benchmark
+    fun warm(bh: Blackhole) = ReadAction.run<Throwable> {
+        for (reference in references) {
+            bh.consume(reference.multiResolve(false))
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.openapi.application.ReadAction
+import com.intellij.psi.PsiElement
+import com.intellij.psi.impl.source.tree.TreeUtil
+import com.intellij.psi.stubs.IStubElementType
+import com.intellij.psi.stubs.IndexSink
+import com.intellij.psi.stubs.SerializationManagerEx
+import com.intellij.psi.stubs.StubElement
+import com.intellij.psi.stubs.StubIndexKey
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import com.voltum.voltumscript.psi.VoltumFile
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.io.ByteArrayOutputStream
+import java.util.concurrent.TimeUnit
+
+/**
+ * Stub building and indexing cost of the corpus. The stub tree size (stub count and serialized bytes) is reported as
+ * secondary results next to the scores, see [StubTreeSize]; compare it across stub versions together with them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class VoltumStubBuilderBenchmark : VoltumPlatformBenchmark() {
+    private lateinit var file: VoltumFile
+    private lateinit var stubTree: StubElement<*>
+    private var stubCount = 0
+    private var serializedBytes = 0
+
+    /** jmh only reports the counters of states a benchmark method takes, hence the parameters of the benchmarks */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    open class StubTreeSize {
+        @JvmField
+        var stubs: Long = 0
+
+        @JvmField
+        var serializedBytes: Long = 0
+    }
+
+    override fun setUpCorpus() {
+        file = createFile(text)
+        // Only the stub builder is measured, parsing happens once up front
+        ReadAction.run<Throwable> { TreeUtil.ensureParsed(file.node) }
+        stubTree = buildStubTree()
+
+        val bytes = ByteArrayOutputStream()
+        SerializationManagerEx.getInstanceEx().serialize(stubTree, bytes)
+        stubCount = countStubs(stubTree)
+        serializedBytes = bytes.size()
+    }
+
+    @Setup(Level.Iteration)
+    fun reportTreeSize(treeSize: StubTreeSize) {
+        treeSize.stubs = stubCount.toLong()
+        treeSize.serializedBytes = serializedBytes.toLong()
+    }
+
+    @Benchmark
+    fun buildStubTree(@Suppress("UNUSED_PARAMETER") treeSize: StubTreeSize): StubElement<*> = buildStubTree()
+
+    private fun buildStubTree(): StubElement<*> = ReadAction.compute<StubElement<*>, Throwable> {
+        VoltumFileStub.Type.builder.buildStubTree(file)
+    }
+
+    /** What the stub index does per file after building: every stub reports its keys */
+    @Benchmark
+    fun indexStubTree(blackhole: Blackhole, @Suppress("UNUSED_PARAMETER") treeSize: StubTreeSize) {
+        val sink = object : IndexSink {
+            override fun <Psi : PsiElement, K> occurrence(indexKey: StubIndexKey<K, Psi>, value: K & Any) {
+                blackhole.consume(value)
+            }
+        }
+        index(stubTree, sink)
+    }
+
+    private fun index(stub: StubElement<*>, sink: IndexSink) {
+        @Suppress("UNCHECKED_CAST")
+        (stub.stubType as? IStubElementType<StubElement<*>, *>)?.indexStub(stub, sink)
+        for (child in stub.childrenStubs) {
+            index(child, sink)
+        }
+    }
+
+    private fun countStubs(stub: StubElement<*>): Int = 1 + stub.childrenStubs.sumOf { countStubs(it) }
+}
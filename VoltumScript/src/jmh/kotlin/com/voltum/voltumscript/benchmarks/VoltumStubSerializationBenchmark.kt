@@ -0,0 +1,42 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.openapi.application.ReadAction
+import com.intellij.psi.impl.source.tree.TreeUtil
+import com.intellij.psi.stubs.SerializationManagerEx
+import com.intellij.psi.stubs.Stub
+import com.intellij.psi.stubs.StubElement
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import org.openjdk.jmh.annotations.*
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.util.concurrent.TimeUnit
+
+/**
+ * Stub tree (de)serialization of the corpus; what stub loading and indexing pay per file. Every type declaration
+ * and dictionary stub carries a type, written through the per kind codecs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class VoltumStubSerializationBenchmark : VoltumPlatformBenchmark() {
+    private lateinit var stubTree: StubElement<*>
+    private lateinit var bytes: ByteArray
+
+    override fun setUpCorpus() {
+        val file = createFile(text)
+        stubTree = ReadAction.compute<StubElement<*>, Throwable> {
+            TreeUtil.ensureParsed(file.node)
+            VoltumFileStub.Type.builder.buildStubTree(file)
+        }
+        bytes = serialize()
+    }
+
+    @Benchmark
+    fun serialize(): ByteArray {
+        val out = ByteArrayOutputStream(if (::bytes.isInitialized) bytes.size else 1024)
+        SerializationManagerEx.getInstanceEx().serialize(stubTree, out)
+        return out.toByteArray()
+    }
+
+    @Benchmark
+    fun deserialize(): Stub = SerializationManagerEx.getInstanceEx().deserialize(ByteArrayInputStream(bytes))
+}
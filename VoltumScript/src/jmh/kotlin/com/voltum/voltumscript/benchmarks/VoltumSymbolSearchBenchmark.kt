@@ -0,0 +1,55 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.psi.codeStyle.NameUtil
+import com.voltum.voltumscript.lang.index.VoltumSymbolNameTable
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Symbol search latency over `symbols` generated camel case names. `linearScan` runs the name matcher over every
+ * name, which is what a prefix/fuzzy lookup over the named element keys costs today, and is kept as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class VoltumSymbolSearchBenchmark {
+    @Param("10000", "100000")
+    var symbols: Int = 0
+
+    /** substring, camel humps, initials, word prefixes, no match */
+    @Param("ymbolNa", "getSymNa", "gsn", "symNa", "zzzq")
+    var pattern: String = ""
+
+    private lateinit var names: List<String>
+    private lateinit var table: VoltumSymbolNameTable
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        val random = Random(42)
+        val words = listOf(
+            "get", "set", "symbol", "name", "type", "value", "list", "map", "index", "file", "cache", "resolve",
+            "load", "parse", "node", "tree", "field", "method", "module", "scope", "item", "entry", "buffer", "token"
+        )
+        names = List(symbols) { i ->
+            val parts = List(2 + random.nextInt(3)) { words[random.nextInt(words.size)] }
+            parts.first() + parts.drop(1).joinToString("") { it.replaceFirstChar(Char::uppercase) } + i
+        }
+        table = VoltumSymbolNameTable(names)
+    }
+
+    @Benchmark
+    fun tableSearch(bh: Blackhole) {
+        bh.consume(table.search(pattern, 100))
+    }
+
+    @Benchmark
+    fun linearScan(bh: Blackhole) {
+        val matcher = NameUtil.buildMatcher("*$pattern", NameUtil.MatchingCaseSensitivity.NONE)
+        bh.consume(names.filter { matcher.matches(it) }.sortedByDescending { matcher.matchingDegree(it) }.take(100))
+    }
+
+    @Benchmark
+    fun build(): VoltumSymbolNameTable = VoltumSymbolNameTable(names)
+}
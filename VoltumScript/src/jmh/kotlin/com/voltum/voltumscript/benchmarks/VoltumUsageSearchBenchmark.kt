@@ -0,0 +1,50 @@
+package com.voltum.voltumscript.benchmarks
+
+import com.intellij.openapi.application.ReadAction
+import com.intellij.psi.PsiElement
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.search.searches.ReferencesSearch
+import com.intellij.testFramework.runInEdtAndWait
+import com.voltum.voltumscript.lang.references.VoltumUsageSearch
+import com.voltum.voltumscript.psi.VoltumFile
+import com.voltum.voltumscript.psi.VoltumFuncDeclaration
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Find Usages of one function over a synthetic project of [fileCount] corpus files, sharing the [size] units between
+ * them. `indexSearch` goes through the usage index, `referencesSearch` is the platform word index search every
+ * candidate of which is resolved, kept as the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class VoltumUsageSearchBenchmark : VoltumPlatformBenchmark() {
+    /** Spreads the corpus over more files, the word index search resolves candidates in every one of them */
+    @Param("20", "200", "2000")
+    var fileCount: Int = 0
+
+    private lateinit var target: PsiElement
+
+    override fun setUpCorpus() {
+        val files = mutableListOf<VoltumFile>()
+        runInEdtAndWait {
+            repeat(fileCount) { i ->
+                files += fixture.addFileToProject("corpus$i.vlt", VoltumCorpus.generate(size / fileCount + 1, seed = i.toLong())) as VoltumFile
+            }
+        }
+        target = ReadAction.compute<PsiElement, Throwable> {
+            files.first().children.filterIsInstance<VoltumFuncDeclaration>().first().nameIdentifier!!
+        }
+    }
+
+    @Benchmark
+    fun indexSearch(bh: Blackhole) = ReadAction.run<Throwable> {
+        bh.consume(VoltumUsageSearch.findReferences(target, GlobalSearchScope.allScope(project)))
+    }
+
+    @Benchmark
+    fun referencesSearch(bh: Blackhole) = ReadAction.run<Throwable> {
+        bh.consume(ReferencesSearch.search(target, GlobalSearchScope.allScope(project)).findAll())
+    }
+}
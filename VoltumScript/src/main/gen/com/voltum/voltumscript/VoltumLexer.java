@@ -727,6 +727,13 @@ public class VoltumLexer implements FlexLexer {
     * Dedicated nested-comment level counter
     */
   private int zzNestedCommentLevel = 0;
+  /**
+    * Clears the comment bookkeeping, so a restart never sees what an abandoned comment match left behind
+    */
+  public void resetCommentState() {
+    zzPostponedMarkedPos = -1;
+    zzNestedCommentLevel = 0;
+  }
 IElementType imbueBlockComment() {
   assert(zzNestedCommentLevel == 0);
   yybegin(YYINITIAL);
@@ -45,6 +45,9 @@ public class VoltumParser implements PsiParser, LightPsiParser {
     else if (t == STATEMENT_CODE_FRAGMENT_ELEMENT) {
       r = statement_code_fragment_element(b, l + 1);
     }
+    else if (t == TYPE_DECLARATION_BODY) {
+      r = type_declaration_body(b, l + 1);
+    }
     else {
       r = program(b, l + 1);
     }
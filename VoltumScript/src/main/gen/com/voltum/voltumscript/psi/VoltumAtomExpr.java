@@ -4,10 +4,8 @@ package com.voltum.voltumscript.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.StubBasedPsiElement;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
 
-public interface VoltumAtomExpr extends VoltumExpr, StubBasedPsiElement<VoltumPlaceholderStub<?>> {
+public interface VoltumAtomExpr extends VoltumExpr {
 
   @Nullable
   VoltumAnonymousFunc getAnonymousFunc();
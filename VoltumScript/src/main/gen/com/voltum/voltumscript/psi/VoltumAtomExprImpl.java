@@ -8,8 +8,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumAtomExprImpl extends VoltumExprMixin implements VoltumAtomExpr {
 
@@ -17,10 +15,6 @@ public class VoltumAtomExprImpl extends VoltumExprMixin implements VoltumAtomExp
     super(node);
   }
 
-  public VoltumAtomExprImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitAtomExpr(this);
   }
@@ -40,19 +34,19 @@ public class VoltumAtomExprImpl extends VoltumExprMixin implements VoltumAtomExp
   @Override
   @Nullable
   public VoltumDictionaryValue getDictionaryValue() {
-    return PsiTreeUtil.getStubChildOfType(this, VoltumDictionaryValue.class);
+    return PsiTreeUtil.getChildOfType(this, VoltumDictionaryValue.class);
   }
 
   @Override
   @Nullable
   public VoltumListValue getListValue() {
-    return PsiTreeUtil.getStubChildOfType(this, VoltumListValue.class);
+    return PsiTreeUtil.getChildOfType(this, VoltumListValue.class);
   }
 
   @Override
   @Nullable
   public VoltumPath getPath() {
-    return PsiTreeUtil.getStubChildOfType(this, VoltumPath.class);
+    return PsiTreeUtil.getChildOfType(this, VoltumPath.class);
   }
 
 }
@@ -8,8 +8,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumAwaitExprImpl extends VoltumExprImpl implements VoltumAwaitExpr {
 
@@ -17,10 +15,6 @@ public class VoltumAwaitExprImpl extends VoltumExprImpl implements VoltumAwaitEx
     super(node);
   }
 
-  public VoltumAwaitExprImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   @Override
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitAwaitExpr(this);
@@ -35,7 +29,7 @@ public class VoltumAwaitExprImpl extends VoltumExprImpl implements VoltumAwaitEx
   @Override
   @Nullable
   public VoltumExpr getExpr() {
-    return PsiTreeUtil.getStubChildOfType(this, VoltumExpr.class);
+    return PsiTreeUtil.getChildOfType(this, VoltumExpr.class);
   }
 
   @Override
@@ -8,8 +8,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumBinaryExprImpl extends VoltumBinaryExprMixin implements VoltumBinaryExpr {
 
@@ -17,10 +15,6 @@ public class VoltumBinaryExprImpl extends VoltumBinaryExprMixin implements Voltu
     super(node);
   }
 
-  public VoltumBinaryExprImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   @Override
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitBinaryExpr(this);
@@ -35,7 +29,7 @@ public class VoltumBinaryExprImpl extends VoltumBinaryExprMixin implements Voltu
   @Override
   @NotNull
   public List<VoltumExpr> getExprList() {
-    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, VoltumExpr.class);
+    return PsiTreeUtil.getChildrenOfTypeAsList(this, VoltumExpr.class);
   }
 
   @Override
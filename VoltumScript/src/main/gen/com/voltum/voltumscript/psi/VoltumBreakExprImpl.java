@@ -8,8 +8,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumBreakExprImpl extends VoltumExprImpl implements VoltumBreakExpr {
 
@@ -17,10 +15,6 @@ public class VoltumBreakExprImpl extends VoltumExprImpl implements VoltumBreakEx
     super(node);
   }
 
-  public VoltumBreakExprImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   @Override
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitBreakExpr(this);
@@ -35,7 +29,7 @@ public class VoltumBreakExprImpl extends VoltumExprImpl implements VoltumBreakEx
   @Override
   @Nullable
   public VoltumLiteralInt getLiteralInt() {
-    return PsiTreeUtil.getStubChildOfType(this, VoltumLiteralInt.class);
+    return PsiTreeUtil.getChildOfType(this, VoltumLiteralInt.class);
   }
 
   @Override
@@ -4,12 +4,10 @@ package com.voltum.voltumscript.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.StubBasedPsiElement;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
 import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.navigation.ItemPresentation;
 
-public interface VoltumCallExpr extends VoltumExpr, VoltumReferenceElement, StubBasedPsiElement<VoltumPlaceholderStub<?>> {
+public interface VoltumCallExpr extends VoltumExpr, VoltumReferenceElement {
 
   @NotNull
   List<VoltumExpr> getExprList();
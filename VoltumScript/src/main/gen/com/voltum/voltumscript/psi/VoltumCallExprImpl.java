@@ -10,8 +10,6 @@ import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
 import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.navigation.ItemPresentation;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumCallExprImpl extends VoltumCallExprMixin implements VoltumCallExpr {
 
@@ -19,10 +17,6 @@ public class VoltumCallExprImpl extends VoltumCallExprMixin implements VoltumCal
     super(node);
   }
 
-  public VoltumCallExprImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   @Override
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitCallExpr(this);
@@ -37,13 +31,13 @@ public class VoltumCallExprImpl extends VoltumCallExprMixin implements VoltumCal
   @Override
   @NotNull
   public List<VoltumExpr> getExprList() {
-    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, VoltumExpr.class);
+    return PsiTreeUtil.getChildrenOfTypeAsList(this, VoltumExpr.class);
   }
 
   @Override
   @Nullable
   public VoltumPath getPath() {
-    return PsiTreeUtil.getStubChildOfType(this, VoltumPath.class);
+    return PsiTreeUtil.getChildOfType(this, VoltumPath.class);
   }
 
   @Override
@@ -46,7 +46,7 @@ public class VoltumDictionaryFieldImpl extends VoltumStubbedElementImpl<VoltumDi
   @Override
   @NotNull
   public VoltumExpr getValue() {
-    return notNullChild(PsiTreeUtil.getStubChildOfType(this, VoltumExpr.class));
+    return notNullChild(PsiTreeUtil.getChildOfType(this, VoltumExpr.class));
   }
 
 }
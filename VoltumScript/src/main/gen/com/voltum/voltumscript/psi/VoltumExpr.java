@@ -4,9 +4,7 @@ package com.voltum.voltumscript.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.StubBasedPsiElement;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
 
-public interface VoltumExpr extends VoltumElement, StubBasedPsiElement<VoltumPlaceholderStub<?>> {
+public interface VoltumExpr extends VoltumElement {
 
 }
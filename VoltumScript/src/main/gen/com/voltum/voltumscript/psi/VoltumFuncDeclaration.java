@@ -8,7 +8,7 @@ import com.voltum.voltumscript.psi.ext.VoltumInferenceContextOwner;
 import com.intellij.psi.StubBasedPsiElement;
 import com.intellij.navigation.ItemPresentation;
 
-public interface VoltumFuncDeclaration extends VoltumFunction, VoltumInferenceContextOwner, StubBasedPsiElement<VoltumFunctionStub> {
+public interface VoltumFuncDeclaration extends VoltumFunction, VoltumInferenceContextOwner, VoltumModificationTrackerOwner, StubBasedPsiElement<VoltumFunctionStub> {
 
   @NotNull
   List<VoltumAttribute> getAttributeList();
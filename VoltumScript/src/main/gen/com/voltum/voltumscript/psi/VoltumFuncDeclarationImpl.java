@@ -11,7 +11,7 @@ import static com.voltum.voltumscript.psi.VoltumTypes.*;
 import com.intellij.navigation.ItemPresentation;
 import com.intellij.psi.stubs.IStubElementType;
 
-public class VoltumFuncDeclarationImpl extends VoltumFunctionMixin implements VoltumFuncDeclaration {
+public class VoltumFuncDeclarationImpl extends VoltumFuncDeclarationMixin implements VoltumFuncDeclaration {
 
   public VoltumFuncDeclarationImpl(@NotNull ASTNode node) {
     super(node);
@@ -8,8 +8,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumListValueImpl extends VoltumListMixin implements VoltumListValue {
 
@@ -17,10 +15,6 @@ public class VoltumListValueImpl extends VoltumListMixin implements VoltumListVa
     super(node);
   }
 
-  public VoltumListValueImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitListValue(this);
   }
@@ -34,7 +28,7 @@ public class VoltumListValueImpl extends VoltumListMixin implements VoltumListVa
   @Override
   @NotNull
   public List<VoltumExpr> getExprList() {
-    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, VoltumExpr.class);
+    return PsiTreeUtil.getChildrenOfTypeAsList(this, VoltumExpr.class);
   }
 
   @Override
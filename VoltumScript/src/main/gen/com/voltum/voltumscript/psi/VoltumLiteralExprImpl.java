@@ -8,8 +8,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumLiteralExprImpl extends VoltumLiteralMixin implements VoltumLiteralExpr {
 
@@ -17,10 +15,6 @@ public class VoltumLiteralExprImpl extends VoltumLiteralMixin implements VoltumL
     super(node);
   }
 
-  public VoltumLiteralExprImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitLiteralExpr(this);
   }
@@ -34,7 +28,7 @@ public class VoltumLiteralExprImpl extends VoltumLiteralMixin implements VoltumL
   @Override
   @NotNull
   public VoltumLiteralValue getLiteralValue() {
-    return notNullChild(PsiTreeUtil.getStubChildOfType(this, VoltumLiteralValue.class));
+    return notNullChild(PsiTreeUtil.getChildOfType(this, VoltumLiteralValue.class));
   }
 
 }
@@ -8,8 +8,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumLiteralIntImpl extends VoltumLiteralValueImpl implements VoltumLiteralInt {
 
@@ -17,10 +15,6 @@ public class VoltumLiteralIntImpl extends VoltumLiteralValueImpl implements Volt
     super(node);
   }
 
-  public VoltumLiteralIntImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   @Override
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitLiteralInt(this);
@@ -8,8 +8,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumParenExprImpl extends VoltumExprImpl implements VoltumParenExpr {
 
@@ -17,10 +15,6 @@ public class VoltumParenExprImpl extends VoltumExprImpl implements VoltumParenEx
     super(node);
   }
 
-  public VoltumParenExprImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   @Override
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitParenExpr(this);
@@ -47,7 +41,7 @@ public class VoltumParenExprImpl extends VoltumExprImpl implements VoltumParenEx
   @Override
   @Nullable
   public VoltumExpr getElements() {
-    return PsiTreeUtil.getStubChildOfType(this, VoltumExpr.class);
+    return PsiTreeUtil.getChildOfType(this, VoltumExpr.class);
   }
 
 }
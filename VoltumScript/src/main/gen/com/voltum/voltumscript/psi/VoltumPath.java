@@ -5,11 +5,9 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
 import com.voltum.voltumscript.psi.ext.VoltumInferenceContextOwner;
-import com.intellij.psi.StubBasedPsiElement;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
 import com.voltum.voltumscript.lang.references.VoltumReference;
 
-public interface VoltumPath extends VoltumReferenceElement, VoltumQualifiedReferenceElement, VoltumInferenceContextOwner, StubBasedPsiElement<VoltumPlaceholderStub<?>> {
+public interface VoltumPath extends VoltumReferenceElement, VoltumQualifiedReferenceElement, VoltumInferenceContextOwner {
 
   @NotNull
   VoltumPath getPath();
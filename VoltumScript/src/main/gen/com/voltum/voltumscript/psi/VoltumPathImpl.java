@@ -9,8 +9,6 @@ import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
 import com.voltum.voltumscript.lang.references.VoltumReference;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumPathImpl extends VoltumPathExprMixin implements VoltumPath {
 
@@ -18,10 +16,6 @@ public class VoltumPathImpl extends VoltumPathExprMixin implements VoltumPath {
     super(node);
   }
 
-  public VoltumPathImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitPath(this);
   }
@@ -35,7 +29,7 @@ public class VoltumPathImpl extends VoltumPathExprMixin implements VoltumPath {
   @Override
   @NotNull
   public VoltumPath getPath() {
-    return notNullChild(PsiTreeUtil.getStubChildOfType(this, VoltumPath.class));
+    return notNullChild(PsiTreeUtil.getChildOfType(this, VoltumPath.class));
   }
 
   @Override
@@ -8,8 +8,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumPrefixExprImpl extends VoltumPrefixExprMixin implements VoltumPrefixExpr {
 
@@ -17,10 +15,6 @@ public class VoltumPrefixExprImpl extends VoltumPrefixExprMixin implements Voltu
     super(node);
   }
 
-  public VoltumPrefixExprImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   @Override
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitPrefixExpr(this);
@@ -35,7 +29,7 @@ public class VoltumPrefixExprImpl extends VoltumPrefixExprMixin implements Voltu
   @Override
   @NotNull
   public VoltumExpr getExpr() {
-    return notNullChild(PsiTreeUtil.getStubChildOfType(this, VoltumExpr.class));
+    return notNullChild(PsiTreeUtil.getChildOfType(this, VoltumExpr.class));
   }
 
   @Override
@@ -8,8 +8,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static com.voltum.voltumscript.psi.VoltumTypes.*;
-import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub;
-import com.intellij.psi.stubs.IStubElementType;
 
 public class VoltumTupleExprImpl extends VoltumExprImpl implements VoltumTupleExpr {
 
@@ -17,10 +15,6 @@ public class VoltumTupleExprImpl extends VoltumExprImpl implements VoltumTupleEx
     super(node);
   }
 
-  public VoltumTupleExprImpl(@NotNull VoltumPlaceholderStub<?> stub, @NotNull IStubElementType<?, ?> type) {
-    super(stub, type);
-  }
-
   @Override
   public void accept(@NotNull VoltumVisitor visitor) {
     visitor.visitTupleExpr(this);
@@ -47,7 +41,7 @@ public class VoltumTupleExprImpl extends VoltumExprImpl implements VoltumTupleEx
   @Override
   @NotNull
   public List<VoltumExpr> getElements() {
-    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, VoltumExpr.class);
+    return PsiTreeUtil.getChildrenOfTypeAsList(this, VoltumExpr.class);
   }
 
 }
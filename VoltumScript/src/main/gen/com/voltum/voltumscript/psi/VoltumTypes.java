@@ -16,7 +16,7 @@ public interface VoltumTypes {
   IElementType AWAIT_EXPR = StubFactoryKt.factory("AWAIT_EXPR");
   IElementType BINARY_EXPR = StubFactoryKt.factory("BINARY_EXPR");
   IElementType BINARY_OP = new VoltumElementType("BINARY_OP");
-  IElementType BLOCK_BODY = new VoltumElementType("BLOCK_BODY");
+  IElementType BLOCK_BODY = new VoltumReparseableElementType("BLOCK_BODY");
   IElementType BREAK_EXPR = StubFactoryKt.factory("BREAK_EXPR");
   IElementType CALL_EXPR = StubFactoryKt.factory("CALL_EXPR");
   IElementType CONTINUE_EXPR = StubFactoryKt.factory("CONTINUE_EXPR");
@@ -53,7 +53,7 @@ public interface VoltumTypes {
   IElementType TUPLE_EXPR = StubFactoryKt.factory("TUPLE_EXPR");
   IElementType TYPE_ARGUMENT_LIST = new VoltumElementType("TYPE_ARGUMENT_LIST");
   IElementType TYPE_DECLARATION = StubFactoryKt.factory("TYPE_DECLARATION");
-  IElementType TYPE_DECLARATION_BODY = new VoltumElementType("TYPE_DECLARATION_BODY");
+  IElementType TYPE_DECLARATION_BODY = new VoltumReparseableElementType("TYPE_DECLARATION_BODY");
   IElementType TYPE_DECLARATION_CONSTRUCTOR = new VoltumElementType("TYPE_DECLARATION_CONSTRUCTOR");
   IElementType TYPE_DECLARATION_FIELD_MEMBER = new VoltumElementType("TYPE_DECLARATION_FIELD_MEMBER");
   IElementType TYPE_DECLARATION_METHOD_MEMBER = new VoltumElementType("TYPE_DECLARATION_METHOD_MEMBER");
@@ -34,7 +34,7 @@ public class VoltumVariableDeclarationImpl extends VoltumVariableDeclarationMixi
   @Override
   @NotNull
   public List<VoltumExpr> getExprList() {
-    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, VoltumExpr.class);
+    return PsiTreeUtil.getChildrenOfTypeAsList(this, VoltumExpr.class);
   }
 
   @Override
@@ -2,7 +2,7 @@ package com.voltum.voltumscript
 
 object Constants {
     const val LSP_LANGUAGE_ID = "voltum"
-    const val STUB_VERSION = 6
+    const val STUB_VERSION = 11
     const val FILE_EXTENSION = "vlt"
     const val NAME = "Voltum"
     const val RUNTIME_PATH_NAME = "voltum"
@@ -1,5 +1,3 @@
-@file:OptIn(ExperimentalContracts::class)
-
 package com.voltum.voltumscript.ext
 
 import com.intellij.openapi.diagnostic.Logger
@@ -12,52 +10,11 @@ import java.nio.file.Files
 import java.nio.file.InvalidPathException
 import java.nio.file.Path
 import java.nio.file.Paths
-import kotlin.contracts.ExperimentalContracts
-import kotlin.contracts.InvocationKind
-import kotlin.contracts.contract
 import kotlin.streams.asSequence
-import kotlin.time.TimeSource
-import kotlin.time.measureTime
-import kotlin.time.measureTimedValue
 
 
 private val LOG = Logger.getInstance("#com.voltum")
 
-inline fun measureLogTime(block: () -> Unit) {
-    contract {
-        callsInPlace(block, InvocationKind.EXACTLY_ONCE)
-    }
-    val dur = TimeSource.Monotonic.measureTime(block)
-    Logger.getInstance("#com.voltum").warn("Time: $dur")
-}
-
-inline fun measureLogTime(tagString: String, block: () -> Unit) {
-    contract {
-        callsInPlace(block, InvocationKind.EXACTLY_ONCE)
-    }
-    val dur = TimeSource.Monotonic.measureTime(block)
-    Logger.getInstance("#com.voltum").warn("Time[$tagString]: $dur")
-}
-inline fun measureLogTimeWithDebugCtx(tagString: String, debugString: String, block: () -> Unit) {
-    contract {
-        callsInPlace(block, InvocationKind.EXACTLY_ONCE)
-    }
-    val dur = TimeSource.Monotonic.measureTime(block)
-    Logger.getInstance("#com.voltum").warn("Time[$tagString]: $dur")
-    Logger.getInstance("#com.voltum").debug(debugString)
-}
-
-inline fun <T> measureLogTimeValue(block: () -> T): T {
-    contract {
-        callsInPlace(block, InvocationKind.EXACTLY_ONCE)
-    }
-
-    val result = TimeSource.Monotonic.measureTimedValue(block)
-    Logger.getInstance("#com.voltum").warn("Time: ${result.duration}")
-    return result.value
-}
-
-
 inline fun <T> VirtualFile.applyWithSymlink(f: (VirtualFile) -> T?): T? {
     return f(this) ?: f(canonicalFile ?: return null)
 }
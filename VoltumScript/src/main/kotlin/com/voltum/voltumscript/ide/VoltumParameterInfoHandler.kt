@@ -0,0 +1,75 @@
+package com.voltum.voltumscript.ide
+
+import com.intellij.codeInsight.CodeInsightBundle
+import com.intellij.lang.parameterInfo.*
+import com.intellij.psi.PsiFile
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.psi.VoltumCallExpr
+import com.voltum.voltumscript.psi.VoltumFunction
+import com.voltum.voltumscript.psi.VoltumFunctionSignature
+import com.voltum.voltumscript.psi.VoltumTypes
+import com.voltum.voltumscript.psi.signature
+
+/**
+ * Parameter hints for calls, the callee is shown from its [signature], so hints for functions declared in other
+ * files are served from their stubs.
+ */
+class VoltumParameterInfoHandler : ParameterInfoHandler<VoltumCallExpr, VoltumFunctionSignature> {
+
+    override fun findElementForParameterInfo(context: CreateParameterInfoContext): VoltumCallExpr? {
+        val call = findCall(context.file, context.offset) ?: return null
+        val function = PsiTreeUtil.getNonStrictParentOfType(call.reference?.resolve(), VoltumFunction::class.java)
+            ?: return null
+
+        context.itemsToShow = arrayOf(function.signature)
+        return call
+    }
+
+    override fun showParameterInfo(element: VoltumCallExpr, context: CreateParameterInfoContext) =
+        context.showHint(element, element.lparen.textRange.endOffset, this)
+
+    override fun findElementForUpdatingParameterInfo(context: UpdateParameterInfoContext): VoltumCallExpr? =
+        findCall(context.file, context.offset)
+
+    override fun updateParameterInfo(parameterOwner: VoltumCallExpr, context: UpdateParameterInfoContext) {
+        if (context.parameterOwner != parameterOwner) {
+            context.removeHint()
+            return
+        }
+        context.setCurrentParameter(
+            ParameterInfoUtils.getCurrentParameterIndex(parameterOwner.node, context.offset, VoltumTypes.COMMA)
+        )
+    }
+
+    override fun updateUI(p: VoltumFunctionSignature, context: ParameterInfoUIContext) {
+        if (p.parameters.isEmpty()) {
+            context.setupUIComponentPresentation(
+                CodeInsightBundle.message("parameter.info.no.parameters"), -1, -1, false, false, false, context.defaultParameterColor
+            )
+            return
+        }
+
+        var highlightStart = -1
+        var highlightEnd = -1
+        val text = buildString {
+            p.parameters.forEachIndexed { index, parameter ->
+                if (index > 0) append(", ")
+                if (index == context.currentParameterIndex) highlightStart = length
+                append(parameter.type).append(' ').append(parameter.name)
+                if (index == context.currentParameterIndex) highlightEnd = length
+            }
+        }
+
+        context.setupUIComponentPresentation(
+            text, highlightStart, highlightEnd, false, false, false, context.defaultParameterColor
+        )
+    }
+
+    private fun findCall(file: PsiFile, offset: Int): VoltumCallExpr? {
+        val call = PsiTreeUtil.findElementOfClassAtOffset(file, offset, VoltumCallExpr::class.java, false)
+            ?: return null
+        // Only inside the parentheses, not on the callee name
+        if (offset < call.lparen.textRange.endOffset) return null
+        return call
+    }
+}
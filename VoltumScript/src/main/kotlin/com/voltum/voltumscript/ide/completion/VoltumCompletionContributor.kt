@@ -12,7 +12,10 @@ import com.intellij.psi.util.PsiTreeUtil
 import com.intellij.psi.util.elementType
 import com.intellij.util.ProcessingContext
 import com.voltum.voltumscript.lang.VoltumPsiPatterns
+import com.voltum.voltumscript.lang.index.VoltumMemberIndex
+import com.voltum.voltumscript.lang.index.symbolIndex
 import com.voltum.voltumscript.lang.types.TyFieldKind
+import com.voltum.voltumscript.lang.types.typeRegistry
 import com.voltum.voltumscript.parser.KeywordCompletionFlag
 import com.voltum.voltumscript.parser.VoltumKeywords
 import com.voltum.voltumscript.psi.VoltumPath
@@ -101,12 +104,14 @@ object VoltumPathCompletionProvider : VoltumCompletionProvider() {
         }
         
         if(proto == null) {
-            thisLogger().warn("pathCompletion, prototype not found")
+            thisLogger().warn("pathCompletion, prototype not found, completing from the member index")
+            addIndexedMembers(parameters, result)
             return
         }
         
-        proto.members.values.forEach{
-            createLookupElement(it.name, it.linkedElement!!).let { b ->
+        position.project.typeRegistry.allMembers(proto).values.forEach{
+            val linkedElement = it.linkedElement ?: return@forEach
+            createLookupElement(it.name, linkedElement).let { b ->
                 var builder = b
                 
                 if(it.kind == TyFieldKind.METHOD) {
@@ -127,6 +132,24 @@ object VoltumPathCompletionProvider : VoltumCompletionProvider() {
 
 
     }
+
+    /**
+     * The receiver type is unknown, offer every member name declared by some type. Candidate names come from the
+     * symbol name table, owners are only looked up for those, and only their names are read, so this stays on
+     * the stubs.
+     */
+    private fun addIndexedMembers(parameters: CompletionParameters, result: CompletionResultSet) {
+        val project = parameters.position.project
+        val prefix = result.prefixMatcher.prefix
+        val names = if (prefix.isEmpty()) VoltumMemberIndex.getAllKeys(project) else project.symbolIndex.search(prefix)
+        names.forEach { name ->
+            if (!result.prefixMatcher.prefixMatches(name)) return@forEach
+            val owners = VoltumMemberIndex.findOwnerNames(project, name)
+            if (owners.isEmpty()) return@forEach
+
+            result.addElement(LookupElementBuilder.create(name).withTypeText(owners.joinToString(" | ")))
+        }
+    }
 }
 
 class VoltumCompletionContributor : CompletionContributor() {
@@ -0,0 +1,73 @@
+package com.voltum.voltumscript.ide.hierarchy
+
+import com.intellij.psi.PsiElement
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.lang.index.VoltumCallIndex
+import com.voltum.voltumscript.lang.index.VoltumMemberIndex
+import com.voltum.voltumscript.lang.index.VoltumNamedElementIndex
+import com.voltum.voltumscript.lang.references.resolveQualifiedName
+import com.voltum.voltumscript.psi.*
+
+/**
+ * Both directions of the call graph of a callable, a [VoltumFunction] or a type method.
+ *
+ * Callers come from the [VoltumCallIndex] call sites named like the callable, only those resolving to it are kept.
+ * Callees are the calls in the callable's own body, nested functions excluded. A call the references can't resolve
+ * falls back to its qualified name, and failing that to name only guesses from the stub indexes ([guessCallees]).
+ * The guesses are only listed among the callees, a callable is never reported as calling something it may not call.
+ */
+object VoltumCallGraph {
+
+    /** The callable [element] belongs to, itself included */
+    fun callableOf(element: PsiElement?): PsiElement? =
+        PsiTreeUtil.getNonStrictParentOfType(element, VoltumFunction::class.java, VoltumTypeDeclarationMethodMember::class.java)
+
+    fun nameOf(callable: PsiElement): String? = when (callable) {
+        is VoltumFunction                    -> callable.nameIdentifier?.text
+        is VoltumTypeDeclarationMethodMember -> callable.nameIdentifier.text
+        else                                 -> null
+    }
+
+    /** Callables (or files, for top level calls) calling [callable], each with the calls it makes to it */
+    fun callers(
+        callable: PsiElement,
+        scope: GlobalSearchScope = GlobalSearchScope.allScope(callable.project)
+    ): Map<PsiElement, List<VoltumCallExpr>> {
+        val name = nameOf(callable) ?: return emptyMap()
+        return VoltumCallIndex.findCallSites(callable.project, name, scope)
+            .filter { call -> callable in resolveCallees(call) }
+            .groupByTo(LinkedHashMap()) { call -> callableOf(call.parent) ?: call.containingFile }
+    }
+
+    /** Callables called from the body of [callable], each with the calls made to it */
+    fun callees(callable: PsiElement): Map<PsiElement, List<VoltumCallExpr>> =
+        PsiTreeUtil.findChildrenOfType(callable, VoltumCallExpr::class.java)
+            .filter { call -> callableOf(call.parent) == callable }
+            .flatMap { call -> resolveCallees(call).ifEmpty { guessCallees(call) }.map { it to call } }
+            .groupByTo(LinkedHashMap(), { it.first }, { it.second })
+
+    /** Callables [call] resolves to, through its references or its qualified name */
+    fun resolveCallees(call: VoltumCallExpr): List<PsiElement> {
+        val resolved = call.reference?.multiResolve(false)?.mapNotNull { callableOf(it.element) }.orEmpty()
+        if (resolved.isNotEmpty()) return resolved.distinct()
+
+        val path = call.path
+        if (path?.qualifier != null) {
+            path.resolveQualifiedName()?.let { elements -> return elements.mapNotNull { callableOf(it) }.distinct() }
+        }
+        return emptyList()
+    }
+
+    /** Unresolved [call]: methods named like it behind a qualifier, otherwise global functions by name and arity */
+    fun guessCallees(call: VoltumCallExpr): List<PsiElement> {
+        val name = call.calleeName ?: return emptyList()
+        if (call.path?.qualifier != null) {
+            return VoltumMemberIndex.findMembers(call.project, name).filterIsInstance<VoltumTypeDeclarationMethodMember>()
+        }
+
+        val functions = VoltumNamedElementIndex.findElementsByName(call.project, name).filterIsInstance<VoltumFunction>()
+        val argumentCount = call.arguments.size
+        return functions.filter { it.signature.accepts(argumentCount) }.ifEmpty { functions }
+    }
+}
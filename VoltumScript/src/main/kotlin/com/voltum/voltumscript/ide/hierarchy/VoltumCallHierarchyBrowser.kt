@@ -0,0 +1,125 @@
+package com.voltum.voltumscript.ide.hierarchy
+
+import com.intellij.ide.hierarchy.*
+import com.intellij.ide.util.treeView.AlphaComparator
+import com.intellij.ide.util.treeView.NodeDescriptor
+import com.intellij.ide.util.treeView.SourceComparator
+import com.intellij.openapi.actionSystem.ActionGroup
+import com.intellij.openapi.actionSystem.ActionManager
+import com.intellij.openapi.actionSystem.ActionPlaces
+import com.intellij.openapi.actionSystem.IdeActions
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.roots.ui.util.CompositeAppearance
+import com.intellij.openapi.util.Comparing
+import com.intellij.psi.NavigatablePsiElement
+import com.intellij.psi.PsiElement
+import com.intellij.psi.PsiFile
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.ui.PopupHandler
+import javax.swing.JPanel
+import javax.swing.JTree
+
+class VoltumCallHierarchyBrowser(element: PsiElement) : CallHierarchyBrowserBase(element.project, element) {
+
+    override fun createTrees(trees: MutableMap<in String, in JTree>) {
+        val group = ActionManager.getInstance().getAction(IdeActions.GROUP_CALL_HIERARCHY_POPUP) as ActionGroup
+        val baseOnThisAction = CallHierarchyBrowserBase.BaseOnThisMethodAction()
+        for (type in listOf(getCalleeType(), getCallerType())) {
+            val tree = createTree(false)
+            PopupHandler.installPopupMenu(tree, group, ActionPlaces.CALL_HIERARCHY_VIEW_POPUP)
+            baseOnThisAction.registerCustomShortcutSet(
+                ActionManager.getInstance().getAction(IdeActions.ACTION_CALL_HIERARCHY).shortcutSet,
+                tree
+            )
+            trees[type] = tree
+        }
+    }
+
+    override fun getElementFromDescriptor(descriptor: HierarchyNodeDescriptor): PsiElement? = descriptor.psiElement
+
+    override fun isApplicableElement(element: PsiElement): Boolean = VoltumCallGraph.callableOf(element) === element
+
+    override fun createLegendPanel(): JPanel? = null
+
+    override fun createHierarchyTreeStructure(type: String, psiElement: PsiElement): HierarchyTreeStructure? {
+        val scope = getCurrentScopeType() ?: HierarchyBrowserBaseEx.getScopeProject()
+        return when (type) {
+            getCallerType() -> VoltumCallerTreeStructure(myProject, psiElement, scope)
+            getCalleeType() -> VoltumCalleeTreeStructure(myProject, psiElement, scope)
+            else            -> null
+        }
+    }
+
+    override fun getComparator(): Comparator<NodeDescriptor<*>> =
+        if (HierarchyBrowserManager.getSettings(myProject).SORT_ALPHABETICALLY) AlphaComparator.getInstance()
+        else SourceComparator.INSTANCE
+}
+
+/** A callable, or a file for calls made at the top level, with the number of calls made through this edge */
+class VoltumCallHierarchyNodeDescriptor(
+    project: Project,
+    parent: HierarchyNodeDescriptor?,
+    element: PsiElement,
+    isBase: Boolean,
+    private val callCount: Int = 0
+) : HierarchyNodeDescriptor(project, parent, element, isBase) {
+
+    override fun update(): Boolean {
+        var changes = super.update()
+        val oldText = myHighlightedText
+        myHighlightedText = CompositeAppearance()
+
+        val element = psiElement ?: return invalidElement()
+        val presentation = (element as? NavigatablePsiElement)?.presentation
+        val name = (element as? PsiFile)?.name ?: VoltumCallGraph.nameOf(element) ?: presentation?.presentableText ?: element.text
+        myHighlightedText.ending.addText(name)
+        presentation?.locationString?.takeIf { it.isNotEmpty() }?.let {
+            myHighlightedText.ending.addText(" $it", getPackageNameAttributes())
+        }
+        if (callCount > 1) {
+            myHighlightedText.ending.addText(" (${callCount} usages)", getPackageNameAttributes())
+        }
+        myName = myHighlightedText.text
+
+        if (!Comparing.equal(myHighlightedText, oldText)) changes = true
+        return changes
+    }
+}
+
+private abstract class VoltumCallTreeStructure(
+    project: Project,
+    element: PsiElement,
+    private val scopeType: String
+) : HierarchyTreeStructure(project, VoltumCallHierarchyNodeDescriptor(project, null, element, true)) {
+
+    protected abstract fun edges(element: PsiElement, scope: GlobalSearchScope): Map<PsiElement, List<*>>
+
+    override fun buildChildren(descriptor: HierarchyNodeDescriptor): Array<Any> {
+        val element = descriptor.psiElement ?: return emptyArray()
+        if (element is PsiFile || isRecursive(descriptor)) return emptyArray()
+        val scope = getSearchScope(scopeType, element) as? GlobalSearchScope ?: GlobalSearchScope.allScope(myProject)
+        return edges(element, scope)
+            .map { (target, calls) -> VoltumCallHierarchyNodeDescriptor(myProject, descriptor, target, false, calls.size) }
+            .toTypedArray()
+    }
+
+    /** A callable already on the path to the root is shown, but not expanded again */
+    private fun isRecursive(descriptor: HierarchyNodeDescriptor): Boolean {
+        var current = descriptor.parentDescriptor as? HierarchyNodeDescriptor
+        while (current != null) {
+            if (current.psiElement == descriptor.psiElement) return true
+            current = current.parentDescriptor as? HierarchyNodeDescriptor
+        }
+        return false
+    }
+}
+
+private class VoltumCallerTreeStructure(project: Project, element: PsiElement, scopeType: String) :
+    VoltumCallTreeStructure(project, element, scopeType) {
+    override fun edges(element: PsiElement, scope: GlobalSearchScope) = VoltumCallGraph.callers(element, scope)
+}
+
+private class VoltumCalleeTreeStructure(project: Project, element: PsiElement, scopeType: String) :
+    VoltumCallTreeStructure(project, element, scopeType) {
+    override fun edges(element: PsiElement, scope: GlobalSearchScope) = VoltumCallGraph.callees(element)
+}
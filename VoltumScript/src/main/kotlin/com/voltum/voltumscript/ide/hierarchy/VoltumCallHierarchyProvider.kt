@@ -0,0 +1,26 @@
+package com.voltum.voltumscript.ide.hierarchy
+
+import com.intellij.ide.hierarchy.CallHierarchyBrowserBase
+import com.intellij.ide.hierarchy.HierarchyBrowser
+import com.intellij.ide.hierarchy.HierarchyProvider
+import com.intellij.openapi.actionSystem.CommonDataKeys
+import com.intellij.openapi.actionSystem.DataContext
+import com.intellij.psi.PsiElement
+
+class VoltumCallHierarchyProvider : HierarchyProvider {
+    override fun getTarget(dataContext: DataContext): PsiElement? {
+        val element = CommonDataKeys.PSI_ELEMENT.getData(dataContext) ?: run {
+            val file = CommonDataKeys.PSI_FILE.getData(dataContext) ?: return null
+            val editor = CommonDataKeys.EDITOR.getData(dataContext) ?: return null
+            file.findElementAt(editor.caretModel.offset)
+        }
+        return VoltumCallGraph.callableOf(element)
+    }
+
+    override fun createHierarchyBrowser(target: PsiElement): HierarchyBrowser =
+        VoltumCallHierarchyBrowser(target)
+
+    override fun browserActivated(hierarchyBrowser: HierarchyBrowser) {
+        (hierarchyBrowser as VoltumCallHierarchyBrowser).changeView(CallHierarchyBrowserBase.getCallerType())
+    }
+}
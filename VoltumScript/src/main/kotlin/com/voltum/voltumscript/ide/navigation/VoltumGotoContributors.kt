@@ -0,0 +1,55 @@
+package com.voltum.voltumscript.ide.navigation
+
+import com.intellij.navigation.ChooseByNameContributorEx
+import com.intellij.navigation.NavigationItem
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.util.Processor
+import com.intellij.util.indexing.FindSymbolParameters
+import com.intellij.util.indexing.IdFilter
+import com.voltum.voltumscript.lang.index.VoltumMemberIndex
+import com.voltum.voltumscript.lang.index.VoltumNamedElementIndex
+import com.voltum.voltumscript.lang.index.VoltumTypeDeclarationIndex
+import com.voltum.voltumscript.lang.index.symbolIndex
+
+/**
+ * Go to Symbol: functions, types, variables and type members. Names come from the project [symbolIndex] table,
+ * which is already deduplicated across the named element and member indices. [processNames] isn't given the pattern,
+ * matching and ranking against it is left to the platform.
+ */
+class VoltumGotoSymbolContributor : ChooseByNameContributorEx {
+    override fun processNames(processor: Processor<in String>, scope: GlobalSearchScope, filter: IdFilter?) {
+        val project = scope.project ?: return
+        for (name in project.symbolIndex.table.names) {
+            if (!processor.process(name)) return
+        }
+    }
+
+    override fun processElementsWithName(name: String, processor: Processor<in NavigationItem>, parameters: FindSymbolParameters) {
+        val project = parameters.project
+        val scope = parameters.searchScope
+        val elements = VoltumNamedElementIndex.findElementsByName(project, name, scope) +
+                VoltumMemberIndex.findMembers(project, name, scope)
+
+        for (element in elements) {
+            val item = element as? NavigationItem ?: continue
+            if (!processor.process(item)) return
+        }
+    }
+}
+
+/** Go to Class: type declarations, including std prototype aliases */
+class VoltumGotoClassContributor : ChooseByNameContributorEx {
+    override fun processNames(processor: Processor<in String>, scope: GlobalSearchScope, filter: IdFilter?) {
+        val project = scope.project ?: return
+        for (name in VoltumTypeDeclarationIndex.getAllKeys(project)) {
+            if (!processor.process(name)) return
+        }
+    }
+
+    override fun processElementsWithName(name: String, processor: Processor<in NavigationItem>, parameters: FindSymbolParameters) {
+        for (element in VoltumTypeDeclarationIndex.findByName(parameters.project, name, parameters.searchScope)) {
+            val item = element as? NavigationItem ?: continue
+            if (!processor.process(item)) return
+        }
+    }
+}
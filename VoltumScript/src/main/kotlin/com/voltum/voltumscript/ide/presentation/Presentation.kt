@@ -15,8 +15,9 @@ object Presentation {
 
             when (psi) {
                 is VoltumFunction -> {
-                    a(psi.getArguments().asPresentationString())
-                    psi.getReturnType()?.let { a(" -> ${it.text}") }
+                    val signature = psi.signature
+                    a(signature.parametersPresentation)
+                    signature.returnType?.let { a(" -> $it") }
                 }
             }
 
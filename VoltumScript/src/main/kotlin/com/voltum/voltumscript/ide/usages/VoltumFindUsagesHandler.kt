@@ -0,0 +1,45 @@
+package com.voltum.voltumscript.ide.usages
+
+import com.intellij.find.findUsages.FindUsagesHandler
+import com.intellij.find.findUsages.FindUsagesHandlerFactory
+import com.intellij.find.findUsages.FindUsagesOptions
+import com.intellij.psi.PsiElement
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.usageView.UsageInfo
+import com.intellij.util.Processor
+import com.voltum.voltumscript.lang.VoltumFindUsagesProvider
+import com.voltum.voltumscript.lang.references.VoltumUsageSearch
+import com.voltum.voltumscript.psi.VoltumElement
+
+class VoltumFindUsagesHandlerFactory : FindUsagesHandlerFactory() {
+    private val provider = VoltumFindUsagesProvider()
+
+    override fun canFindUsages(element: PsiElement): Boolean =
+        element is VoltumElement && provider.canFindUsagesFor(element)
+
+    /** Highlighting usages in the editor stays on the default, single file, search */
+    override fun createFindUsagesHandler(element: PsiElement, forHighlightUsages: Boolean): FindUsagesHandler? =
+        if (forHighlightUsages) null else VoltumFindUsagesHandler(element)
+}
+
+/** Find Usages through the [usage index][com.voltum.voltumscript.lang.index.VoltumUsageIndex] */
+class VoltumFindUsagesHandler(element: PsiElement) : FindUsagesHandler(element) {
+    override fun processElementUsages(
+        element: PsiElement,
+        processor: Processor<in UsageInfo>,
+        options: FindUsagesOptions
+    ): Boolean {
+        if (options.isUsages) {
+            // Streams the usages file by file, each file in its own read action, see VoltumUsageSearch.processReferences
+            val proceed = VoltumUsageSearch.processReferences(element, options.searchScope) { reference ->
+                processor.process(UsageInfo(reference))
+            }
+            if (!proceed) return false
+        }
+        val scope = options.searchScope
+        if (options.isSearchForTextOccurrences && scope is GlobalSearchScope) {
+            return processUsagesInText(element, processor, scope)
+        }
+        return true
+    }
+}
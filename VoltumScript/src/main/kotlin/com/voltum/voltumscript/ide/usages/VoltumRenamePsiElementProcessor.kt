@@ -0,0 +1,23 @@
+package com.voltum.voltumscript.ide.usages
+
+import com.intellij.psi.PsiElement
+import com.intellij.psi.PsiReference
+import com.intellij.psi.search.SearchScope
+import com.intellij.refactoring.rename.RenamePsiElementProcessor
+import com.voltum.voltumscript.lang.VoltumFindUsagesProvider
+import com.voltum.voltumscript.lang.references.VoltumUsageSearch
+import com.voltum.voltumscript.psi.VoltumElement
+
+/** Rename collects the references to update through the same index backed search as Find Usages */
+class VoltumRenamePsiElementProcessor : RenamePsiElementProcessor() {
+    private val provider = VoltumFindUsagesProvider()
+
+    override fun canProcessElement(element: PsiElement): Boolean =
+        element is VoltumElement && provider.canFindUsagesFor(element)
+
+    override fun findReferences(
+        element: PsiElement,
+        searchScope: SearchScope,
+        searchInCommentsAndStrings: Boolean
+    ): Collection<PsiReference> = VoltumUsageSearch.findReferences(element, searchScope)
+}
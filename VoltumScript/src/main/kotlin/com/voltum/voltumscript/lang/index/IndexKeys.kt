@@ -9,6 +9,8 @@ object IndexKeys {
     val NAMED_ELEMENTS = StubIndexKey.createIndexKey<String, VoltumNamedElement>("Voltum.NamedElement")
     val TYPE_DECLARATIONS = StubIndexKey.createIndexKey<String, VoltumTypeDeclaration>("Voltum.TypeDeclaration")
     val VALUES = StubIndexKey.createIndexKey<String, VoltumValueTypeElement>("Voltum.Value")
+    val MEMBERS = StubIndexKey.createIndexKey<String, VoltumTypeDeclaration>("Voltum.Member")
+    val QUALIFIED_NAMES = StubIndexKey.createIndexKey<String, VoltumNamedElement>("Voltum.QualifiedName")
 
 
 }
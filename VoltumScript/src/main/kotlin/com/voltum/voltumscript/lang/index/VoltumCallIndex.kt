@@ -0,0 +1,89 @@
+package com.voltum.voltumscript.lang.index
+
+import com.intellij.openapi.project.Project
+import com.intellij.psi.PsiManager
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.util.PsiTreeUtil
+import com.intellij.util.indexing.*
+import com.intellij.util.io.DataExternalizer
+import com.intellij.util.io.DataInputOutputUtil
+import com.intellij.util.io.EnumeratorStringDescriptor
+import com.intellij.util.io.KeyDescriptor
+import com.voltum.voltumscript.lang.VoltumFileType
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import com.voltum.voltumscript.psi.VoltumCallExpr
+import com.voltum.voltumscript.psi.VoltumFile
+import com.voltum.voltumscript.psi.calleeName
+import java.io.DataInput
+import java.io.DataOutput
+
+/**
+ * Call sites of every Voltum file keyed by callee name, the last segment of the call path (`fn` for `a.b.fn()`).
+ * The value holds the start offsets of the [VoltumCallExpr]s, so callers of a function are found by loading only the
+ * files which call something with its name.
+ */
+class VoltumCallIndex : FileBasedIndexExtension<String, IntArray>() {
+    override fun getName(): ID<String, IntArray> = NAME
+    override fun getVersion(): Int = VoltumFileStub.Type.stubVersion
+    override fun dependsOnFileContent(): Boolean = true
+    override fun getKeyDescriptor(): KeyDescriptor<String> = EnumeratorStringDescriptor.INSTANCE
+    override fun getValueExternalizer(): DataExternalizer<IntArray> = OffsetsExternalizer
+    override fun getInputFilter(): FileBasedIndex.InputFilter = DefaultFileTypeSpecificInputFilter(VoltumFileType.INSTANCE)
+
+    override fun getIndexer(): DataIndexer<String, IntArray, FileContent> = DataIndexer { inputData ->
+        val file = inputData.psiFile as? VoltumFile ?: return@DataIndexer emptyMap()
+        collectCallSites(file)
+    }
+
+    /** Offsets are written in ascending order, so they are stored as deltas */
+    private object OffsetsExternalizer : DataExternalizer<IntArray> {
+        override fun save(out: DataOutput, value: IntArray) {
+            DataInputOutputUtil.writeINT(out, value.size)
+            var previous = 0
+            for (offset in value) {
+                DataInputOutputUtil.writeINT(out, offset - previous)
+                previous = offset
+            }
+        }
+
+        override fun read(input: DataInput): IntArray {
+            var offset = 0
+            return IntArray(DataInputOutputUtil.readINT(input)) {
+                offset += DataInputOutputUtil.readINT(input)
+                offset
+            }
+        }
+    }
+
+    companion object {
+        val NAME: ID<String, IntArray> = ID.create("Voltum.Call")
+
+        fun collectCallSites(file: VoltumFile): Map<String, IntArray> {
+            val calls = HashMap<String, MutableList<Int>>()
+            for (call in PsiTreeUtil.findChildrenOfType(file, VoltumCallExpr::class.java)) {
+                val name = call.calleeName ?: continue
+                calls.getOrPut(name) { mutableListOf() } += call.textRange.startOffset
+            }
+            return calls.mapValues { it.value.sorted().toIntArray() }
+        }
+
+        /** Every call expression in [scope] whose callee is named [name], resolution is left to the caller */
+        fun findCallSites(
+            project: Project,
+            name: String,
+            scope: GlobalSearchScope = GlobalSearchScope.allScope(project)
+        ): List<VoltumCallExpr> {
+            val psiManager = PsiManager.getInstance(project)
+            val result = mutableListOf<VoltumCallExpr>()
+            FileBasedIndex.getInstance().processValues(NAME, name, null, { file, offsets ->
+                val psiFile = psiManager.findFile(file) as? VoltumFile ?: return@processValues true
+                for (offset in offsets) {
+                    val call = PsiTreeUtil.findElementOfClassAtOffset(psiFile, offset, VoltumCallExpr::class.java, true)
+                    if (call != null && call.calleeName == name) result += call
+                }
+                true
+            }, scope)
+            return result
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.voltum.voltumscript.lang.index
+
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.util.indexing.*
+import com.intellij.util.io.DataExternalizer
+import com.intellij.util.io.EnumeratorStringDescriptor
+import com.intellij.util.io.IOUtil
+import com.intellij.util.io.KeyDescriptor
+import com.voltum.voltumscript.ext.readEnum
+import com.voltum.voltumscript.ext.writeEnum
+import com.voltum.voltumscript.lang.VoltumFileType
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import com.voltum.voltumscript.psi.*
+import java.io.DataInput
+import java.io.DataOutput
+
+enum class VoltumExportKind { FUNCTION, TYPE, VARIABLE, SIGNAL }
+
+/**
+ * One top level name of a file. [declaredType] is the declaration's shape as written: the parameter list and return
+ * type of a function, the member names of a type, null for variables and signals.
+ */
+data class VoltumExport(val kind: VoltumExportKind, val declaredType: String?)
+
+/** Everything a file exports, [hash] only changes when some export does */
+class VoltumExportSummary(val exports: Map<String, VoltumExport>) {
+    val hash: Long by lazy {
+        exports.entries.sortedBy { it.key }.fold(17L) { acc, (name, export) ->
+            31 * (31 * (31 * acc + name.hashCode()) + export.kind.ordinal) + export.declaredType.hashCode()
+        }
+    }
+
+    val names: Set<String> get() = exports.keys
+
+    override fun toString(): String = "VoltumExportSummary(exports=$exports, hash=$hash)"
+}
+
+/**
+ * Top level names of every Voltum file, keyed by name. Answers "what does this file export" ([getSummary]) and
+ * "which files export X" ([findExportingFiles]) straight from the index, without PSI or stubs.
+ */
+class VoltumExportIndex : FileBasedIndexExtension<String, VoltumExport>() {
+    override fun getName(): ID<String, VoltumExport> = NAME
+    override fun getVersion(): Int = VoltumFileStub.Type.stubVersion
+    override fun dependsOnFileContent(): Boolean = true
+    override fun getKeyDescriptor(): KeyDescriptor<String> = EnumeratorStringDescriptor.INSTANCE
+    override fun getValueExternalizer(): DataExternalizer<VoltumExport> = ExportExternalizer
+    override fun getInputFilter(): FileBasedIndex.InputFilter = DefaultFileTypeSpecificInputFilter(VoltumFileType.INSTANCE)
+
+    override fun getIndexer(): DataIndexer<String, VoltumExport, FileContent> = DataIndexer { inputData ->
+        val file = inputData.psiFile as? VoltumFile ?: return@DataIndexer emptyMap()
+        collectExports(file)
+    }
+
+    private object ExportExternalizer : DataExternalizer<VoltumExport> {
+        override fun save(out: DataOutput, value: VoltumExport) {
+            out.writeEnum(value.kind)
+            out.writeBoolean(value.declaredType != null)
+            value.declaredType?.let { IOUtil.writeUTF(out, it) }
+        }
+
+        override fun read(input: DataInput): VoltumExport =
+            VoltumExport(input.readEnum(), if (input.readBoolean()) IOUtil.readUTF(input) else null)
+    }
+
+    companion object {
+        val NAME: ID<String, VoltumExport> = ID.create("Voltum.Export")
+
+        fun collectExports(file: VoltumFile): Map<String, VoltumExport> {
+            val exports = HashMap<String, VoltumExport>()
+            for (child in file.children) {
+                when (child) {
+                    is VoltumFuncDeclaration   -> {
+                        val signature = child.signature
+                        val declaredType = signature.parametersPresentation + (signature.returnType?.let { " $it" } ?: "")
+                        exports[child.name] = VoltumExport(VoltumExportKind.FUNCTION, declaredType)
+                    }
+
+                    is VoltumTypeDeclaration   -> {
+                        val name = child.name ?: continue
+                        val members = child.fields.map { it.varId.text } + child.methods.map { it.nameIdentifier.text }
+                        exports[name] = VoltumExport(VoltumExportKind.TYPE, members.joinToString(", ", "{", "}"))
+                    }
+
+                    is VoltumSignalDeclaration -> {
+                        val name = child.id?.text ?: continue
+                        exports[name] = VoltumExport(VoltumExportKind.SIGNAL, null)
+                    }
+
+                    is VoltumStatement         -> {
+                        child.variableDeclaration?.varIdList?.forEach {
+                            exports[it.text] = VoltumExport(VoltumExportKind.VARIABLE, null)
+                        }
+                    }
+                }
+            }
+            return exports
+        }
+
+        fun getSummary(project: Project, file: VirtualFile): VoltumExportSummary =
+            VoltumExportSummary(FileBasedIndex.getInstance().getFileData(NAME, file, project))
+
+        /** True when [file] exports something different from [previous], e.g. a summary taken before an edit */
+        fun exportsChanged(project: Project, file: VirtualFile, previous: VoltumExportSummary?): Boolean =
+            previous == null || getSummary(project, file).hash != previous.hash
+
+        fun findExportingFiles(
+            project: Project,
+            name: String,
+            scope: GlobalSearchScope = GlobalSearchScope.allScope(project)
+        ): Collection<VirtualFile> = FileBasedIndex.getInstance().getContainingFiles(NAME, name, scope)
+
+        fun findExports(
+            project: Project,
+            name: String,
+            scope: GlobalSearchScope = GlobalSearchScope.allScope(project)
+        ): List<Pair<VirtualFile, VoltumExport>> {
+            val result = mutableListOf<Pair<VirtualFile, VoltumExport>>()
+            FileBasedIndex.getInstance().processValues(NAME, name, null, { file, export ->
+                result += file to export
+                true
+            }, scope)
+            return result
+        }
+    }
+}
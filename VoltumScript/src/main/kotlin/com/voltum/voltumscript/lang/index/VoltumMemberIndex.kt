@@ -0,0 +1,50 @@
+package com.voltum.voltumscript.lang.index
+
+import com.intellij.openapi.project.Project
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.stubs.StringStubIndexExtension
+import com.voltum.voltumscript.ext.checkCommitIsNotInProgress
+import com.voltum.voltumscript.ext.getElements
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import com.voltum.voltumscript.psi.*
+
+/**
+ * Field and method names of type declarations, the value is the declaring type. Answers "which types have a member
+ * named X" without walking every [IndexKeys.TYPE_DECLARATIONS] entry.
+ */
+class VoltumMemberIndex : StringStubIndexExtension<VoltumTypeDeclaration>() {
+    override fun getVersion(): Int = VoltumFileStub.Type.stubVersion
+    override fun getKey() = IndexKeys.MEMBERS
+
+    companion object {
+        fun findOwners(
+            project: Project,
+            memberName: String,
+            scope: GlobalSearchScope = GlobalSearchScope.allScope(project)
+        ): Collection<VoltumTypeDeclaration> {
+            checkCommitIsNotInProgress(project)
+            return getElements(IndexKeys.MEMBERS, memberName, project, scope)
+        }
+
+        /** Owner type names only, served from stubs */
+        fun findOwnerNames(
+            project: Project,
+            memberName: String,
+            scope: GlobalSearchScope = GlobalSearchScope.allScope(project)
+        ): List<String> = findOwners(project, memberName, scope).mapNotNull { it.name }.distinct()
+
+        /** The declaring field and method members themselves, this loads the owners' AST */
+        fun findMembers(
+            project: Project,
+            memberName: String,
+            scope: GlobalSearchScope = GlobalSearchScope.allScope(project)
+        ): List<VoltumElement> = findOwners(project, memberName, scope).flatMap { owner ->
+            owner.fields.filter { it.varId.text == memberName } + owner.methods.filter { it.nameIdentifier.text == memberName }
+        }
+
+        fun getAllKeys(project: Project): Collection<String> {
+            checkCommitIsNotInProgress(project)
+            return com.voltum.voltumscript.ext.getAllKeys(IndexKeys.MEMBERS, project)
+        }
+    }
+}
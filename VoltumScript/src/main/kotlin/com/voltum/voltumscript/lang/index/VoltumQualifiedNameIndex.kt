@@ -0,0 +1,52 @@
+package com.voltum.voltumscript.lang.index
+
+import com.intellij.openapi.project.Project
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.stubs.StringStubIndexExtension
+import com.voltum.voltumscript.ext.VoltumQualifiedName
+import com.voltum.voltumscript.ext.checkCommitIsNotInProgress
+import com.voltum.voltumscript.ext.getElements
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import com.voltum.voltumscript.psi.*
+
+/**
+ * Top level declarations by dotted qualified name: `name`, `module.name` for std modules and `[module.]Type.member`
+ * for type members. A member key maps to its owning type declaration, members have no stubs of their own.
+ */
+class VoltumQualifiedNameIndex : StringStubIndexExtension<VoltumNamedElement>() {
+    override fun getVersion(): Int = VoltumFileStub.Type.stubVersion
+    override fun getKey() = IndexKeys.QUALIFIED_NAMES
+
+    companion object {
+        fun findElements(
+            project: Project,
+            qName: VoltumQualifiedName,
+            scope: GlobalSearchScope = GlobalSearchScope.allScope(project)
+        ): Collection<VoltumNamedElement> {
+            checkCommitIsNotInProgress(project)
+            return getElements(IndexKeys.QUALIFIED_NAMES, qName.toString(), project, scope)
+        }
+
+        /** Like [findElements], but member keys are narrowed down from the owner to the field/method identifier */
+        fun resolve(
+            project: Project,
+            qName: VoltumQualifiedName,
+            scope: GlobalSearchScope = GlobalSearchScope.allScope(project)
+        ): List<VoltumElement> {
+            val name = qName.lastComponent ?: return emptyList()
+            return findElements(project, qName, scope).flatMap { element ->
+                if (element is VoltumTypeDeclaration && element.name != name) {
+                    element.fields.filter { it.varId.text == name }.map { it.varId } +
+                            element.methods.filter { it.nameIdentifier.text == name }.map { it.nameIdentifier }
+                } else {
+                    listOf(element.getNameId() ?: element)
+                }
+            }
+        }
+
+        fun getAllKeys(project: Project): Collection<String> {
+            checkCommitIsNotInProgress(project)
+            return com.voltum.voltumscript.ext.getAllKeys(IndexKeys.QUALIFIED_NAMES, project)
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.voltum.voltumscript.lang.index
+
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.components.service
+import com.intellij.openapi.project.Project
+import com.intellij.psi.util.CachedValue
+import com.intellij.psi.util.CachedValueProvider
+import com.intellij.psi.util.CachedValuesManager
+import com.voltum.voltumscript.psi.voltumStructureModificationTracker
+
+/**
+ * Project wide [VoltumSymbolNameTable] over declaration and member names, rebuilt lazily after structure changes.
+ * [search] serves the fuzzy symbol lookups of completion; Go to Symbol only lists the deduplicated [VoltumSymbolNameTable.names],
+ * the platform matches and ranks those against the typed pattern itself.
+ */
+@Service(Service.Level.PROJECT)
+class VoltumSymbolIndex(val project: Project) {
+    private val cachedTable: CachedValue<VoltumSymbolNameTable> =
+        CachedValuesManager.getManager(project).createCachedValue {
+            val names = VoltumNamedElementIndex.getAllKeys(project) + VoltumMemberIndex.getAllKeys(project)
+            CachedValueProvider.Result.create(VoltumSymbolNameTable(names), project.voltumStructureModificationTracker)
+        }
+
+    val table: VoltumSymbolNameTable get() = cachedTable.value
+
+    fun search(pattern: String, limit: Int = Int.MAX_VALUE): List<String> = table.search(pattern, limit)
+}
+
+val Project.symbolIndex: VoltumSymbolIndex get() = service()
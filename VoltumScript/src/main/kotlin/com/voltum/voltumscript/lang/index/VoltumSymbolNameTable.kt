@@ -0,0 +1,70 @@
+package com.voltum.voltumscript.lang.index
+
+import com.intellij.psi.codeStyle.NameUtil
+
+/**
+ * Immutable table of symbol names with a candidate filter in front of the platform name matcher, see [search].
+ *
+ * The `*pattern` matcher accepts a substring, camel humps, initials and any mix of them (`symNa` matches `symbolName`
+ * as a word prefix followed by the next word's prefix), so no substring or trigram of the pattern is certain to occur
+ * in a matching name. What is certain is that every letter and digit of the pattern occurs in it, ignoring case:
+ * each name keeps a bit set of its letters and digits, and only names containing all of the pattern's are matched.
+ */
+class VoltumSymbolNameTable(names: Collection<String>) {
+    val names: Array<String> = names.toSortedSet().toTypedArray()
+
+    private val masks: LongArray = LongArray(this.names.size) { charMask(this.names[it]) }
+
+    val size: Int get() = names.size
+
+    /** Names matching [pattern], best match first */
+    fun search(pattern: String, limit: Int = Int.MAX_VALUE): List<String> {
+        if (pattern.isEmpty()) return emptyList()
+        val matcher = NameUtil.buildMatcher("*$pattern", NameUtil.MatchingCaseSensitivity.NONE)
+
+        val matches = mutableListOf<Pair<String, Int>>()
+        val consider = { index: Int ->
+            val name = names[index]
+            if (matcher.matches(name)) matches += name to matcher.matchingDegree(name)
+        }
+        val candidates = candidates(pattern)
+        if (candidates == null) names.indices.forEach(consider) else candidates.forEach(consider)
+
+        return matches
+            .sortedWith(compareByDescending<Pair<String, Int>> { it.second }.thenBy { it.first.length }.thenBy { it.first })
+            .take(limit)
+            .map { it.first }
+    }
+
+    /** Sorted indices of the names containing every letter and digit of [pattern], null when it has none to filter by */
+    internal fun candidates(pattern: String): IntArray? {
+        val required = charMask(pattern)
+        if (required == 0L) return null
+
+        var count = 0
+        val result = IntArray(names.size)
+        for (i in masks.indices) {
+            if (masks[i] and required == required) result[count++] = i
+        }
+        return result.copyOf(count)
+    }
+
+    companion object {
+        /**
+         * One bit per ASCII letter (either case) and digit occurring in [text].
+         * Anything else sets no bit: separators are wildcards to the matcher, other letters aren't worth a bit.
+         */
+        internal fun charMask(text: String): Long {
+            var mask = 0L
+            for (c in text) {
+                val lower = c.lowercaseChar()
+                mask = mask or when (lower) {
+                    in 'a'..'z' -> 1L shl (lower - 'a')
+                    in '0'..'9' -> 1L shl (26 + (lower - '0'))
+                    else        -> 0L
+                }
+            }
+            return mask
+        }
+    }
+}
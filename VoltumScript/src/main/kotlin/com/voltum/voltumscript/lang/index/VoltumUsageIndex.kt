@@ -0,0 +1,138 @@
+package com.voltum.voltumscript.lang.index
+
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.psi.PsiElement
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.util.PsiTreeUtil
+import com.intellij.psi.util.elementType
+import com.intellij.util.indexing.*
+import com.intellij.util.io.DataExternalizer
+import com.intellij.util.io.DataInputOutputUtil
+import com.intellij.util.io.EnumeratorStringDescriptor
+import com.intellij.util.io.KeyDescriptor
+import com.voltum.voltumscript.lang.VoltumFileType
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import com.voltum.voltumscript.parser.ASSIGNMENT_OPERATORS
+import com.voltum.voltumscript.parser.PREFIX_AND_POSTFIX_OPERATORS
+import com.voltum.voltumscript.psi.*
+import java.io.DataInput
+import java.io.DataOutput
+
+/**
+ * Every identifier used as a reference in a Voltum file, keyed by name. The value holds the offset and syntactic
+ * [roles][READ] of each occurrence packed into one int, so a usage search only resolves references at offsets where
+ * the target can plausibly be used, instead of every word match the platform text search finds.
+ *
+ * Declarations themselves are not recorded, only the names of [VoltumVarReference]s and [VoltumTypeRef]s.
+ */
+class VoltumUsageIndex : FileBasedIndexExtension<String, IntArray>() {
+    override fun getName(): ID<String, IntArray> = NAME
+    override fun getVersion(): Int = VoltumFileStub.Type.stubVersion
+    override fun dependsOnFileContent(): Boolean = true
+    override fun getKeyDescriptor(): KeyDescriptor<String> = EnumeratorStringDescriptor.INSTANCE
+    override fun getValueExternalizer(): DataExternalizer<IntArray> = OccurrencesExternalizer
+    override fun getInputFilter(): FileBasedIndex.InputFilter = DefaultFileTypeSpecificInputFilter(VoltumFileType.INSTANCE)
+
+    override fun getIndexer(): DataIndexer<String, IntArray, FileContent> = DataIndexer { inputData ->
+        val file = inputData.psiFile as? VoltumFile ?: return@DataIndexer emptyMap()
+        collectOccurrences(file)
+    }
+
+    /** Occurrences are written in offset order, so offsets are stored as deltas */
+    private object OccurrencesExternalizer : DataExternalizer<IntArray> {
+        override fun save(out: DataOutput, value: IntArray) {
+            DataInputOutputUtil.writeINT(out, value.size)
+            var previous = 0
+            for (packed in value) {
+                DataInputOutputUtil.writeINT(out, offsetOf(packed) - previous)
+                out.writeByte(rolesOf(packed))
+                previous = offsetOf(packed)
+            }
+        }
+
+        override fun read(input: DataInput): IntArray {
+            var offset = 0
+            return IntArray(DataInputOutputUtil.readINT(input)) {
+                offset += DataInputOutputUtil.readINT(input)
+                pack(offset, input.readByte().toInt())
+            }
+        }
+    }
+
+    companion object {
+        val NAME: ID<String, IntArray> = ID.create("Voltum.Usage")
+
+        /** The value is read, the fallback role of a reference */
+        const val READ = 1
+        /** Assigned to, incremented or decremented */
+        const val WRITE = 2
+        /** The callee of a call expression */
+        const val CALL = 4
+        /** Accessed through a qualifier, `a.name` */
+        const val MEMBER = 8
+        /** Written in a type position, `function fn(Point p)` */
+        const val TYPE = 16
+
+        private const val ROLE_BITS = 5
+
+        fun pack(offset: Int, roles: Int): Int = (offset shl ROLE_BITS) or roles
+        fun offsetOf(packed: Int): Int = packed ushr ROLE_BITS
+        fun rolesOf(packed: Int): Int = packed and ((1 shl ROLE_BITS) - 1)
+
+        fun collectOccurrences(file: VoltumFile): Map<String, IntArray> {
+            val occurrences = HashMap<String, MutableList<Int>>()
+            file.accept(object : PsiRecursiveElementWalkingVisitor() {
+                override fun visitElement(element: PsiElement) {
+                    if (element.elementType == VoltumTypes.ID && isReferenceName(element)) {
+                        occurrences.getOrPut(element.text) { mutableListOf() } += pack(element.textOffset, rolesOf(element))
+                    }
+                    super.visitElement(element)
+                }
+            })
+            return occurrences.mapValues { it.value.toIntArray() }
+        }
+
+        /** Declared names are identifiers too, only var references and type refs point elsewhere */
+        private fun isReferenceName(id: PsiElement): Boolean = id.parent.let { it is VoltumVarReference || it is VoltumTypeRef }
+
+        /** Syntactic roles of a reference identifier, decided from its neighbouring tokens only */
+        fun rolesOf(id: PsiElement): Int {
+            val prev = PsiTreeUtil.prevCodeLeaf(id)
+            val next = PsiTreeUtil.nextCodeLeaf(id)
+            var roles = 0
+            if (prev.elementType == VoltumTypes.DOT) roles = roles or MEMBER
+            if (next.elementType == VoltumTypes.LPAREN && next?.parent is VoltumCallExpr) roles = roles or CALL
+            if (next.elementType in ASSIGNMENT_OPERATORS ||
+                next.elementType in PREFIX_AND_POSTFIX_OPERATORS ||
+                prev.elementType in PREFIX_AND_POSTFIX_OPERATORS
+            ) {
+                roles = roles or WRITE
+            }
+            if (id.parent is VoltumTypeRef) roles = roles or TYPE
+            if ((roles and (WRITE or TYPE)) == 0) roles = roles or READ
+            return roles
+        }
+
+        /**
+         * Feeds [processor] every occurrence of [name] in [scope] whose roles pass [roleFilter], file by file.
+         * Occurrence arrays hold packed values, see [offsetOf] and [rolesOf].
+         */
+        fun processOccurrences(
+            name: String,
+            scope: GlobalSearchScope,
+            roleFilter: (Int) -> Boolean = { true },
+            processor: (VirtualFile, IntArray) -> Boolean
+        ): Boolean = FileBasedIndex.getInstance().processValues(NAME, name, null, { file, occurrences ->
+            val accepted = occurrences.filter { roleFilter(rolesOf(it)) }
+            accepted.isEmpty() || processor(file, accepted.toIntArray())
+        }, scope)
+
+        fun findFiles(
+            project: Project,
+            name: String,
+            scope: GlobalSearchScope = GlobalSearchScope.allScope(project)
+        ): Collection<VirtualFile> = FileBasedIndex.getInstance().getContainingFiles(NAME, name, scope)
+    }
+}
@@ -1,63 +1,109 @@
 package com.voltum.voltumscript.lang.inference
 
-import com.intellij.openapi.diagnostic.thisLogger
 import com.intellij.psi.PsiElement
-import com.voltum.voltumscript.ext.ValueHolder
-import com.voltum.voltumscript.lang.IVoltumProcessor
+import com.intellij.util.containers.Interner
 import com.voltum.voltumscript.lang.types.Ty
 import com.voltum.voltumscript.psi.*
 import com.voltum.voltumscript.psi.ext.prototype
 import com.voltum.voltumscript.psi.ext.prototypeNullable
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet
 
-class ValueResult<TKey, TValue>(
+/** Names are interned so the tables of all results share one string per name, and key compares mostly hit identity */
+private val NAMES = Interner.createWeakInterner<String>()
+
+/**
+ * One name keyed table of a [CachedInferenceResult]. Backed by an open addressing map: keys and values live in two
+ * arrays, there is no entry object per name, and merging into an empty table copies the arrays instead of rehashing.
+ */
+class ValueResult<TValue>(
     private val owner: CachedInferenceResult,
     private val addToParent: Boolean = true,
     private val debugName: String? = null
-) : ValueHolder<TKey, TValue>() {
-    override fun add(key: TKey, value: TValue) {
-        values[key] = value
+) {
+    private var table = Object2ObjectOpenHashMap<String, TValue>(0)
+
+    val values: Map<String, TValue> get() = table
+    val all: Collection<TValue> get() = table.values
+    val first: TValue? get() = table.values.firstOrNull()
+    val size: Int get() = table.size
+
+    operator fun get(key: String): TValue? = table[key]
+
+    fun add(key: String, value: TValue) {
+        table[NAMES.intern(key)] = value
+        owner.onChanged()
         if (addToParent) {
-            owner.all.add(value as PsiElement)
+            owner.addElement(value as PsiElement)
             if (value is VoltumNamedElement) {
                 owner.named.add(value)
-                if (value.getNameId() is VoltumElement && value.getNameId() != null)
-                    owner.allIds.add(value.getNameId()!!)
+                value.getNameId()?.let { owner.addId(it) }
             }
         }
     }
 
+    @Suppress("UNCHECKED_CAST")
+    fun add(value: VoltumNamedElement) {
+        value.name?.let { add(it, value as TValue) }
+    }
+
+    /** The entries of [other] win, like [MutableMap.putAll] */
+    fun merge(other: ValueResult<TValue>) {
+        if (other.table.isEmpty()) return
+        if (table.isEmpty()) table = other.table.clone() else table.putAll(other.table)
+    }
+
     override fun toString(): String {
-        return "${debugName ?: "ValueResult"}: values(${values.size}) = ${values.map { it.key to it.value }.joinToString { it.toString() }}"
+        return "${debugName ?: "ValueResult"}: values(${table.size}) = ${table.map { it.key to it.value }.joinToString { it.toString() }}"
     }
 }
 
 open class CachedInferenceResult {
-    val log = thisLogger()
-
     open var from: VoltumElement? = null
 
-    val all = HashSet<PsiElement>()
-    val allIds = HashSet<VoltumElement>()
+    private var ids = ReferenceOpenHashSet<VoltumElement>(0)
+    private var elements = ReferenceOpenHashSet<PsiElement>(0)
+
+    @Volatile
+    private var idValues: Map<String, VoltumExpr?>? = null
+
+    /** Every element added to the declaration tables, also the ones a later declaration of the name replaced */
+    val all: Set<PsiElement> get() = elements
+
+    /** Name identifiers of every named declaration added, also of the ones a later declaration of the name replaced */
+    val allIds: Set<VoltumElement> get() = ids
 
-    val allIdValues : Map<String, VoltumExpr?> get() = allIds.map {
-        return@map Pair(it.text!!, variableValues[it.text!!])
-    }.toMap()
-    
-    val named = ValueResult<String, VoltumNamedElement>(this, false, "Named")
+    /** Built on first use after a change instead of on every access */
+    val allIdValues: Map<String, VoltumExpr?>
+        get() = idValues ?: ids.associate { it.text!! to variableValues[it.text!!] }.also { idValues = it }
 
-    val functions = ValueResult<String, VoltumFunction>(this, true, "Functions")
-    val variables = ValueResult<String, VoltumVariableDeclaration>(this, true, "Variables")
-    val typedVariables = ValueResult<String, VoltumTypeRef>(this, true, "TypedVariables")
+    val named = ValueResult<VoltumNamedElement>(this, false, "Named")
+
+    val functions = ValueResult<VoltumFunction>(this, true, "Functions")
+    val variables = ValueResult<VoltumVariableDeclaration>(this, true, "Variables")
+    val typedVariables = ValueResult<VoltumTypeRef>(this, true, "TypedVariables")
 
     /**
      * since variables can be `var a = b` or `var (a, b) = (1, 2)` we'll store results for both, for ex
      * `var a = b` will insert {a -> b} into the map
      * `var (a, b) = (1, 2)` will insert {a -> 1, b -> 2} into the map
      */
-    val variableValues = ValueResult<String, VoltumExpr>(this, false, "VariableValues")
-    val types = ValueResult<String, VoltumTypeDeclaration>(this, true, "Types")
+    val variableValues = ValueResult<VoltumExpr>(this, false, "VariableValues")
+    val types = ValueResult<VoltumTypeDeclaration>(this, true, "Types")
+
+    val prototypes = ValueResult<Ty>(this, false, "Prototypes")
+
+    internal fun onChanged() {
+        idValues = null
+    }
 
-    val prototypes = ValueResult<String, Ty>(this, false, "Prototypes")
+    internal fun addId(id: VoltumElement) {
+        if (ids.add(id)) onChanged()
+    }
+
+    internal fun addElement(element: PsiElement) {
+        elements.add(element)
+    }
 
     fun addTypeDeclaration(type: VoltumTypeDeclaration) {
         types.add(type.typeId.text, type)
@@ -103,14 +149,9 @@ open class CachedInferenceResult {
     }
 
     fun elementsNamed(name: String): Sequence<VoltumNamedElement> = sequence {
-        yieldAll(
-            typedVariables.values
-                .filter { it.key == name }.values
-                .map { named.values[it.nameIdentifier?.text] }
-                .filterNotNull()
-        )
-        yieldAll(variables.values.filter { it.key == name }.values)
-        yieldAll(functions.values.filter { it.key == name }.values)
+        typedVariables[name]?.nameIdentifier?.text?.let { named[it] }?.let { yield(it) }
+        variables[name]?.let { yield(it) }
+        functions[name]?.let { yield(it) }
     }
 
     companion object {
@@ -121,28 +162,27 @@ open class CachedInferenceResult {
     override fun toString(): String {
         return "CachedInferenceResult: " +
                 "all(${all.size}), " +
-                "named(${named.values.size}), " +
-                "functions(${functions.values.size}), " +
-                "variables(${variables.values.size}), " +
-                "types(${types.values.size}), " +
-                "prototypes(${prototypes.values.size}), " +
-                "variableValues(${variableValues.values.size})"
+                "named(${named.size}), " +
+                "functions(${functions.size}), " +
+                "variables(${variables.size}), " +
+                "types(${types.size}), " +
+                "prototypes(${prototypes.size}), " +
+                "variableValues(${variableValues.size})"
     }
 
     fun merge(other: CachedInferenceResult?) {
         if (other == null) return
 
-        all.addAll(other.all)
-        allIds.addAll(other.allIds)
-
-        named.values.putAll(other.named.values)
-        functions.values.putAll(other.functions.values)
-        variables.values.putAll(other.variables.values)
-        typedVariables.values.putAll(other.typedVariables.values)
-        variableValues.values.putAll(other.variableValues.values)
-        types.values.putAll(other.types.values)
-        prototypes.values.putAll(other.prototypes.values)
+        if (ids.isEmpty()) ids = other.ids.clone() else ids.addAll(other.ids)
+        if (elements.isEmpty()) elements = other.elements.clone() else elements.addAll(other.elements)
+
+        named.merge(other.named)
+        functions.merge(other.functions)
+        variables.merge(other.variables)
+        typedVariables.merge(other.typedVariables)
+        variableValues.merge(other.variableValues)
+        types.merge(other.types)
+        prototypes.merge(other.prototypes)
+        onChanged()
     }
-
-
-}
\ No newline at end of file
+}
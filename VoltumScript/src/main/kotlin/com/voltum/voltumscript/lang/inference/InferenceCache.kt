@@ -8,7 +8,8 @@ import com.intellij.psi.util.PsiTreeUtil
 import com.intellij.psi.util.parentOfType
 import com.voltum.voltumscript.lang.index.VoltumNamedElementIndex
 import com.voltum.voltumscript.lang.index.VoltumTypeDeclarationIndex
-import com.voltum.voltumscript.lang.types.PrototypeContainer
+import com.voltum.voltumscript.lang.resolver.resolveInScopes
+import com.voltum.voltumscript.lang.types.typeRegistry
 import com.voltum.voltumscript.psi.*
 import com.voltum.voltumscript.psi.ext.inference
 import com.voltum.voltumscript.psi.ext.prototype
@@ -144,9 +145,10 @@ class VariableReferenceInferenceProcessor : TypedInferenceProcessor<VoltumVarRef
 
     override fun processElement(element: VoltumVarReference): Boolean {
         var didAdd = false
-        var results = VoltumNamedElementIndex.findElementsByName(handler.project, element.name!!)
+        // Locals resolve through the scope tree, only free names hit the (per file batched) index
+        var results: Collection<VoltumElement> = element.resolveInScopes(element.name!!)
         if (results.isEmpty()) {
-            PrototypeContainer.typeAliases[element.name!!]?.let {
+            handler.project.typeRegistry.resolveAlias(element.name!!)?.let {
                 results = VoltumNamedElementIndex.findElementsByName(element.project, it)
             }
         }
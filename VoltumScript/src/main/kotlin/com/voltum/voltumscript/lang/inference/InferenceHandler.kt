@@ -1,9 +1,11 @@
 package com.voltum.voltumscript.lang.inference
 
-import com.voltum.voltumscript.ext.measureLogTime
+import com.voltum.voltumscript.metrics.VoltumMetrics
 import com.voltum.voltumscript.psi.VoltumElement
 import com.voltum.voltumscript.psi.ext.voltumParent
 
+private val INFERENCE_OPERATION = VoltumMetrics.operation("inference.resolve")
+
 class InferenceHandler(val ctx: InferenceContext) : CachedInferenceResult() {
     val project get() = ctx.project
     override var from: VoltumElement? = ctx.from
@@ -20,7 +22,7 @@ class InferenceHandler(val ctx: InferenceContext) : CachedInferenceResult() {
     val enabledProcessors get() = inferenceProcessors.filter { it.isEnabled(this) }
 
     fun resolve(): CachedInferenceResult {
-        measureLogTime(ctx.cacheKey.toString()) {
+        INFERENCE_OPERATION.measure {
             for (entry in enabledProcessors) {
                 val scope = ProcessScope(key, from!!)
                 if (entry.accepts(ctx.from)) {
@@ -0,0 +1,226 @@
+package com.voltum.voltumscript.lang.inference
+
+import com.intellij.openapi.application.ReadAction
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.components.service
+import com.intellij.openapi.diagnostic.ControlFlowException
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.progress.ProgressManager
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.psi.PsiManager
+import com.intellij.psi.search.FileTypeIndex
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.util.PsiTreeUtil
+import com.intellij.util.concurrency.AppExecutorUtil
+import com.intellij.util.indexing.FileBasedIndex
+import com.voltum.voltumscript.lang.VoltumFileType
+import com.voltum.voltumscript.lang.index.VoltumExportIndex
+import com.voltum.voltumscript.lang.index.VoltumUsageIndex
+import com.voltum.voltumscript.metrics.VoltumMetrics
+import com.voltum.voltumscript.psi.VoltumFile
+import com.voltum.voltumscript.psi.ext.VoltumInferenceContextOwner
+import com.voltum.voltumscript.psi.ext.selfInferenceResult
+import java.util.concurrent.Future
+
+private val PROJECT_INFERENCE_OPERATION = VoltumMetrics.operation("inference.project")
+
+/** Inference of every context owner of one file, merged in document order */
+class FileInferenceResult(
+    val file: VirtualFile,
+    val result: CachedInferenceResult,
+    val owners: Int,
+    /** Owners whose inference threw; the editor would have surfaced those, a batch run only counts them */
+    val failedOwners: Int,
+)
+
+class ProjectInferenceResult(
+    /** Files in dependency layers, each layer sorted by path */
+    val layers: List<List<VirtualFile>>,
+    /** Sorted by path, independent of the order the workers finished in */
+    val files: List<FileInferenceResult>,
+) {
+    /** All file results merged in [files] order, so a name declared in several files always resolves the same way */
+    val merged: CachedInferenceResult by lazy {
+        CachedInferenceResult().apply { files.forEach { merge(it.result) } }
+    }
+}
+
+val Project.projectInference: VoltumProjectInference get() = service()
+
+/**
+ * Whole project type inference for batch analysis, which the editor otherwise drives one element at a time.
+ *
+ * Files are partitioned into layers by their dependencies: a file depends on the files exporting a name it uses
+ * ([VoltumUsageIndex], [VoltumExportIndex]). The layers run one after the other, the files of one layer
+ * concurrently on up to `parallelism` workers; so the cached results of a file's dependencies are in place by the
+ * time it is inferred. Files in a dependency cycle share a layer, see [partition].
+ *
+ * Every file is inferred in its own non-blocking read action, restarted when a write action comes in. Call it from a
+ * background thread outside of any read action.
+ */
+@Service(Service.Level.PROJECT)
+class VoltumProjectInference(val project: Project) {
+    companion object {
+        private val log = logger<VoltumProjectInference>()
+
+        fun getInstance(project: Project): VoltumProjectInference = project.projectInference
+    }
+
+    fun inferAll(parallelism: Int = Runtime.getRuntime().availableProcessors()): ProjectInferenceResult {
+        val files = ReadAction.nonBlocking<List<VirtualFile>> {
+            FileTypeIndex.getFiles(VoltumFileType.INSTANCE, GlobalSearchScope.projectScope(project)).toList()
+        }.inSmartMode(project).executeSynchronously()
+        return infer(files, parallelism)
+    }
+
+    fun infer(files: Collection<VirtualFile>, parallelism: Int): ProjectInferenceResult {
+        require(parallelism > 0) { "parallelism must be positive: $parallelism" }
+
+        return PROJECT_INFERENCE_OPERATION.measure {
+            val layers = ReadAction.nonBlocking<List<List<VirtualFile>>> { partition(files) }
+                .inSmartMode(project)
+                .executeSynchronously()
+
+            val executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Voltum Project Inference", parallelism)
+            val results = ArrayList<FileInferenceResult>(files.size)
+            try {
+                for (layer in layers) {
+                    val futures: List<Future<FileInferenceResult?>> = layer.map { file ->
+                        executor.submit<FileInferenceResult?> {
+                            ReadAction.nonBlocking<FileInferenceResult?> { inferFile(file) }
+                                .inSmartMode(project)
+                                .executeSynchronously()
+                        }
+                    }
+                    futures.mapNotNullTo(results) { ProgressIndicatorUtils.awaitWithCheckCanceled(it) }
+                }
+            } finally {
+                executor.shutdownNow()
+            }
+
+            results.sortBy { it.file.path }
+            ProjectInferenceResult(layers, results)
+        }
+    }
+
+    /**
+     * Groups [files] into layers such that every file only depends on files of earlier layers, or of its own layer
+     * when they are in a cycle. A cycle is one strongly connected component of the dependency graph, the layer of a
+     * component is the longest chain of components it depends on; so files depending on a cycle still come after it.
+     * Deterministic: layers are sorted by path.
+     */
+    fun partition(files: Collection<VirtualFile>): List<List<VirtualFile>> {
+        val all = files.toSet()
+        val ordered = all.sortedBy { it.path }
+        // One scope for every file, building it per file would copy the whole file set each time
+        val scope = GlobalSearchScope.filesScope(project, all)
+        val dependencies = ordered.associateWith { dependenciesOf(it, scope) }
+        val components = stronglyConnectedComponents(ordered, dependencies)
+
+        val componentOf = HashMap<VirtualFile, Int>()
+        components.forEachIndexed { i, component -> component.forEach { componentOf[it] = i } }
+
+        // Components come out after every component they depend on, so their depth is known by then
+        val depth = IntArray(components.size)
+        val layers = mutableListOf<MutableList<VirtualFile>>()
+        components.forEachIndexed { i, component ->
+            ProgressManager.checkCanceled()
+            depth[i] = component.asSequence()
+                .flatMap { dependencies[it]!! }
+                .map { componentOf[it]!! }
+                .filter { it != i }
+                .maxOfOrNull { depth[it] + 1 } ?: 0
+            while (layers.size <= depth[i]) layers += mutableListOf<VirtualFile>()
+            layers[depth[i]].addAll(component)
+        }
+        return layers.map { layer -> layer.sortedBy { it.path } }
+    }
+
+    /**
+     * Tarjan's algorithm, iterative so long dependency chains don't overflow the stack. Every component is returned
+     * after the components it depends on.
+     */
+    private fun stronglyConnectedComponents(
+        files: List<VirtualFile>,
+        dependencies: Map<VirtualFile, Set<VirtualFile>>,
+    ): List<List<VirtualFile>> {
+        val index = HashMap<VirtualFile, Int>()
+        val lowLink = HashMap<VirtualFile, Int>()
+        val stack = ArrayDeque<VirtualFile>()
+        val onStack = HashSet<VirtualFile>()
+        val components = mutableListOf<List<VirtualFile>>()
+
+        // Stands in for the call stack: a visited file and the dependencies it still has to look at
+        val work = ArrayDeque<Pair<VirtualFile, Iterator<VirtualFile>>>()
+        fun visit(file: VirtualFile) {
+            val i = index.size
+            index[file] = i
+            lowLink[file] = i
+            stack.addLast(file)
+            onStack += file
+            work.addLast(file to dependencies[file]!!.iterator())
+        }
+
+        for (root in files) {
+            if (root in index) continue
+            visit(root)
+            while (work.isNotEmpty()) {
+                val (file, pending) = work.last()
+                if (pending.hasNext()) {
+                    val dependency = pending.next()
+                    if (dependency !in index) {
+                        visit(dependency)
+                    } else if (dependency in onStack) {
+                        lowLink[file] = minOf(lowLink[file]!!, index[dependency]!!)
+                    }
+                    continue
+                }
+
+                work.removeLast()
+                work.lastOrNull()?.let { (caller, _) -> lowLink[caller] = minOf(lowLink[caller]!!, lowLink[file]!!) }
+                if (lowLink[file] == index[file]) {
+                    val component = mutableListOf<VirtualFile>()
+                    do {
+                        val member = stack.removeLast()
+                        onStack -= member
+                        component += member
+                    } while (member != file)
+                    components += component
+                }
+            }
+        }
+        return components
+    }
+
+    /** Files in [scope] exporting a name [file] uses */
+    private fun dependenciesOf(file: VirtualFile, scope: GlobalSearchScope): Set<VirtualFile> {
+        val index = FileBasedIndex.getInstance()
+        val result = HashSet<VirtualFile>()
+        for (name in index.getFileData(VoltumUsageIndex.NAME, file, project).keys) {
+            VoltumExportIndex.findExportingFiles(project, name, scope).filterTo(result) { it != file }
+        }
+        return result
+    }
+
+    private fun inferFile(file: VirtualFile): FileInferenceResult? {
+        val psiFile = PsiManager.getInstance(project).findFile(file) as? VoltumFile ?: return null
+
+        val merged = CachedInferenceResult()
+        var owners = 0
+        var failed = 0
+        for (owner in PsiTreeUtil.findChildrenOfType(psiFile, VoltumInferenceContextOwner::class.java)) {
+            ProgressManager.checkCanceled()
+            owners++
+            try {
+                merged.merge(owner.selfInferenceResult)
+            } catch (e: Exception) {
+                if (e is ControlFlowException) throw e
+                failed++
+                log.debug("Inference failed for $owner in ${file.path}", e)
+            }
+        }
+        return FileInferenceResult(file, merged, owners, failed)
+    }
+}
@@ -2,17 +2,20 @@ package com.voltum.voltumscript.lang.references
 
 import com.intellij.openapi.util.TextRange
 import com.intellij.psi.PsiElement
+import com.voltum.voltumscript.lang.index.VoltumNamedElementIndex
 import com.voltum.voltumscript.lang.inference.Inference
 import com.voltum.voltumscript.lang.inference.InferenceFlags
 import com.voltum.voltumscript.lang.inference.withKindFlags
 import com.voltum.voltumscript.lang.types.Ty
 import com.voltum.voltumscript.psi.VoltumCallExpr
 import com.voltum.voltumscript.psi.VoltumElement
+import com.voltum.voltumscript.psi.VoltumFunction
 import com.voltum.voltumscript.psi.VoltumReferenceElement
 import com.voltum.voltumscript.psi.ext.inference
 import com.voltum.voltumscript.psi.ext.prototype
 import com.voltum.voltumscript.psi.ext.prototypeNullable
 import com.voltum.voltumscript.psi.ext.tryFoldType
+import com.voltum.voltumscript.psi.signature
 import kotlinx.serialization.protobuf.ProtoType
 
 class CallExpressionReference : VoltumReferenceCached<VoltumCallExpr> {
@@ -28,7 +31,9 @@ class CallExpressionReference : VoltumReferenceCached<VoltumCallExpr> {
             if (folded != null && folded.type.linkedElement != null) {
                 return listOf(folded.type.linkedElement as VoltumElement)
             }
+            return resolveFromIndex()
         } else {
+            element.path?.resolveQualifiedName()?.let { return it }
 
             val qualifierVar = element.path?.qualifier?.lastVarReference
             val inf = qualifierVar?.inference
@@ -49,5 +54,15 @@ class CallExpressionReference : VoltumReferenceCached<VoltumCallExpr> {
         return emptyList()
     }
 
+    /**
+     * Global functions by name, preferring the ones whose arity matches the call; the check only reads stubs.
+     */
+    private fun resolveFromIndex(): List<VoltumElement> {
+        val name = element.getNameId()?.text ?: return emptyList()
+        val functions = VoltumNamedElementIndex.findElementsByName(element.project, name).filterIsInstance<VoltumFunction>()
+        val argumentCount = element.getArguments().size
+        return functions.filter { it.signature.accepts(argumentCount) }.ifEmpty { functions }
+    }
+
     override fun calculateDefaultRangeInElement(): TextRange = element.referenceTextRange
 }
\ No newline at end of file
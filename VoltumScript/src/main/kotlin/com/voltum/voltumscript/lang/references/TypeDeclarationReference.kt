@@ -3,7 +3,7 @@ package com.voltum.voltumscript.lang.references
 import com.intellij.openapi.util.TextRange
 import com.intellij.psi.PsiElement
 import com.voltum.voltumscript.lang.index.VoltumNamedElementIndex
-import com.voltum.voltumscript.lang.types.PrototypeContainer
+import com.voltum.voltumscript.lang.types.typeRegistry
 import com.voltum.voltumscript.psi.VoltumElement
 import com.voltum.voltumscript.psi.VoltumReferenceElement
 
@@ -14,7 +14,7 @@ class TypeDeclarationReference : VoltumReferenceBase<VoltumReferenceElement> {
     override fun resolveInner(): List<VoltumElement> {
         var elements = VoltumNamedElementIndex.findElementsByName(element.project, idElement?.text!!)
         if (elements.isEmpty()) {
-            PrototypeContainer.typeAliases[idElement.text!!]?.let {
+            element.project.typeRegistry.resolveAlias(idElement.text!!)?.let {
                 elements = VoltumNamedElementIndex.findElementsByName(element.project, it)
             }
         }
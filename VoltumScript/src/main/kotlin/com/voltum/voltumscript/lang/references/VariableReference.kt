@@ -162,8 +162,9 @@ class PartialMemberAccessExprReference : VoltumReferenceBase<VoltumVarReference>
 
         val out = results.map { pair ->
             pair.second?.prototypes?.all?.mapNotNull {
-                if (it.linkedToField != null && it.linkedToField?.name == idElement?.text) {
-                    it.linkedToField?.linkedElement?.descendantOfTypeOrSelf<VoltumIdentifier>()
+                val field = idElement?.text?.let { name -> it.getField(name) }
+                if (field?.linkedElement != null) {
+                    field.linkedElement?.descendantOfTypeOrSelf<VoltumIdentifier>()
                 } else {
                     */
 /* val idEl = it.linkedElement?.descendantOfTypeOrSelf<VoltumIdentifier>()
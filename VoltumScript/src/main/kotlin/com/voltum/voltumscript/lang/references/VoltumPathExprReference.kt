@@ -3,10 +3,17 @@ package com.voltum.voltumscript.lang.references
 import com.intellij.openapi.util.TextRange
 import com.intellij.psi.PsiElement
 import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.lang.index.VoltumMemberIndex
+import com.voltum.voltumscript.lang.index.VoltumQualifiedNameIndex
+import com.voltum.voltumscript.lang.resolver.resolveLocal
 import com.voltum.voltumscript.lang.types.Ty
+import com.voltum.voltumscript.lang.types.TyUnknown
+import com.voltum.voltumscript.lang.types.typeRegistry
 import com.voltum.voltumscript.psi.VoltumElement
 import com.voltum.voltumscript.psi.VoltumIdentifier
 import com.voltum.voltumscript.psi.VoltumPath
+import com.voltum.voltumscript.psi.VoltumTypeDeclarationFieldMember
+import com.voltum.voltumscript.psi.VoltumTypeDeclarationMethodMember
 import com.voltum.voltumscript.psi.VoltumVarReference
 import com.voltum.voltumscript.psi.ext.descendantOfTypeOrSelf
 import com.voltum.voltumscript.psi.ext.prototype
@@ -18,24 +25,32 @@ class VoltumPathExprReference : VoltumReferenceBase<VoltumPath> {
         val nameId = element.getNameId()
         val qualifierId = element.qualifier?.getNameId()
 
+        element.resolveQualifiedName()?.let { return it }
+
 //        val qualifierReference = qualifierId?.reference?.resolve()
 //        val qualifierRefInference = qualifierReference?.inference
 
-        var proto: Ty? = null
-        if (qualifierId?.prototype != null) {
-            proto = qualifierId.prototype
-            val field = proto.getField(nameId?.text!!)
-            proto = field?.ty
-        }
+        // Members are looked up in the qualifier's member table, their types may be interned and shared
+        val qualifierProto = qualifierId?.prototype
+        val field = qualifierProto?.let { element.project.typeRegistry.findMember(it, nameId?.text!!) }
+        val proto: Ty? = field?.ty
 
-        if (proto?.linkedToField != null && proto.linkedToField?.name == idElement?.text) {
-            val id = proto.linkedToField?.linkedElement?.descendantOfTypeOrSelf<VoltumIdentifier>()!!
-//            nameIdInference?.prototypes?.add(id.text, proto.linkedToField?.ty!!)
-            return listOf(id)
+        val fieldId = field?.takeIf { it.name == idElement?.text }?.linkedElement?.descendantOfTypeOrSelf<VoltumIdentifier>()
+        if (fieldId != null) {
+//            nameIdInference?.prototypes?.add(fieldId.text, field.ty!!)
+            return listOf(fieldId)
         } else if (proto?.linkedElement != null) {
             val id = proto.linkedElement as VoltumElement
 //            nameIdInference?.addVariable(id , proto.linkedElement as VoltumElement)
             return listOf(id)
+        } else if (qualifierId != null && qualifierProto is TyUnknown && nameId != null) {
+            // Unknown receiver type, the member is still unambiguous if only one type declares it
+            val id = when (val member = VoltumMemberIndex.findMembers(element.project, nameId.text).singleOrNull()) {
+                is VoltumTypeDeclarationFieldMember  -> member.varId
+                is VoltumTypeDeclarationMethodMember -> member.nameIdentifier
+                else                                 -> null
+            }
+            if (id != null) return listOf(id)
         }
 
         return emptyList()/*
@@ -92,4 +107,17 @@ class VoltumPathExprReference : VoltumReferenceBase<VoltumPath> {
     }
 
     override fun calculateDefaultRangeInElement(): TextRange = element.referenceTextRange
-}
\ No newline at end of file
+}
+
+/**
+ * `module.Type.member` style paths are a single exact lookup in [VoltumQualifiedNameIndex]. Skipped when the
+ * leftmost part is a local, which shadows any top level name. Null when the lookup doesn't apply or finds nothing.
+ */
+internal fun VoltumPath.resolveQualifiedName(): List<VoltumElement>? {
+    if (qualifier == null) return null
+    val qName = qualifiedPath
+    val first = qName.firstComponent ?: return null
+    if (resolveLocal(first).isNotEmpty()) return null
+
+    return VoltumQualifiedNameIndex.resolve(project, qName).takeIf { it.isNotEmpty() }
+}
@@ -4,9 +4,9 @@ import com.intellij.codeInsight.lookup.LookupElement
 import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.util.TextRange
 import com.intellij.psi.*
-import com.voltum.voltumscript.ext.measureLogTime
 import com.voltum.voltumscript.lang.resolver.ResolveCacheDependency
 import com.voltum.voltumscript.lang.resolver.VoltumResolveCache
+import com.voltum.voltumscript.metrics.VoltumMetrics
 import com.voltum.voltumscript.psi.VoltumElement
 import com.voltum.voltumscript.psi.VoltumReferenceElement
 
@@ -60,6 +60,8 @@ abstract class VoltumReferenceBase<T : VoltumReferenceElement> : PsiPolyVariantR
 }
 
 
+private val RESOLVE_OPERATION = VoltumMetrics.operation("resolve.cached")
+
 abstract class VoltumReferenceCached<T : VoltumReferenceElement> : VoltumReferenceBase<T> {
 
     constructor(element: T, idEl: PsiElement?) : super(element, idEl)
@@ -71,7 +73,7 @@ abstract class VoltumReferenceCached<T : VoltumReferenceElement> : VoltumReferen
         cachedMultiResolve().mapNotNull { it.element as? VoltumElement }
 
     private fun cachedMultiResolve(): List<PsiElementResolveResult> {
-        measureLogTime {
+        RESOLVE_OPERATION.measure {
             return VoltumResolveCache.getInstance(element.project)
                 .resolveWithCaching(element, cacheDependency, Resolver).orEmpty()
         }
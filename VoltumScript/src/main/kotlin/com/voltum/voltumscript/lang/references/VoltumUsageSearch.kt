@@ -0,0 +1,111 @@
+package com.voltum.voltumscript.lang.references
+
+import com.intellij.openapi.progress.ProgressManager
+import com.intellij.openapi.project.DumbService
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.psi.*
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.search.LocalSearchScope
+import com.intellij.psi.search.PsiSearchScopeUtil
+import com.intellij.psi.search.SearchScope
+import com.intellij.util.Processor
+import com.voltum.voltumscript.lang.index.VoltumUsageIndex
+import com.voltum.voltumscript.psi.*
+
+/**
+ * Reference search backed by [VoltumUsageIndex]: only identifiers with the target's name, in a role the target can be
+ * used in, are resolved. Members are only looked for behind a qualifier, and only types are looked for in type
+ * positions.
+ */
+object VoltumUsageSearch {
+
+    fun findReferences(target: PsiElement, scope: SearchScope): List<PsiReference> {
+        val result = mutableListOf<PsiReference>()
+        processReferences(target, scope) { result += it; true }
+        return result
+    }
+
+    /**
+     * Feeds [processor] the references to [target] in [scope] as they are found. The index lookup runs in one short
+     * read action, every file is then resolved in a read action of its own, so a long search doesn't hold off writes;
+     * callers already inside a read action simply keep it.
+     */
+    fun processReferences(target: PsiElement, scope: SearchScope, processor: Processor<in PsiReference>): Boolean {
+        val project = target.project
+        val dumbService = DumbService.getInstance(project)
+        val psiManager = PsiManager.getInstance(project)
+
+        val occurrencesByFile = LinkedHashMap<VirtualFile, IntArray>()
+        val normalizedTarget = dumbService.runReadActionInSmartMode<PsiElement?> {
+            val normalizedTarget = normalize(target)
+            val name = normalizedTarget.text?.takeIf { it.isNotEmpty() && it.all { c -> c.isLetterOrDigit() || c == '_' } }
+                ?: return@runReadActionInSmartMode null
+
+            val indexScope = when (scope) {
+                is GlobalSearchScope -> scope
+                is LocalSearchScope  -> GlobalSearchScope.filesScope(project, scope.virtualFiles.toList())
+                else                 -> return@runReadActionInSmartMode null
+            }
+            VoltumUsageIndex.processOccurrences(name, indexScope, roleFilter(target)) { file, occurrences ->
+                occurrencesByFile[file] = occurrences
+                true
+            }
+            normalizedTarget
+        } ?: return true
+
+        for ((file, occurrences) in occurrencesByFile) {
+            ProgressManager.checkCanceled()
+            val proceed = dumbService.runReadActionInSmartMode<Boolean> {
+                // The target may have been edited away between two files
+                if (!normalizedTarget.isValid) return@runReadActionInSmartMode true
+                val psiFile = psiManager.findFile(file) as? VoltumFile ?: return@runReadActionInSmartMode true
+                occurrences.all { packed ->
+                    val id = psiFile.findElementAt(VoltumUsageIndex.offsetOf(packed)) ?: return@all true
+                    referencesAt(id).all { reference ->
+                        if (PsiSearchScopeUtil.isInScope(scope, reference.element) && resolvesTo(reference, normalizedTarget)) {
+                            processor.process(reference)
+                        } else {
+                            true
+                        }
+                    }
+                }
+            }
+            if (!proceed) return false
+        }
+        return true
+    }
+
+    private fun roleFilter(target: PsiElement): (Int) -> Boolean {
+        return when (if (target is VoltumIdentifier) target.parent else target) {
+            is VoltumTypeDeclarationFieldMember,
+            is VoltumTypeDeclarationMethodMember -> { roles -> (roles and VoltumUsageIndex.MEMBER) != 0 }
+
+            is VoltumTypeDeclaration             -> { _ -> true }
+            else                                 -> { roles -> roles != VoltumUsageIndex.TYPE }
+        }
+    }
+
+    /** References owned by the reference elements around [id], the innermost is a var reference or a type ref */
+    private fun referencesAt(id: PsiElement): List<PsiReference> {
+        val offset = id.textRange.startOffset
+        return generateSequence(id.parent) { it.parent }
+            .takeWhile { it is VoltumReferenceElement }
+            .flatMap { it.references.asSequence() }
+            .filter { it.absoluteRange.contains(offset) }
+            .toList()
+    }
+
+    private fun resolvesTo(reference: PsiReference, target: PsiElement): Boolean {
+        val results = (reference as? PsiPolyVariantReference)?.multiResolve(false)?.mapNotNull { it.element }
+            ?: listOfNotNull(reference.resolve())
+        return results.any { normalize(it) == target }
+    }
+
+    /** Resolve results are either a declaration or its name identifier, compare by the identifier */
+    private fun normalize(element: PsiElement): PsiElement = when (element) {
+        is VoltumTypeDeclarationFieldMember  -> element.varId
+        is VoltumTypeDeclarationMethodMember -> element.nameIdentifier
+        is PsiNameIdentifierOwner            -> element.nameIdentifier ?: element
+        else                                 -> element
+    }
+}
@@ -22,12 +22,18 @@ import com.intellij.psi.util.PsiUtilCore
 import com.intellij.util.containers.ConcurrentWeakKeySoftValueHashMap
 import com.intellij.util.containers.HashingStrategy
 import com.voltum.voltumscript.ext.Testmark
-import com.voltum.voltumscript.ext.measureLogTime
+import com.voltum.voltumscript.metrics.VoltumMetrics
 import com.voltum.voltumscript.psi.*
 import com.voltum.voltumscript.psi.ext.ancestors
 import java.lang.ref.ReferenceQueue
+import java.lang.ref.WeakReference
+import java.util.*
 import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.atomic.AtomicIntegerArray
 import java.util.concurrent.atomic.AtomicReference
+import java.util.concurrent.atomic.LongAdder
+import java.util.function.BiFunction
+import java.util.function.Function
 
 /**
  * The implementation is inspired by Intellij platform's [com.intellij.psi.impl.source.resolve.ResolveCache].
@@ -45,24 +51,36 @@ class VoltumResolveCache(project: Project) : Disposable {
     private val _anyPsiChangeDependentCache: AtomicReference<ConcurrentMap<PsiElement, Any>?> = AtomicReference(null)
     private val guard = RecursionManager.createGuard<PsiElement>("VoltumResolveCache")
 
+    /** Indexed by [ResolveCacheDependency.ordinal], [setCapacity] may run concurrently with caches being created */
+    private val capacities = AtomicIntegerArray(ResolveCacheDependency.entries.size).apply {
+        for (dep in ResolveCacheDependency.entries) {
+            set(dep.ordinal, Integer.getInteger("voltum.resolveCache.${dep.name.lowercase()}.capacity", dep.defaultCapacity))
+        }
+    }
+    private val stats = EnumMap<ResolveCacheDependency, ResolveCacheStats>(ResolveCacheDependency::class.java).apply {
+        for (dep in ResolveCacheDependency.entries) {
+            put(dep, ResolveCacheStats(dep))
+        }
+    }
+
     private val voltumStructureDependentCache: ConcurrentMap<PsiElement, Any>
-        get() = _voltumStructureDependentCache.getOrCreateMap()
+        get() = _voltumStructureDependentCache.getOrCreateMap { createBoundedMap(ResolveCacheDependency.VOLTUM_STRUCTURE) }
 
     public val anyPsiChangeDependentCache: ConcurrentMap<PsiElement, Any>
-        get() = _anyPsiChangeDependentCache.getOrCreateMap()
+        get() = _anyPsiChangeDependentCache.getOrCreateMap { createBoundedMap(ResolveCacheDependency.ANY_PSI_CHANGE) }
 
     init {
         val voltumPsiManager = project.voltumPsiManager
         val connection = project.messageBus.connect(this)
         voltumPsiManager.subscribeVoltumStructureChange(connection, object : VoltumStructureChangeListener {
             override fun voltumStructureChanged(file: PsiFile?, changedElement: PsiElement?) =
-//                measureLogTime("VoltumStructureChanged") { 
+//                measure("resolveCache.voltumStructureChanged") { 
                 onVoltumStructureChanged()
 //        }
         })
         connection.subscribe(ANY_PSI_CHANGE_TOPIC, object : AnyPsiChangeListener {
             override fun afterPsiChanged(isPhysical: Boolean) {
-//                measureLogTime("AnyPsiChanged") {
+//                measure("resolveCache.anyPsiChanged") {
                 _anyPsiChangeDependentCache.set(null)
 //                }
             }
@@ -71,7 +89,7 @@ class VoltumResolveCache(project: Project) : Disposable {
         })
         voltumPsiManager.subscribeVoltumPsiChange(connection, object : VoltumPsiChangeListener {
             override fun voltumPsiChanged(file: PsiFile, element: PsiElement, isStructureModification: Boolean) =
-//                measureLogTime("voltumPsiChanged") {
+//                measure("resolveCache.voltumPsiChanged") {
                 onVoltumPsiChanged(element)
 //                }
         })
@@ -90,9 +108,13 @@ class VoltumResolveCache(project: Project) : Disposable {
         ProgressManager.checkCanceled()
         val refinedDep = refineDependency(key, dep)
         val map = getCacheFor(key, refinedDep)
-        return map[key] as V? ?: run {
+        val depStats = stats.getValue(refinedDep)
+        return (map[key] as V?)?.also { depStats.hits.increment() } ?: run {
+            depStats.misses.increment()
             val stamp = RecursionManager.markStack()
-            val result = guard.doPreventingRecursion(key, true) { resolver(key) }
+            val result = depStats.missOperation.measure {
+                guard.doPreventingRecursion(key, true) { resolver(key) }
+            }
             ensureValidResult(result)
 
             if (stamp.mayCacheNow()) {
@@ -128,7 +150,7 @@ class VoltumResolveCache(project: Project) : Disposable {
                     if (dep == ResolveCacheDependency.LOCAL) {
                         CachedValuesManager.getCachedValue(owner, LOCAL_CACHE_KEY) {
                             CachedValueProvider.Result.create(
-                                createWeakMap(),
+                                createBoundedMap(ResolveCacheDependency.LOCAL),
                                 owner.modificationTracker
                             )
                         }
@@ -136,7 +158,7 @@ class VoltumResolveCache(project: Project) : Disposable {
                     } else {
                         CachedValuesManager.getCachedValue(owner, LOCAL_CACHE_KEY2) {
                             CachedValueProvider.Result.create(
-                                createWeakMap(),
+                                createBoundedMap(ResolveCacheDependency.LOCAL_AND_VOLTUM_STRUCTURE),
                                 owner.project.voltumStructureModificationTracker,
                                 owner.modificationTracker
                             )
@@ -161,6 +183,34 @@ class VoltumResolveCache(project: Project) : Disposable {
         map[element] = result ?: NULL_RESULT as V
     }
 
+    /** Sets the capacity of [dep]; applies to caches created after the call, i.e. after the next invalidation */
+    fun setCapacity(dep: ResolveCacheDependency, capacity: Int) {
+        require(capacity > 0) { "Capacity must be positive: $capacity" }
+        capacities.set(dep.ordinal, capacity)
+    }
+
+    fun getCapacity(dep: ResolveCacheDependency): Int = capacities.get(dep.ordinal)
+
+    fun getStats(dep: ResolveCacheDependency): ResolveCacheStats = stats.getValue(dep)
+
+    fun statsSnapshot(): List<ResolveCacheStats.Snapshot> = stats.values.map { it.snapshot() }
+
+    /** Entries currently held by the global cache of [dep]; the local caches are spread over their owners */
+    fun cachedEntryCount(dep: ResolveCacheDependency): Int = when (dep) {
+        ResolveCacheDependency.VOLTUM_STRUCTURE -> _voltumStructureDependentCache.get()?.size ?: 0
+        ResolveCacheDependency.ANY_PSI_CHANGE   -> _anyPsiChangeDependentCache.get()?.size ?: 0
+        else                                    -> 0
+    }
+
+    /** Drops both global caches, the per owner ones are dropped with their owner's modification tracker */
+    fun clear() {
+        _voltumStructureDependentCache.set(null)
+        _anyPsiChangeDependentCache.set(null)
+    }
+
+    private fun createBoundedMap(dep: ResolveCacheDependency): ConcurrentMap<PsiElement, Any> =
+        BoundedResolveMap(createWeakMap(), capacities.get(dep.ordinal), stats.getValue(dep))
+
     private fun onVoltumStructureChanged() {
         Testmarks.VoltumStructureDependentCacheCleared.hit()
         _voltumStructureDependentCache.set(null)
@@ -200,41 +250,185 @@ class VoltumResolveCache(project: Project) : Disposable {
     }
 }
 
-enum class ResolveCacheDependency {
+/**
+ * @param defaultCapacity the entry limit of one cache of this kind; the global caches ([VOLTUM_STRUCTURE],
+ * [ANY_PSI_CHANGE]) exist once per project, the local ones once per [VoltumModificationTrackerOwner].
+ * Override with `-Dvoltum.resolveCache.<name>.capacity=N`.
+ */
+enum class ResolveCacheDependency(val defaultCapacity: Int) {
     /**
      * Depends on the nearest [VoltumModificationTrackerOwner] and falls back to
      * [VoltumPsiManager.voltumStructureModificationTracker] if the tracker owner is not found.
      *
      * See [findModificationTrackerOwner]
      */
-    LOCAL,
+    LOCAL(2_000),
 
     /**
      * Depends on [VoltumPsiManager.voltumStructureModificationTracker]
      */
-    VOLTUM_STRUCTURE,
+    VOLTUM_STRUCTURE(50_000),
 
     /**
      * Depends on both [LOCAL] and [VOLTUM_STRUCTURE]. It is not the same as "any PSI change", because,
      * for example, local changes from other functions will not invalidate the value
      */
-    LOCAL_AND_VOLTUM_STRUCTURE,
+    LOCAL_AND_VOLTUM_STRUCTURE(2_000),
 
     /**
      * Depends on [com.intellij.psi.util.PsiModificationTracker.MODIFICATION_COUNT]. I.e. depends on
      * any PSI change, not only in voltum files
      */
-    ANY_PSI_CHANGE,
+    ANY_PSI_CHANGE(20_000),
 }
 
-private fun AtomicReference<ConcurrentMap<PsiElement, Any>?>.getOrCreateMap(): ConcurrentMap<PsiElement, Any> {
+private inline fun AtomicReference<ConcurrentMap<PsiElement, Any>?>.getOrCreateMap(
+    create: () -> ConcurrentMap<PsiElement, Any>
+): ConcurrentMap<PsiElement, Any> {
     while (true) {
         get()?.let { return it }
-        val map = createWeakMap<PsiElement, Any>()
+        val map = create()
         if (compareAndSet(null, map)) return map
     }
 }
 
+class ResolveCacheStats(val dependency: ResolveCacheDependency) {
+    val hits = LongAdder()
+    val misses = LongAdder()
+    val evictions = LongAdder()
+
+    /** Latency of the resolves done on a miss, only recorded when [VoltumMetrics] is enabled */
+    internal val missOperation = VoltumMetrics.operation("resolveCache.miss.${dependency.name.lowercase()}")
+
+    fun snapshot(): Snapshot = Snapshot(dependency, hits.sum(), misses.sum(), evictions.sum())
+
+    data class Snapshot(val dependency: ResolveCacheDependency, val hits: Long, val misses: Long, val evictions: Long) {
+        val hitRate: Double get() = if (hits + misses == 0L) 0.0 else hits.toDouble() / (hits + misses)
+    }
+}
+
+/**
+ * Strong bound on top of the weak key / soft value map: once the map holds more than [capacity] entries,
+ * the least recently used ones are evicted. GC may still drop entries earlier, the bound only caps the worst case.
+ *
+ * Reads stay on the delegate and only record the access, every write goes through [lock] so the recency order and
+ * the delegate agree. Iterator removals on the views bypass the order, their keys are dropped from it once they'd be
+ * evicted.
+ */
+private class BoundedResolveMap(
+    private val delegate: ConcurrentMap<PsiElement, Any>,
+    private val capacity: Int,
+    private val stats: ResolveCacheStats,
+) : ConcurrentMap<PsiElement, Any> by delegate {
+    private val lock = Any()
+
+    /** Keys in access order, least recently used first; weak so the order itself never keeps PSI alive */
+    private val recency = LinkedHashMap<Any, Unit>(16, 0.75f, true)
+    private val collected = ReferenceQueue<PsiElement>()
+
+    override fun get(key: PsiElement): Any? {
+        val value = delegate[key]
+        if (value != null) {
+            synchronized(lock) { recency[KeyProbe(key)] }
+        }
+        return value
+    }
+
+    override fun put(key: PsiElement, value: Any): Any? = synchronized(lock) {
+        delegate.put(key, value).also { added(key) }
+    }
+
+    override fun putIfAbsent(key: PsiElement, value: Any): Any? = synchronized(lock) {
+        delegate.putIfAbsent(key, value).also { added(key) }
+    }
+
+    override fun putAll(from: Map<out PsiElement, Any>) {
+        from.forEach { (key, value) -> put(key, value) }
+    }
+
+    override fun replace(key: PsiElement, value: Any): Any? = synchronized(lock) {
+        delegate.replace(key, value).also { if (it != null) added(key) }
+    }
+
+    override fun replace(key: PsiElement, oldValue: Any, newValue: Any): Boolean = synchronized(lock) {
+        delegate.replace(key, oldValue, newValue).also { if (it) added(key) }
+    }
+
+    override fun computeIfAbsent(key: PsiElement, mappingFunction: Function<in PsiElement, out Any?>): Any? =
+        synchronized(lock) { delegate.computeIfAbsent(key, mappingFunction).also { computed(key, it) } }
+
+    override fun computeIfPresent(key: PsiElement, remappingFunction: BiFunction<in PsiElement, in Any, out Any?>): Any? =
+        synchronized(lock) { delegate.computeIfPresent(key, remappingFunction).also { computed(key, it) } }
+
+    override fun compute(key: PsiElement, remappingFunction: BiFunction<in PsiElement, in Any?, out Any?>): Any? =
+        synchronized(lock) { delegate.compute(key, remappingFunction).also { computed(key, it) } }
+
+    override fun merge(key: PsiElement, value: Any, remappingFunction: BiFunction<in Any, in Any, out Any?>): Any? =
+        synchronized(lock) { delegate.merge(key, value, remappingFunction).also { computed(key, it) } }
+
+    override fun remove(key: PsiElement): Any? = synchronized(lock) {
+        delegate.remove(key).also { recency.remove(KeyProbe(key)) }
+    }
+
+    override fun remove(key: PsiElement, value: Any): Boolean = synchronized(lock) {
+        delegate.remove(key, value).also { if (it) recency.remove(KeyProbe(key)) }
+    }
+
+    override fun clear() = synchronized(lock) {
+        delegate.clear()
+        recency.clear()
+    }
+
+    private fun computed(key: PsiElement, value: Any?) {
+        if (value != null) added(key) else recency.remove(KeyProbe(key))
+    }
+
+    /** Under [lock]: marks [key] as the most recently used, then evicts down to [capacity] */
+    private fun added(key: PsiElement) {
+        if (recency[KeyProbe(key)] == null) {
+            recency[ResolveKeyRef(key, collected)] = Unit
+        }
+
+        while (true) {
+            val ref = collected.poll() ?: break
+            recency.remove(ref)
+        }
+
+        // The order holds every key of the delegate, so bounding it bounds the delegate
+        val eldest = recency.keys.iterator()
+        while (recency.size > capacity && eldest.hasNext()) {
+            val ref = eldest.next() as ResolveKeyRef
+            eldest.remove()
+            // Keys which already left the delegate (collected, or removed through a view) just leave the order
+            val evicted = ref.get() ?: continue
+            if (delegate.remove(evicted) != null) {
+                stats.evictions.increment()
+            }
+        }
+    }
+}
+
+/** Weak key of the [BoundedResolveMap] order, PSI identity; once collected it only equals itself */
+private class ResolveKeyRef(key: PsiElement, queue: ReferenceQueue<PsiElement>) : WeakReference<PsiElement>(key, queue) {
+    private val hash = System.identityHashCode(key)
+
+    override fun hashCode(): Int = hash
+
+    override fun equals(other: Any?): Boolean = when {
+        other === this          -> true
+        other is KeyProbe       -> other.key === get()
+        other is ResolveKeyRef  -> get().let { it != null && it === other.get() }
+        else                    -> false
+    }
+}
+
+/** Looks a key up in the [BoundedResolveMap] order without allocating a reference */
+private class KeyProbe(val key: PsiElement) {
+    override fun hashCode(): Int = System.identityHashCode(key)
+
+    override fun equals(other: Any?): Boolean = other === this || other is ResolveKeyRef && other.get() === key
+}
+
 private fun <K : Any, V : Any> createWeakMap(): ConcurrentMap<K, V> {
     @Suppress("UnstableApiUsage")
     return object : ConcurrentWeakKeySoftValueHashMap<K, V>(
@@ -0,0 +1,197 @@
+package com.voltum.voltumscript.lang.resolver
+
+import com.intellij.openapi.util.Key
+import com.intellij.openapi.util.TextRange
+import com.intellij.psi.PsiElement
+import com.intellij.psi.util.CachedValue
+import com.intellij.psi.util.CachedValueProvider
+import com.intellij.psi.util.CachedValuesManager
+import com.intellij.psi.util.PsiModificationTracker
+import com.intellij.psi.util.PsiTreeUtil
+import com.intellij.util.SmartList
+import com.voltum.voltumscript.lang.index.VoltumNamedElementIndex
+import com.voltum.voltumscript.psi.*
+import com.voltum.voltumscript.psi.ext.createCachedResult
+
+private val SCOPE_TREE_KEY: Key<CachedValue<VoltumScope>> = Key.create("SCOPE_TREE_KEY")
+private val FREE_NAMES_KEY: Key<CachedValue<Map<String, List<VoltumNamedElement>>>> = Key.create("FREE_NAMES_KEY")
+
+/**
+ * Lexical scope; the root of a tree is always a [VoltumFile] or a [VoltumFunction] (a "scope owner"),
+ * its children are the block scopes (block bodies, for loops) nested in that owner.
+ *
+ * Nested functions are not part of their parent's tree, they are owners on their own and are cached separately;
+ * resolution continues into the enclosing owner's tree once the function's own tree has nothing, see [resolveLocal].
+ */
+class VoltumScope(val element: PsiElement, val parent: VoltumScope?) {
+    private val declarations = HashMap<String, SmartList<VoltumElement>>()
+    private val children = SmartList<VoltumScope>()
+
+    val range: TextRange get() = element.textRange
+
+    /** In file scope everything is visible from everywhere, in any other scope variables are visible after their declaration */
+    private val ordered: Boolean get() = element !is VoltumFile
+
+    val names: Set<String> get() = declarations.keys
+
+    fun declare(name: String, element: VoltumElement) {
+        declarations.getOrPut(name) { SmartList() }.add(element)
+    }
+
+    fun declarationsNamed(name: String): List<VoltumElement> = declarations[name] ?: emptyList()
+
+    fun scopeAt(offset: Int): VoltumScope {
+        for (child in children) {
+            if (child.range.containsOffset(offset)) {
+                return child.scopeAt(offset)
+            }
+        }
+        return this
+    }
+
+    /**
+     * Looks up [name] from the innermost scope containing [offset] outwards; the first scope declaring a visible
+     * element with that name wins (shadowing).
+     */
+    fun resolve(name: String, offset: Int): List<VoltumElement> {
+        var scope: VoltumScope? = scopeAt(offset)
+        while (scope != null) {
+            val current = scope
+            val visible = current.declarationsNamed(name).filter { current.isVisibleAt(it, offset) }
+            if (visible.isNotEmpty()) {
+                return visible
+            }
+            scope = current.parent
+        }
+        return emptyList()
+    }
+
+    private fun isVisibleAt(declaration: VoltumElement, offset: Int): Boolean = when {
+        !ordered                               -> true
+        declaration is VoltumFunction          -> true
+        declaration is VoltumTypeDeclaration   -> true
+        else                                   -> declaration.textRange.startOffset <= offset
+    }
+
+    internal fun addChild(scope: VoltumScope) {
+        children.add(scope)
+    }
+
+    override fun toString(): String = "VoltumScope(element=$element, names=${declarations.keys})"
+}
+
+object VoltumScopeBuilder {
+    fun build(owner: PsiElement): VoltumScope {
+        val root = VoltumScope(owner, null)
+        if (owner is VoltumFunction) {
+            for (argument in owner.getArguments()) {
+                root.declare(argument.nameIdentifier.text, argument)
+            }
+        }
+        walk(owner, root)
+        return root
+    }
+
+    private fun walk(element: PsiElement, scope: VoltumScope) {
+        var child = element.firstChild
+        while (child != null) {
+            visit(child, scope)
+            child = child.nextSibling
+        }
+    }
+
+    private fun visit(element: PsiElement, scope: VoltumScope) {
+        when (element) {
+            // Functions own their scope, only the name is declared here
+            is VoltumFunction                              -> {
+                element.nameIdentifier?.let { scope.declare(it.text, element) }
+            }
+
+            is VoltumTypeDeclaration                       -> {
+                element.name?.let { scope.declare(it, element) }
+            }
+
+            is VoltumVariableDeclaration                   -> {
+                for (id in PsiTreeUtil.getChildrenOfTypeAsList(element, VoltumVarId::class.java)) {
+                    scope.declare(id.text, element)
+                }
+                walk(element, scope)
+            }
+
+            is VoltumBlockBody, is VoltumForLoopStatement -> {
+                val blockScope = VoltumScope(element, scope)
+                scope.addChild(blockScope)
+                walk(element, blockScope)
+            }
+
+            else                                           -> walk(element, scope)
+        }
+    }
+}
+
+/** The innermost [VoltumFunction] or the [VoltumFile] containing this element */
+val PsiElement.scopeOwner: PsiElement?
+    get() = PsiTreeUtil.getParentOfType(this, VoltumFunction::class.java, true) ?: containingFile as? VoltumFile
+
+val VoltumFile.scopeTree: VoltumScope
+    get() = CachedValuesManager.getCachedValue(this, SCOPE_TREE_KEY) {
+        CachedValueProvider.Result.create(VoltumScopeBuilder.build(this), PsiModificationTracker.MODIFICATION_COUNT)
+    }
+
+val VoltumFunction.scopeTree: VoltumScope
+    get() = CachedValuesManager.getCachedValue(this, SCOPE_TREE_KEY) {
+        createCachedResult(VoltumScopeBuilder.build(this))
+    }
+
+private val PsiElement.ownerScopeTree: VoltumScope?
+    get() = when (this) {
+        is VoltumFunction -> scopeTree
+        is VoltumFile     -> scopeTree
+        else              -> null
+    }
+
+/**
+ * Resolves [name] against the lexical scopes around this element, without touching any index.
+ * Walks the owners outwards (function -> enclosing function -> file).
+ */
+fun PsiElement.resolveLocal(name: String): List<VoltumElement> {
+    var offset = textRange.startOffset
+    var owner = scopeOwner
+    while (owner != null) {
+        val found = owner.ownerScopeTree?.resolve(name, offset).orEmpty()
+        if (found.isNotEmpty()) {
+            return found
+        }
+        if (owner is VoltumFile) break
+        offset = owner.textRange.startOffset
+        owner = owner.scopeOwner
+    }
+    return emptyList()
+}
+
+/**
+ * Index results for every name referenced in this file which has no local declaration.
+ * Computed once per file modification, so each free name costs one index query per file instead of one per reference.
+ */
+val VoltumFile.freeNameCandidates: Map<String, List<VoltumNamedElement>>
+    get() = CachedValuesManager.getCachedValue(this, FREE_NAMES_KEY) {
+        val freeNames = PsiTreeUtil.collectElementsOfType(this, VoltumVarReference::class.java)
+            .mapNotNullTo(HashSet()) { ref ->
+                val name = ref.name ?: return@mapNotNullTo null
+                if (ref.resolveLocal(name).isEmpty()) name else null
+            }
+
+        val candidates = freeNames.associateWith { VoltumNamedElementIndex.findElementsByName(project, it).toList() }
+        CachedValueProvider.Result.create(candidates, PsiModificationTracker.MODIFICATION_COUNT)
+    }
+
+/** Local declarations first, then the file's batched index results for free names */
+fun VoltumElement.resolveInScopes(name: String): List<VoltumElement> {
+    val local = resolveLocal(name)
+    if (local.isNotEmpty()) {
+        return local
+    }
+    val file = containingFile as? VoltumFile ?: return emptyList()
+    return file.freeNameCandidates[name]
+        ?: VoltumNamedElementIndex.findElementsByName(project, name).toList()
+}
@@ -1,31 +1,20 @@
 package com.voltum.voltumscript.lang.stubs
 
 import com.intellij.lang.ASTNode
-import com.intellij.lang.FileASTNode
-import com.intellij.psi.stubs.IStubElementType
-import com.voltum.voltumscript.ext.ancestors
-import com.voltum.voltumscript.parser.VALUE_ITEMS
 import com.voltum.voltumscript.psi.VoltumElement
-import com.voltum.voltumscript.psi.VoltumTypes.BLOCK_BODY
-import com.voltum.voltumscript.psi.VoltumTypes.FUNC_DECLARATION
 
 
-class VoltumExprStubType<PsiT : VoltumElement>(
-    debugName: String,
-    psiCtor: (VoltumPlaceholderStub<*>, IStubElementType<*, *>) -> PsiT
-) : VoltumPlaceholderStub.Type<PsiT>(debugName, psiCtor) {
-    override fun shouldCreateStub(node: ASTNode): Boolean {
-        val shouldCreate = shouldCreateExprStub(node)
-        return shouldCreate
-    }
+/**
+ * Element type of the expression nodes. They stay stub element types but never get a stub: stubbing every
+ * `EXPR`/`LITERAL_*`/`PATH` node of every initializer made up most of the stub tree. Stubs below an expression
+ * (dictionaries, anonymous functions) hang off the nearest stubbed ancestor instead, see [createStubIfParentIsStub].
+ *
+ * Expression rules have no `stubClass` in the grammar, so their PSI is AST only and the generated accessors of
+ * stubbed parents (`VoltumVariableDeclaration.getExprList`, `VoltumDictionaryField.getExpr`) read them from the AST,
+ * which is loaded on demand for a stub backed parent.
+ */
+class VoltumExprStubType(debugName: String) : VoltumPlaceholderStub.Type<VoltumElement>(debugName, { _, _ ->
+    throw IllegalStateException("$debugName never has a stub")
+}) {
+    override fun shouldCreateStub(node: ASTNode): Boolean = false
 }
-
-fun shouldCreateExprStub(node: ASTNode): Boolean {
-    val element = node.ancestors.firstOrNull {
-        val parent = it.treeParent
-        parent?.elementType in VALUE_ITEMS || parent is FileASTNode
-    }
-    return element != null && !element.isFunctionBody() && createStubIfParentIsStub(node)
-}
-
-private fun ASTNode.isFunctionBody() = this.elementType == BLOCK_BODY && treeParent?.elementType == FUNC_DECLARATION
\ No newline at end of file
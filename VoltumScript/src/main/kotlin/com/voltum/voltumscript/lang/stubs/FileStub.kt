@@ -7,19 +7,28 @@ import com.intellij.psi.impl.source.tree.TreeUtil
 import com.intellij.psi.stubs.*
 import com.intellij.psi.tree.IStubFileElementType
 import com.voltum.voltumscript.Constants
+import com.voltum.voltumscript.ext.readNameAsString
 import com.voltum.voltumscript.lang.VoltumLanguage
+import com.voltum.voltumscript.lang.types.TyCodecs
 import com.voltum.voltumscript.psi.VoltumFile
 
 
 class VoltumFileStub(
     file: VoltumFile?,
     private val flags: Int,
+    /** Std module the file declares, qualifies its top level names in the qualified name index */
+    val moduleName: String?,
+    private val loadedTypeTable: VoltumTypeTable? = null,
 ) : PsiFileStubImpl<VoltumFile>(file) {
 
+    /** Read with the stub when deserialized, otherwise collected from the built stub tree on first use */
+    val typeTable: VoltumTypeTable by lazy { loadedTypeTable ?: VoltumTypeTable.collect(this) }
+
     override fun getType() = Type
 
     object Type : IStubFileElementType<VoltumFileStub>(VoltumLanguage) {
-        override fun getStubVersion(): Int = Constants.STUB_VERSION
+        /** Types are stored in stubs too, a change to their format changes the stub version, see [TyCodecs] */
+        override fun getStubVersion(): Int = Constants.STUB_VERSION + TyCodecs.VERSION
 
         override fun getBuilder(): StubBuilder = object : DefaultStubBuilder() {
             override fun createStubForFile(file: PsiFile): StubElement<*> {
@@ -28,7 +37,7 @@ class VoltumFileStub(
                 check(file is VoltumFile)
                 val flags = 0
                 
-                return VoltumFileStub(file, flags)
+                return VoltumFileStub(file, flags, file.stdModuleName)
             }
 
             /*override fun skipChildProcessingWhenBuildingStubs(parent: ASTNode, child: ASTNode): Boolean {
@@ -42,10 +51,12 @@ class VoltumFileStub(
 
         override fun serialize(stub: VoltumFileStub, dataStream: StubOutputStream) {
             dataStream.writeByte(stub.flags)
+            dataStream.writeName(stub.moduleName)
+            stub.typeTable.write(dataStream)
         }
 
         override fun deserialize(dataStream: StubInputStream, parentStub: StubElement<*>?): VoltumFileStub =
-            VoltumFileStub(null, dataStream.readUnsignedByte())
+            VoltumFileStub(null, dataStream.readUnsignedByte(), dataStream.readNameAsString(), VoltumTypeTable.read(dataStream))
 
         override fun getExternalId(): String = Constants.NAME + ".File"
 
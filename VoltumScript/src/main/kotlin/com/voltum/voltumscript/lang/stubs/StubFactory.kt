@@ -16,34 +16,34 @@ fun factory(name: String): VoltumStubElementType<*, *> = when (name) {
 
     "DICTIONARY_VALUE"     -> VoltumDictionaryStub.Type
     "DICTIONARY_FIELD"     -> VoltumDictionaryFieldStub.Type
-    "LIST_VALUE"           -> VoltumExprStubType("LIST_VALUE", ::VoltumListValueImpl)
+    "LIST_VALUE"           -> VoltumExprStubType("LIST_VALUE")
 
-    "EXPR"                 -> VoltumExprStubType("EXPR", ::VoltumExprImpl)
-    "BINARY_EXPR"          -> VoltumExprStubType("BINARY_EXPR", ::VoltumBinaryExprImpl)
-    "ATOM_EXPR"            -> VoltumExprStubType("ATOM_EXPR", ::VoltumAtomExprImpl)
-    "PAREN_EXPR"           -> VoltumExprStubType("PAREN_EXPR", ::VoltumParenExprImpl)
-    "POSTFIX_DEC_EXPR"     -> VoltumExprStubType("POSTFIX_DEC_EXPR", ::VoltumPostfixDecExprImpl)
-    "POSTFIX_INC_EXPR"     -> VoltumExprStubType("POSTFIX_INC_EXPR", ::VoltumPostfixIncExprImpl)
-    "PREFIX_INC_EXPR"      -> VoltumExprStubType("PREFIX_INC_EXPR", ::VoltumPrefixIncExprImpl)
-    "PREFIX_DEC_EXPR"      -> VoltumExprStubType("PREFIX_DEC_EXPR", ::VoltumPrefixDecExprImpl)
-    "UNARY_EXPR"           -> VoltumExprStubType("UNARY_EXPR", ::VoltumUnaryExprImpl)
+    "EXPR"                 -> VoltumExprStubType("EXPR")
+    "BINARY_EXPR"          -> VoltumExprStubType("BINARY_EXPR")
+    "ATOM_EXPR"            -> VoltumExprStubType("ATOM_EXPR")
+    "PAREN_EXPR"           -> VoltumExprStubType("PAREN_EXPR")
+    "POSTFIX_DEC_EXPR"     -> VoltumExprStubType("POSTFIX_DEC_EXPR")
+    "POSTFIX_INC_EXPR"     -> VoltumExprStubType("POSTFIX_INC_EXPR")
+    "PREFIX_INC_EXPR"      -> VoltumExprStubType("PREFIX_INC_EXPR")
+    "PREFIX_DEC_EXPR"      -> VoltumExprStubType("PREFIX_DEC_EXPR")
+    "UNARY_EXPR"           -> VoltumExprStubType("UNARY_EXPR")
 
-    "PATH"                 -> VoltumExprStubType("PATH", ::VoltumPathImpl)
-    "CALL_EXPR"            -> VoltumExprStubType("CALL_EXPR", ::VoltumCallExprImpl)
-    "RETURN_EXPR"          -> VoltumExprStubType("RETURN_EXPR", ::VoltumReturnExprImpl)
-    "BREAK_EXPR"           -> VoltumExprStubType("BREAK_EXPR", ::VoltumBreakExprImpl)
-    "CONTINUE_EXPR"        -> VoltumExprStubType("CONTINUE_EXPR", ::VoltumContinueExprImpl)
-    "DEFER_EXPR"           -> VoltumExprStubType("DEFER_EXPR", ::VoltumDeferExprImpl)
-    "TUPLE_EXPR"           -> VoltumExprStubType("TUPLE_EXPR", ::VoltumTupleExprImpl)
-    "RANGE_EXPR"           -> VoltumExprStubType("RANGE_EXPR", ::VoltumRangeExprImpl)
-    "AWAIT_EXPR"           -> VoltumExprStubType("AWAIT_EXPR", ::VoltumAwaitExprImpl)
+    "PATH"                 -> VoltumExprStubType("PATH")
+    "CALL_EXPR"            -> VoltumExprStubType("CALL_EXPR")
+    "RETURN_EXPR"          -> VoltumExprStubType("RETURN_EXPR")
+    "BREAK_EXPR"           -> VoltumExprStubType("BREAK_EXPR")
+    "CONTINUE_EXPR"        -> VoltumExprStubType("CONTINUE_EXPR")
+    "DEFER_EXPR"           -> VoltumExprStubType("DEFER_EXPR")
+    "TUPLE_EXPR"           -> VoltumExprStubType("TUPLE_EXPR")
+    "RANGE_EXPR"           -> VoltumExprStubType("RANGE_EXPR")
+    "AWAIT_EXPR"           -> VoltumExprStubType("AWAIT_EXPR")
 
-    "LITERAL_EXPR"         -> VoltumExprStubType("LITERAL_EXPR", ::VoltumLiteralExprImpl)
-    "LITERAL_BOOL"         -> VoltumExprStubType("LITERAL_BOOL", ::VoltumLiteralBoolImpl)
-    "LITERAL_FLOAT"        -> VoltumExprStubType("LITERAL_FLOAT", ::VoltumLiteralFloatImpl)
-    "LITERAL_INT"          -> VoltumExprStubType("LITERAL_INT", ::VoltumLiteralIntImpl)
-    "LITERAL_NULL"         -> VoltumExprStubType("LITERAL_NULL", ::VoltumLiteralNullImpl)
-    "LITERAL_STRING"       -> VoltumExprStubType("LITERAL_STRING", ::VoltumLiteralStringImpl)
+    "LITERAL_EXPR"         -> VoltumExprStubType("LITERAL_EXPR")
+    "LITERAL_BOOL"         -> VoltumExprStubType("LITERAL_BOOL")
+    "LITERAL_FLOAT"        -> VoltumExprStubType("LITERAL_FLOAT")
+    "LITERAL_INT"          -> VoltumExprStubType("LITERAL_INT")
+    "LITERAL_NULL"         -> VoltumExprStubType("LITERAL_NULL")
+    "LITERAL_STRING"       -> VoltumExprStubType("LITERAL_STRING")
     /* 
     
     "LIST"                      -> VoltumExprStubType("LIST", ::VoltumListImpl)
@@ -1,6 +1,8 @@
 package com.voltum.voltumscript.lang.stubs
 
 import com.intellij.psi.stubs.IndexSink
+import com.intellij.psi.stubs.StubElement
+import com.voltum.voltumscript.ext.VoltumQualifiedName
 import com.voltum.voltumscript.lang.index.IndexKeys
 import com.voltum.voltumscript.psi.VoltumFunctionStub
 import com.voltum.voltumscript.psi.VoltumTypeDeclarationStub
@@ -11,13 +13,31 @@ private fun IndexSink.indexNamedStub(stub: VoltumNamedStub) {
     stub.name?.let { occurrence(IndexKeys.NAMED_ELEMENTS, it) }
 }
 
+/**
+ * Top level declarations only: `name`, or `module.name` in std module files. Nested declarations aren't reachable
+ * through a dotted path.
+ */
+private fun qualifiedNameOf(stub: StubElement<*>, name: String?): VoltumQualifiedName? {
+    if (name.isNullOrEmpty()) return null
+    val file = stub.parentStub as? VoltumFileStub ?: return null
+    return VoltumQualifiedName.fromComponents(listOfNotNull(file.moduleName, name))
+}
+
 fun IndexSink.indexFunction(stub: VoltumFunctionStub) {
     indexNamedStub(stub)
+    qualifiedNameOf(stub, stub.name)?.let { occurrence(IndexKeys.QUALIFIED_NAMES, it.toString()) }
 }
 
 fun IndexSink.indexTypeDeclaration(stub: VoltumTypeDeclarationStub) {
     indexNamedStub(stub)
     stub.name?.let { occurrence(IndexKeys.TYPE_DECLARATIONS, it) }
+    stub.memberNames.forEach { occurrence(IndexKeys.MEMBERS, it) }
+
+    qualifiedNameOf(stub, stub.name)?.let { qName ->
+        occurrence(IndexKeys.QUALIFIED_NAMES, qName.toString())
+        // `module.Type.member` points at the owner, see VoltumQualifiedNameIndex.resolve
+        stub.memberNames.forEach { occurrence(IndexKeys.QUALIFIED_NAMES, qName.append(it).toString()) }
+    }
 
     stub.prototype?.let { prototype ->
         prototype.aliasNames.forEach {
@@ -29,4 +49,5 @@ fun IndexSink.indexTypeDeclaration(stub: VoltumTypeDeclarationStub) {
 
 fun IndexSink.indexVariableDeclaration(stub: VoltumVariableDeclarationStub) {
     indexNamedStub(stub)
+    qualifiedNameOf(stub, stub.name)?.let { occurrence(IndexKeys.QUALIFIED_NAMES, it.toString()) }
 }
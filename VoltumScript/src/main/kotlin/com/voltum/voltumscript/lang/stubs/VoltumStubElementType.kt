@@ -135,8 +135,12 @@ abstract class VoltumStubElementType<StubT : StubElement<*>, PsiT : PsiElement>(
     override fun indexStub(stub: StubT, sink: IndexSink) {}
 }
 
+/** Expressions never have stubs ([VoltumExprStubType]), so they are skipped when looking for the parent */
 fun createStubIfParentIsStub(node: ASTNode): Boolean {
-    val parent = node.treeParent
+    var parent = node.treeParent
+    while (parent.elementType is VoltumExprStubType) {
+        parent = parent.treeParent
+    }
     val parentType = parent.elementType
     return (parentType is IStubElementType<*, *> && parentType.shouldCreateStub(parent)) ||
             parentType is IStubFileElementType<*>
@@ -0,0 +1,75 @@
+package com.voltum.voltumscript.lang.stubs
+
+import com.intellij.psi.stubs.StubElement
+import com.intellij.psi.stubs.StubInputStream
+import com.intellij.psi.stubs.StubOutputStream
+import com.voltum.voltumscript.ext.readVarInt
+import com.voltum.voltumscript.ext.writeVarInt
+import com.voltum.voltumscript.lang.types.Ty
+import com.voltum.voltumscript.lang.types.TyReader
+import com.voltum.voltumscript.lang.types.TyWriter
+import java.util.*
+
+/** A stub which stores types, they go into the [VoltumTypeTable] of its file */
+interface VoltumTypedStub {
+    val storedTypes: List<Ty?>
+}
+
+/**
+ * The types of all stubs of one file, written once with the [VoltumFileStub] (which is serialized before its
+ * children) as one type graph. Stubs only store the index of their type, see [writeStubType] and [readStubType];
+ * so a type used by several stubs, or nested in another one, is written and read once per file.
+ */
+class VoltumTypeTable private constructor(private val types: List<Ty>) {
+    private val indexes = IdentityHashMap<Ty, Int>(types.size).apply {
+        types.forEachIndexed { index, ty -> put(ty, index) }
+    }
+
+    val size: Int get() = types.size
+
+    /** 0 stands for no type, table entries start at 1 */
+    fun indexOf(ty: Ty?): Int {
+        if (ty == null) return 0
+        val index = indexes[ty] ?: error("$ty is not in the type table of its file")
+        return index + 1
+    }
+
+    operator fun get(index: Int): Ty? = if (index == 0) null else types[index - 1]
+
+    fun write(stream: StubOutputStream) {
+        stream.writeVarInt(types.size)
+        val writer = TyWriter(stream)
+        types.forEach { writer.write(it) }
+    }
+
+    companion object {
+        val EMPTY = VoltumTypeTable(emptyList())
+
+        fun collect(root: StubElement<*>): VoltumTypeTable {
+            // Types don't override equals, so this dedupes by identity
+            val types = LinkedHashSet<Ty>()
+            fun visit(stub: StubElement<*>) {
+                (stub as? VoltumTypedStub)?.storedTypes?.forEach { if (it != null) types.add(it) }
+                stub.childrenStubs.forEach { visit(it) }
+            }
+            visit(root)
+            return if (types.isEmpty()) EMPTY else VoltumTypeTable(types.toList())
+        }
+
+        fun read(stream: StubInputStream): VoltumTypeTable {
+            val size = stream.readVarInt()
+            if (size == 0) return EMPTY
+            val reader = TyReader(stream)
+            return VoltumTypeTable(List(size) { reader.read()!! })
+        }
+    }
+}
+
+private val StubElement<*>?.fileTypeTable: VoltumTypeTable
+    get() = generateSequence(this) { it.parentStub }.firstNotNullOf { it as? VoltumFileStub }.typeTable
+
+/** Writes the index of [ty] in the type table of the file [stub] belongs to */
+fun StubOutputStream.writeStubType(stub: StubElement<*>, ty: Ty?) = writeVarInt(stub.fileTypeTable.indexOf(ty))
+
+/** Reads a type written by [writeStubType], [parentStub] is the parent of the stub being read */
+fun StubInputStream.readStubType(parentStub: StubElement<*>?): Ty? = parentStub.fileTypeTable[readVarInt()]
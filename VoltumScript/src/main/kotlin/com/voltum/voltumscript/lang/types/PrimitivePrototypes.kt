@@ -18,7 +18,7 @@ class TyBool : TyPrimitive() {
 
     companion object : TyCompanion<TyBool> {
         override val INSTANCE = TyBool().apply { setAsDefault(true) }
-        override val typeConstructor get() = DefaultTypeCtor(this, { TyBool() })
+        override val typeConstructor get() = InternedTypeCtor { INSTANCE }
     }
 }
 
@@ -28,7 +28,7 @@ class TyString : TyPrimitive() {
 
     companion object : TyCompanion<TyString> {
         override val INSTANCE = TyString().apply { setAsDefault(true) }
-        override val typeConstructor get() = DefaultTypeCtor(this, { TyString() })
+        override val typeConstructor get() = InternedTypeCtor { INSTANCE }
     }
 }
 
@@ -38,7 +38,7 @@ class TyNull : TyPrimitive() {
 
     companion object : TyCompanion<TyNull> {
         override val INSTANCE = TyNull().apply { setAsDefault(true) }
-        override val typeConstructor get() = DefaultTypeCtor(this, { TyNull() })
+        override val typeConstructor get() = InternedTypeCtor { INSTANCE }
     }
 }
 
@@ -48,7 +48,7 @@ class TyUnit : TyPrimitive() {
 
     companion object : TyCompanion<TyUnit> {
         override val INSTANCE = TyUnit().apply { setAsDefault(true) }
-        override val typeConstructor get() = DefaultTypeCtor(this, { TyUnit() })
+        override val typeConstructor get() = InternedTypeCtor { INSTANCE }
     }
 }
 
@@ -15,10 +15,11 @@ import com.voltum.voltumscript.ext.*
 import com.voltum.voltumscript.psi.*
 import com.voltum.voltumscript.psi.ext.createCachedResult
 import com.voltum.voltumscript.runtime.std.types.TypeMeta
+import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap
 import java.lang.ref.SoftReference
+import java.util.concurrent.atomic.AtomicLong
 import kotlin.properties.ReadWriteProperty
 import kotlin.reflect.KProperty
-import kotlin.reflect.full.primaryConstructor
 
 val PROTOTYPE_TYPE_KEY: Key<CachedValue<Ty>> = Key.create("PROTOTYPE_TYPE_KEY")
 val PROTOTYPE_VALUE_KEY: Key<SoftReference<Ty>> = Key.create("PROTOTYPE_VALUE_KEY")
@@ -101,6 +102,18 @@ fun VoltumLiteralExpr.tryResolveType(): Ty? {
 
 private var idCounter: AtomicInteger = AtomicInteger(0)
 
+/**
+ * Clock for the per type modification stamps: a type whose members or prototype change takes the next value,
+ * so the newest stamp along a prototype chain moves whenever anything on that chain changes.
+ */
+private val tyModificationClock = AtomicLong(0)
+
+/**
+ * All members visible on a type (own + inherited through the prototype chain), nearest declaration wins.
+ * The origin type of every entry is [TyField.owner]. [stamp] is the [Ty.chainModificationStamp] it was built at.
+ */
+class TyMemberTable(val stamp: Long, val members: Map<String, TyField>)
+
 interface TyCompanion<T : Ty> {
     val INSTANCE: T
     val typeConstructor: TypeConstructorTyped<T>
@@ -131,6 +144,11 @@ class DefaultTypeCtor<T : Ty>(
     }
 }
 
+/** Hands out a shared, interned instance instead of building one per element, see [TyInterner] */
+class InternedTypeCtor<T : Ty>(val internFn: (PsiElement?) -> T) : TypeConstructorTyped<T> {
+    override fun createTyped(el: PsiElement?): T = internFn.invoke(el)
+}
+
 class TypeConstructorFromPrototype<T : Ty>(
     var proto: () -> T?,
     val ctorFn: (PsiElement?) -> T?
@@ -152,23 +170,42 @@ abstract class Ty : KindFlags {
             _name = value
         }
     
-    var aliasNames = mutableListOf<String>()
+    var aliasNames: List<String> = emptyList()
 
     override var flags: PrototypeFlags = 0
 
+    /** Always null on interned types (see [TyInterner]), they are shared between elements */
     var linkedElement: PsiElement? = null
-    var linkedToField: TyField? = null
 
     var isDefaultType: Boolean by TypeFlagsDelegate(PrototypeFlag.IS_DEFAULT_PROTOTYPE)
     var isTypeLocked: Boolean by TypeFlagsDelegate(PrototypeFlag.IS_PROTOTYPE_LOCKED)
     var hasTypeParameter: Boolean by TypeFlagsDelegate(PrototypeFlag.HAS_TYPE_PARAMETER)
 
     var prototype: Ty? = null
+        set(value) {
+            field = value
+            touch()
+        }
+
+    @Volatile
+    private var modificationStamp: Long = 0
 
     var id: Int = 0
     val kind: TyKind get() = TyKind.fromClass(this::class)
 
-    val members: MutableMap<String, TyField> = mutableMapOf()
+    /**
+     * Allocated with the first member; most types (literals, references, primitives) never get one. Small tables are
+     * array backed and only switch to hashing past [ARRAY_MEMBERS_LIMIT] entries.
+     */
+    private var _members: MutableMap<String, TyField>? = null
+
+    /** Members declared on this type only, see [allMembers] for the ones inherited from the prototype chain */
+    val members: Map<String, TyField> get() = _members ?: emptyMap()
+
+    @Volatile
+    private var memberTable: TyMemberTable? = null
+
+    val allMembers: Map<String, TyField> get() = memberTable().members
 
     val fields get() = members.values.filter { it.kind == TyFieldKind.FIELD }
     val methods get() = members.values.filter { it.kind == TyFieldKind.METHOD }
@@ -194,33 +231,18 @@ abstract class Ty : KindFlags {
         }
     }
 
-    open fun serialize(dataStream: StubOutputStream) {
-        dataStream.writeEnum(kind)
-        dataStream.writeInt(id)
-        dataStream.writeUTFFast(name)
-        dataStream.writeInt(flags)
-
-//        dataStream.writeMap(
-//            fields,
-//            { dataStream.writeUTF(it) },
-//            { it.serialize(dataStream) }
-//        )
-    }
-
-    open fun deserialize(dataStream: StubInputStream) {
-
-    }
-
     override fun toString(): String {
         return "${this::class.simpleName}(id=$id, name=$name, flags=${PrototypeFlag.dump(flags)})"
     }
 
+    /** Safe to run again on the same type, members are replaced by name and the prototype is only linked once */
     open fun configure(meta: TypeMeta, el: PsiElement) {
         modifyUnlocked {
             name = meta.name
 
-            if (meta.superTypeMeta != null && meta.superTypeMeta?.type != null) {
-                addToPrototype(meta.superTypeMeta?.type)
+            val superType = meta.superTypeMeta?.type
+            if (superType != null && prototype !== superType) {
+                addToPrototype(superType)
             }
             if (el is VoltumTypeDeclaration) {
                 addTypeDeclarationData(el)
@@ -276,21 +298,30 @@ abstract class Ty : KindFlags {
     }
 
     fun addField(name: String, ty: Lazy<Ty?>, kind: TyFieldKind = TyFieldKind.FIELD): TyField {
-        val field = TyField(this, name, ty, kind, { field, t ->
-             if (t?.linkedToField == null)
-                t?.linkedToField = field
-        })
+        val field = TyField(this, name, ty, kind)
 
         if (isTypeLocked) {
             logger.error("Type[${this}] is locked, cannot add field")
             return field
         }
 
-        members[name] = field
+        putMember(name, field)
+        touch()
 
         return field
     }
 
+    private fun putMember(name: String, field: TyField) {
+        val current = _members
+        val target: MutableMap<String, TyField> = when {
+            current == null                                                                 -> Object2ObjectArrayMap(2)
+            current is Object2ObjectArrayMap<*, *> && current.size >= ARRAY_MEMBERS_LIMIT -> HashMap(current)
+            else                                                                            -> current
+        }
+        target[name] = field
+        _members = target
+    }
+
     fun addField(name: String, ty: Ty?, kind: TyFieldKind = TyFieldKind.FIELD): TyField = addField(name, lazy { ty }, kind)
 
     fun addMethod(name: String, ty: Ty): TyField = addField(name, ty, TyFieldKind.METHOD)
@@ -340,16 +371,53 @@ abstract class Ty : KindFlags {
         }
     }
 
-    fun getField(name: String): TyField? {
-        prototypeChain().forEach {
-            if (it.members.containsKey(name)) {
-                return it.members[name]
-            }
+    fun getField(name: String): TyField? = memberTable().members[name]
+
+    fun hasField(name: String): Boolean = memberTable().members.containsKey(name)
+
+    private fun touch() {
+        modificationStamp = tyModificationClock.incrementAndGet()
+    }
+
+    /**
+     * Newest modification stamp along the prototype chain; changes to unrelated types don't move it.
+     * A cyclic chain is cut by [MAX_PROTOTYPE_DEPTH].
+     */
+    fun chainModificationStamp(): Long {
+        var stamp = modificationStamp
+        var p = prototype
+        var depth = 0
+        while (p != null && p !== this && depth++ < MAX_PROTOTYPE_DEPTH) {
+            stamp = maxOf(stamp, p.modificationStamp)
+            p = p.prototype
         }
-        return null
+        return stamp
     }
 
-    fun hasField(name: String): Boolean = prototypeChain().any { it.members.containsKey(name) }
+    private fun memberTable(): TyMemberTable {
+        // Read the stamp before building; if something changes meanwhile we just rebuild on the next lookup
+        val stamp = chainModificationStamp()
+        val current = memberTable
+        if (current != null && current.stamp == stamp) {
+            return current
+        }
+
+        // Without own members the table is the one of the nearest prototype which has some: share its map, and cache
+        // it under this type's stamp so later lookups don't walk the chain again
+        if (_members.isNullOrEmpty()) {
+            val owner = prototypeChain().firstOrNull { it.members.isNotEmpty() }
+            return TyMemberTable(stamp, owner?.memberTable()?.members ?: emptyMap()).also { memberTable = it }
+        }
+
+        val flattened = HashMap<String, TyField>()
+        for (ty in prototypeChain()) {
+            for ((name, field) in ty.members) {
+                flattened.putIfAbsent(name, field)
+            }
+        }
+
+        return TyMemberTable(stamp, flattened).also { memberTable = it }
+    }
 
     open fun dump(writer: Printer? = null) {
         val w = writer ?: Printer()
@@ -381,27 +449,11 @@ abstract class Ty : KindFlags {
     companion object {
         val logger = thisLogger()
 
-        fun deserialize(dataStream: StubInputStream): Ty? {
-            if (!dataStream.readBoolean()) {
-                return null
-            }
-
-            val kind = dataStream.readEnum<TyKind>()
-            val id = dataStream.readInt()
-            val name = dataStream.readUTFFast()
-            val flags = dataStream.readInt()
-
-            val inst = kind.classType.primaryConstructor?.let {
-                val t = it.call()
-                t.id = id
-                t.name = name
-                t.flags = flags
-                t.deserialize(dataStream)
-                return t
-            }
+        private const val ARRAY_MEMBERS_LIMIT = 8
+        private const val MAX_PROTOTYPE_DEPTH = 64
 
-            return inst
-        }
+        /** Reads a type written by [serializeType], see [TyCodecs] */
+        fun deserialize(dataStream: StubInputStream): Ty? = TyCodecs.read(dataStream)
 
         fun getFromElement(el: PsiElement): Ty? {
             if (el is VoltumLiteralExpr && el.parent is VoltumLiteralExpr) {
@@ -444,11 +496,8 @@ class TyUnknown : Ty() {
 
     companion object : TyCompanion<TyUnknown> {
         override val INSTANCE = TyUnknown().apply { setAsDefault(true) }
-        override val typeConstructor get() = DefaultTypeConstructor(::TyUnknown)
+        override val typeConstructor get() = InternedTypeCtor { INSTANCE }
     }
 }
 
-fun serializeType(dataStream: StubOutputStream, ty: Ty?) {
-    dataStream.writeBoolean(ty != null)
-    ty?.serialize(dataStream)
-}
\ No newline at end of file
+fun serializeType(dataStream: StubOutputStream, ty: Ty?) = TyCodecs.write(dataStream, ty)
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.voltum.voltumscript.lang.types
 
 import com.intellij.psi.PsiElement
-import com.voltum.voltumscript.lang.types.TyObject.Companion
 
 class TyArray : TyValue {
     override var name: String = "array"
@@ -11,6 +10,6 @@ class TyArray : TyValue {
 
     companion object : TyCompanion<TyArray> {
         override val INSTANCE = TyArray().apply { setAsDefault(true) }
-        override val typeConstructor get() = DefaultTypeCtor(this, { if (it == null) TyArray() else TyArray(it) })
+        override val typeConstructor get() = InternedTypeCtor { INSTANCE }
     }
 }
\ No newline at end of file
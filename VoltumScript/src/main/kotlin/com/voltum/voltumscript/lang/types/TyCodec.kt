@@ -0,0 +1,162 @@
+package com.voltum.voltumscript.lang.types
+
+import com.intellij.psi.stubs.StubInputStream
+import com.intellij.psi.stubs.StubOutputStream
+import com.voltum.voltumscript.ext.readNameAsString
+import com.voltum.voltumscript.ext.readVarInt
+import com.voltum.voltumscript.ext.writeVarInt
+import java.io.IOException
+import java.util.*
+
+/**
+ * Binary format of the types of one [TyKind] inside stubs.
+ *
+ * Reading happens in two steps so a type graph can point back at a type which is still being read: [create] makes
+ * the (empty) instance, which is registered before [read] fills it in.
+ */
+abstract class TyCodec<T : Ty>(val kind: TyKind) {
+    abstract fun create(): T
+
+    open fun write(ty: T, output: TyWriter) {}
+
+    open fun read(ty: T, input: TyReader) {}
+}
+
+/** Kinds which only ever exist as their shared instance, nothing but the kind is written */
+class SharedTyCodec<T : Ty>(kind: TyKind, private val companion: TyCompanion<T>) : TyCodec<T>(kind) {
+    override fun create(): T = companion.INSTANCE
+}
+
+/** Kinds with their own instances, writes the name and the flags */
+open class NamedTyCodec<T : Ty>(kind: TyKind, private val factory: () -> T) : TyCodec<T>(kind) {
+    override fun create(): T = factory()
+
+    override fun write(ty: T, output: TyWriter) {
+        output.stream.writeName(ty.name)
+        output.stream.writeVarInt(ty.flags)
+    }
+
+    override fun read(ty: T, input: TyReader) {
+        ty.name = input.stream.readNameAsString() ?: ""
+        ty.flags = input.stream.readVarInt()
+    }
+}
+
+object TyFunctionCodec : NamedTyCodec<TyFunction>(TyKind.Function, ::TyFunction) {
+    override fun write(ty: TyFunction, output: TyWriter) {
+        super.write(ty, output)
+        output.stream.writeName(ty.returnTypeName)
+        output.stream.writeVarInt(ty.params.size)
+        for (param in ty.params) {
+            output.stream.writeName(param.name)
+            output.write(param.type.value)
+        }
+        output.stream.writeVarInt(ty.typeParameters.size)
+        for (typeParameter in ty.typeParameters) {
+            output.stream.writeName(typeParameter.name)
+        }
+    }
+
+    override fun read(ty: TyFunction, input: TyReader) {
+        super.read(ty, input)
+        ty.returnTypeName = input.stream.readNameAsString() ?: ""
+        repeat(input.stream.readVarInt()) {
+            val name = input.stream.readNameAsString()!!
+            val type = input.read()
+            ty.params.add(TyFunctionParam(name, lazyOf(type)))
+        }
+        repeat(input.stream.readVarInt()) {
+            ty.typeParameters.add(TyTypeParameter(input.stream.readNameAsString()!!))
+        }
+    }
+}
+
+/**
+ * Writes one type graph; a type seen before in the same graph is written as a back reference to it.
+ */
+class TyWriter(val stream: StubOutputStream) {
+    private val written = IdentityHashMap<Ty, Int>()
+
+    fun write(ty: Ty?) {
+        if (ty == null) {
+            stream.writeByte(TyCodecs.TAG_NULL)
+            return
+        }
+        val index = written[ty]
+        if (index != null) {
+            stream.writeByte(TyCodecs.TAG_BACK_REFERENCE)
+            stream.writeVarInt(index)
+            return
+        }
+
+        // Classes without a kind of their own (type references, the generic number) are stored as unknown
+        @Suppress("UNCHECKED_CAST")
+        val codec = TyCodecs[ty.kind] as TyCodec<Ty>
+        written[ty] = written.size
+        stream.writeByte(TyCodecs.TAG_TYPE)
+        stream.writeByte(codec.kind.ordinal)
+        codec.write(ty, this)
+    }
+}
+
+class TyReader(val stream: StubInputStream) {
+    private val read = ArrayList<Ty>()
+
+    fun read(): Ty? = when (val tag = stream.readUnsignedByte()) {
+        TyCodecs.TAG_NULL           -> null
+        TyCodecs.TAG_BACK_REFERENCE -> read[stream.readVarInt()]
+        TyCodecs.TAG_TYPE           -> {
+            val kind = TyKind.entries.getOrNull(stream.readUnsignedByte()) ?: throw IOException("Unknown type kind")
+            @Suppress("UNCHECKED_CAST")
+            val codec = TyCodecs[kind] as TyCodec<Ty>
+            codec.create().also {
+                read.add(it)
+                codec.read(it, this)
+            }
+        }
+
+        else                        -> throw IOException("Unknown type tag $tag")
+    }
+}
+
+/**
+ * Registry of the per kind codecs used for types stored in stubs.
+ *
+ * Bump [VERSION] with any change to the format of a codec, it is part of the stub version.
+ */
+object TyCodecs {
+    const val VERSION = 2
+
+    const val TAG_NULL = 0
+    const val TAG_BACK_REFERENCE = 1
+    const val TAG_TYPE = 2
+
+    private val codecs = arrayOfNulls<TyCodec<*>>(TyKind.entries.size)
+
+    init {
+        register(SharedTyCodec(TyKind.Unknown, TyUnknown))
+        register(SharedTyCodec(TyKind.Null, TyNull))
+        register(SharedTyCodec(TyKind.Unit, TyUnit))
+        register(SharedTyCodec(TyKind.Bool, TyBool))
+        register(SharedTyCodec(TyKind.String, TyString))
+        register(SharedTyCodec(TyKind.Array, TyArray))
+        register(SharedTyCodec(TyKind.Int32, TyInt32))
+        register(SharedTyCodec(TyKind.Int64, TyInt64))
+        register(SharedTyCodec(TyKind.Double, TyDouble))
+        register(SharedTyCodec(TyKind.Float, TyFloat))
+        register(NamedTyCodec(TyKind.Object, ::TyObject))
+        register(TyFunctionCodec)
+        register(NamedTyCodec(TyKind.Struct, ::TyStruct))
+    }
+
+    fun register(codec: TyCodec<*>) {
+        codecs[codec.kind.ordinal] = codec
+    }
+
+    /** Falls back to the [TyKind.Unknown] codec */
+    operator fun get(kind: TyKind): TyCodec<*> = codecs[kind.ordinal] ?: codecs[TyKind.Unknown.ordinal]!!
+
+    fun write(stream: StubOutputStream, ty: Ty?) = TyWriter(stream).write(ty)
+
+    fun read(stream: StubInputStream): Ty? = TyReader(stream).read()
+}
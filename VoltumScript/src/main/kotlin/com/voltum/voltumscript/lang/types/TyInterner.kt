@@ -0,0 +1,41 @@
+package com.voltum.voltumscript.lang.types
+
+import com.intellij.psi.PsiElement
+import com.intellij.util.containers.CollectionFactory
+import com.voltum.voltumscript.psi.VoltumLiteralFloat
+import com.voltum.voltumscript.psi.VoltumLiteralInt
+
+/**
+ * Hash consing for the types which are fully described by their structure: primitives, arrays and type references.
+ *
+ * Those used to be allocated again for every literal and every type reference each time inference ran, now one
+ * locked instance per structure is shared. Anything handed out from here must not be modified.
+ */
+object TyInterner {
+    private val kindReferences: Array<TyReference> by lazy {
+        Array(TyKind.entries.size) { TyReference(TyKind.entries[it]).apply { setLocked() } }
+    }
+
+    /** Weak on both sides; the reference holds its target, so it must not keep the entry alive on its own */
+    private val tyReferences = CollectionFactory.createConcurrentWeakKeyWeakValueMap<Ty, TyReference>()
+
+    fun reference(kind: TyKind): TyReference = kindReferences[kind.ordinal]
+
+    fun reference(ty: Ty): TyReference =
+        tyReferences[ty] ?: tyReferences.computeIfAbsent(ty) { TyReference(it).apply { setLocked() } }
+
+    /** The narrowest number type the literal's value fits in */
+    fun number(el: PsiElement?): TyNumber {
+        if (el is VoltumLiteralInt) {
+            val text = el.valueInteger.text
+            if (text?.toIntOrNull() != null) return TyInt32.INSTANCE
+            if (text?.toLongOrNull() != null) return TyInt64.INSTANCE
+        }
+        if (el is VoltumLiteralFloat) {
+            val text = el.valueFloat.text
+            if (text?.toFloatOrNull() != null) return TyFloat.INSTANCE
+            if (text?.toDoubleOrNull() != null) return TyDouble.INSTANCE
+        }
+        return TyNumber.INSTANCE
+    }
+}
@@ -5,10 +5,7 @@ package com.voltum.voltumscript.lang.types
 import com.intellij.psi.PsiElement
 import com.intellij.psi.tree.IElementType
 import com.voltum.voltumscript.psi.VoltumTypes
-import java.lang.reflect.Field
 import kotlin.reflect.KClass
-import kotlin.reflect.full.companionObject
-import kotlin.reflect.full.companionObjectInstance
 
 enum class TyKind(
     val classType: KClass<out Ty>,
@@ -20,7 +17,7 @@ enum class TyKind(
     Unit(TyUnit::class, listOf(), false),
     Bool(TyBool::class, listOf(VoltumTypes.LITERAL_BOOL), false),
     String(TyString::class, listOf(VoltumTypes.LITERAL_STRING), false),
-    Array(TyArray::class, listOf(VoltumTypes.LIST_VALUE), true),
+    Array(TyArray::class, listOf(VoltumTypes.LIST_VALUE), false),
     Int32(TyInt32::class, listOf(VoltumTypes.LITERAL_INT), false),
     Int64(TyInt64::class, listOf(VoltumTypes.LITERAL_INT), false),
     Double(TyDouble::class, listOf(VoltumTypes.LITERAL_FLOAT), false),
@@ -32,9 +29,22 @@ enum class TyKind(
     Struct(TyStruct::class, listOf(VoltumTypes.TYPE_DECLARATION), true),
     ;
 
-    val companionObject: TyCompanion<*>? by lazy {
-        classType.companionObjectInstance as? TyCompanion<*> ?: return@lazy null
-    }
+    val companionObject: TyCompanion<*>
+        get() = when (this) {
+            Unknown  -> TyUnknown
+            Null     -> TyNull
+            Unit     -> TyUnit
+            Bool     -> TyBool
+            String   -> TyString
+            Array    -> TyArray
+            Int32    -> TyInt32
+            Int64    -> TyInt64
+            Double   -> TyDouble
+            Float    -> TyFloat
+            Object   -> TyObject
+            Function -> TyFunction
+            Struct   -> TyStruct
+        }
     /* val instanceField: Field? by lazy {
          classType.java.getDeclaredField("INSTANCE").apply {
              isAccessible = true
@@ -49,8 +59,8 @@ enum class TyKind(
      }*/
 
     //    val typeConstructor: TypeConstructor? get() = typeConstructorField?.get(classType.companionObjectInstance) as TypeConstructor?
-    val typeConstructor: TypeConstructor?
-        get() = companionObject?.typeConstructor
+    val typeConstructor: TypeConstructor
+        get() = companionObject.typeConstructor
 
     fun <T : Ty> createInstance(el: PsiElement? = null, namePrefix: kotlin.String? = null): T? {
         if (!constructable) {
@@ -59,10 +69,10 @@ enum class TyKind(
             //field.isAccessible = true
             //val result =  field.get(classType.companionObjectInstance) as T?
             //return result
-            return companionObject?.INSTANCE as? T
+            return companionObject.INSTANCE as? T
         }
 
-        val inst = typeConstructor?.create(el) as T?
+        val inst = typeConstructor.create(el) as T?
         if (namePrefix != null && inst != null) {
             inst.name = namePrefix + inst.name
         }
@@ -117,18 +127,20 @@ class TyReference : Ty {
     }
 
     override var name: String
-    var type: ReferenceType = ReferenceType.FromKind
-    var referenceToKind: TyKind? = null
-    var referenceTo: Ty? = null
+    val type: ReferenceType
+    val referenceToKind: TyKind?
+    val referenceTo: Ty?
 
     constructor(referenceToKind: TyKind, name: String = "reference") : super() {
         this.type = ReferenceType.FromKind
         this.referenceToKind = referenceToKind
+        this.referenceTo = null
         this.name = name
     }
 
     constructor(ty: Ty?, name: String = "reference(resolved)") : super() {
         this.type = ReferenceType.FromTy
+        this.referenceToKind = null
         this.referenceTo = ty
         this.name = name
     }
@@ -9,8 +9,6 @@ enum class TyFieldKind {
 }
 
 class TyField {
-    private var _onResolve: (TyField, Ty?) -> Unit
-
     val owner: Ty
     val name: String
 
@@ -19,36 +17,33 @@ class TyField {
     }
 
     var ty: Ty?
-        get() {
-            val ty = _ty.value
-            _onResolve(this, ty)
-            return ty
-        }
+        get() = _ty.value
         set(value) {
             _ty = lazy { value }
-            _onResolve(this, value)
         }
     
     val lazyTy: Lazy<Ty?> get() = _ty
 
     val kind: TyFieldKind
 
-    constructor(owner: Ty, name: String, ty: Ty?, kind: TyFieldKind = TyFieldKind.FIELD, onResolve: (TyField, Ty?) -> Unit = { _, _ -> }) {
+    constructor(owner: Ty, name: String, ty: Ty?, kind: TyFieldKind = TyFieldKind.FIELD) {
         this.owner = owner
         this.name = name
         this._ty = ty?.let { lazy { it } } ?: lazy { null }
         this.kind = kind
-        this._onResolve = onResolve
     }
 
-    constructor(owner: Ty, name: String, ty: Lazy<Ty?>, kind: TyFieldKind = TyFieldKind.FIELD, onResolve: (TyField, Ty?) -> Unit = { _, _ -> }) {
+    constructor(owner: Ty, name: String, ty: Lazy<Ty?>, kind: TyFieldKind = TyFieldKind.FIELD) {
         this.owner = owner
         this.name = name
         this._ty = ty
         this.kind = kind
-        this._onResolve = onResolve
     }
 
+    /**
+     * The declaring member or dictionary field. Resolve members through this rather than through [ty],
+     * the type may be an interned instance shared by every member of that type.
+     */
     var linkedElement: VoltumElement? = null
 
     fun serialize(dataStream: StubOutputStream) {
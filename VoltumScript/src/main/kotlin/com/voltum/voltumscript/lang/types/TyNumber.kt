@@ -2,8 +2,6 @@ package com.voltum.voltumscript.lang.types
 
 import com.intellij.psi.PsiElement
 import com.intellij.psi.tree.IElementType
-import com.voltum.voltumscript.psi.VoltumLiteralFloat
-import com.voltum.voltumscript.psi.VoltumLiteralInt
 import com.voltum.voltumscript.psi.VoltumTypes
 
 open class TyNumber : TyPrimitive {
@@ -15,28 +13,7 @@ open class TyNumber : TyPrimitive {
 
     companion object : TyCompanion<TyNumber> {
         override val INSTANCE = TyNumber().apply { setAsDefault(true) }
-        override val typeConstructor
-            get() = DefaultTypeCtor(this, {
-                if (it is VoltumLiteralInt) {
-                    if (it.valueInteger.text?.toIntOrNull() != null)
-                        return@DefaultTypeCtor TyInt32.typeConstructor.createTyped(it)                    
-                    if (it.valueInteger.text?.toLongOrNull() != null)
-                        return@DefaultTypeCtor TyInt64.typeConstructor.createTyped(it)
-                }
-                
-                if (it is VoltumLiteralFloat) {
-                    if (it.valueFloat.text?.toFloatOrNull() != null)
-                        return@DefaultTypeCtor TyFloat.typeConstructor.createTyped(it)                    
-                    if (it.valueFloat.text?.toDoubleOrNull() != null)
-                        return@DefaultTypeCtor TyDouble.typeConstructor.createTyped(it)
-                }
-
-                if (it == null)
-                    return@DefaultTypeCtor TyNumber()
-
-                return@DefaultTypeCtor TyNumber(it)
-            })
-
+        override val typeConstructor get() = InternedTypeCtor(TyInterner::number)
 
         val all get() = listOf<TyNumber>(TyInt32.INSTANCE, TyInt64.INSTANCE, TyDouble.INSTANCE, TyFloat.INSTANCE, TyNumber.INSTANCE)
         val default get() = TyInt32.INSTANCE
@@ -52,7 +29,7 @@ class TyInt32 : TyNumber {
 
     companion object : TyCompanion<TyInt32> {
         override val INSTANCE = TyInt32().apply { setAsDefault(true) }
-        override val typeConstructor get() = DefaultTypeCtor(this, { if (it == null) TyInt32() else TyInt32(it) })
+        override val typeConstructor get() = InternedTypeCtor { INSTANCE }
     }
 }
 
@@ -65,7 +42,7 @@ class TyInt64 : TyNumber {
 
     companion object : TyCompanion<TyInt64> {
         override val INSTANCE = TyInt64().apply { setAsDefault(true) }
-        override val typeConstructor get() = DefaultTypeCtor(this, { if (it == null) TyInt64() else TyInt64(it) })
+        override val typeConstructor get() = InternedTypeCtor { INSTANCE }
     }
 }
 
@@ -78,7 +55,7 @@ class TyDouble : TyNumber {
 
     companion object : TyCompanion<TyDouble> {
         override val INSTANCE = TyDouble().apply { setAsDefault(true) }
-        override val typeConstructor get() = DefaultTypeCtor(this, { if (it == null) TyDouble() else TyDouble(it) })
+        override val typeConstructor get() = InternedTypeCtor { INSTANCE }
     }
 }
 
@@ -91,6 +68,6 @@ class TyFloat : TyNumber {
 
     companion object : TyCompanion<TyFloat> {
         override val INSTANCE = TyFloat().apply { setAsDefault(true) }
-        override val typeConstructor get() = DefaultTypeCtor(this, { if (it == null) TyFloat() else TyFloat(it) })
+        override val typeConstructor get() = InternedTypeCtor { INSTANCE }
     }
 }
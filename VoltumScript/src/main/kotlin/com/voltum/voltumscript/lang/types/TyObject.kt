@@ -1,8 +1,6 @@
 package com.voltum.voltumscript.lang.types
 
 import com.intellij.psi.PsiElement
-import com.intellij.psi.stubs.StubInputStream
-import com.intellij.psi.stubs.StubOutputStream
 import com.intellij.psi.tree.IElementType
 import com.intellij.psi.util.parentOfType
 import com.voltum.voltumscript.ext.buildPrinter
@@ -98,7 +96,7 @@ class TyFunction : TyObject {
             returnType = lazy {
                 var rt = rtTypeRef?.tryResolveType()
                 if (rtTypeRef == null) {
-                    rt = TyReference(TyKind.Unit)
+                    rt = TyInterner.reference(TyKind.Unit)
                 }
                 rt
             }
@@ -107,40 +105,6 @@ class TyFunction : TyObject {
         }
     }
 
-    override fun serialize(dataStream: StubOutputStream) {
-        super.serialize(dataStream)
-        dataStream.writeBoolean(hasTypeParameter)
-        dataStream.writeInt(params.size)
-        params.forEach {
-            dataStream.writeName(it.name)
-            serializeType(dataStream, it.type.value)
-        }
-
-        dataStream.writeInt(typeParameters.size)
-        typeParameters.forEach {
-            dataStream.writeName(it.name)
-        }
-    }
-
-    override fun deserialize(dataStream: StubInputStream) {
-        super.deserialize(dataStream)
-        hasTypeParameter = dataStream.readBoolean()
-
-        val paramCount = dataStream.readInt()
-        repeat(paramCount) {
-            val name = dataStream.readNameString()
-            val type = Ty.deserialize(dataStream)
-            params.add(TyFunctionParam(name!!, lazy { type }))
-        }
-
-        val typeParamCount = dataStream.readInt()
-        repeat(typeParamCount) {
-            val name = dataStream.readNameString()
-            typeParameters.add(TyTypeParameter(name!!))
-        }
-
-    }
-
     override fun getCorrectFoldElement(el: PsiElement): PsiElement {
         if(el is VoltumCallExpr) {
             return el
@@ -0,0 +1,240 @@
+package com.voltum.voltumscript.lang.types
+
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.components.service
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Disposer
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicReferenceArray
+import kotlin.reflect.KClass
+
+val Project.typeRegistry: VoltumTypeRegistry get() = service()
+
+/**
+ * Registers types in a [VoltumTypeRegistry] on demand, the first time one of their names is looked up.
+ * The std lib is one, its modules are only loaded once something asks for a name they declare.
+ */
+fun interface LazyTypeSource {
+    /** Registers the types declaring [name], if this source knows it; returns false for unknown names */
+    fun materialize(name: String): Boolean
+}
+
+/**
+ * Per project registry of the known prototypes (default types, std lib types, user declared types).
+ *
+ * Type names are interned to dense ids, the types themselves live in an array indexed by that id which only
+ * registration writes to (under a lock) and which is only copied when it has to grow; lookups never take a lock.
+ *
+ * The default types are per project copies of the `INSTANCE` singletons: std configuration adds members and aliases
+ * to them, which must not leak into other projects. See [projectType].
+ */
+@Service(Service.Level.PROJECT)
+class VoltumTypeRegistry(val project: Project) {
+    companion object {
+        val log = logger<VoltumTypeRegistry>()
+
+        fun getInstance(project: Project): VoltumTypeRegistry = project.typeRegistry
+
+        private fun createDefaultTypes(): List<Ty> = listOf(
+            TyUnknown(),
+            TyBool(),
+            TyInt32(),
+            TyInt64(),
+            TyDouble(),
+            TyFloat(),
+            TyString(),
+            TyNull(),
+            TyUnit(),
+            TyObject(),
+            TyStruct(),
+            TyArray(),
+            TyFunction(),
+        ).onEach { it.setAsDefault(true) }
+    }
+
+    private val lock = Any()
+
+    private val nameIds = ConcurrentHashMap<String, Int>()
+    private val nextNameId = AtomicInteger(0)
+
+    /** Indexed by the interned name id, written in place under [lock] and only replaced when it grows */
+    @Volatile
+    private var table = AtomicReferenceArray<Ty?>(64)
+
+    private val typeById = ConcurrentHashMap<Int, Ty>()
+    private val defaultTypeMap = ConcurrentHashMap<String, Ty>()
+    private val defaultTypeByClass = ConcurrentHashMap<KClass<out Ty>, Ty>()
+
+    /** Holds alias name -> type name */
+    private val typeAliases = ConcurrentHashMap<String, String>()
+
+    private val lazySources = CopyOnWriteArrayList<LazyTypeSource>()
+
+    init {
+        addAll(createDefaultTypes())
+    }
+
+    /**
+     * Returns the interned id for [name], allocating one if the name wasn't seen before.
+     * Ids are stable for the lifetime of the registry, even over [reset].
+     */
+    fun internName(name: String): Int = nameIds[name] ?: nameIds.computeIfAbsent(name) { nextNameId.getAndIncrement() }
+
+    operator fun get(id: Int): Ty? = typeById[id]
+
+    operator fun get(name: String): Ty? {
+        find(name)?.let { return it }
+        // Not registered yet, it may belong to a lazily materialized source (std lib modules)
+        if (!materialize(name)) return null
+        return find(name)
+    }
+
+    private fun find(name: String): Ty? {
+        val nameId = nameIds[name] ?: return null
+        return byNameId(nameId)
+    }
+
+    fun byNameId(nameId: Int): Ty? {
+        val current = table
+        return if (nameId < current.length()) current[nameId] else null
+    }
+
+    /**
+     * This project's copy of a default type: literals, stubs and interned types use the JVM wide `INSTANCE`s,
+     * members added by the std lib only exist on the copy. Any other type is returned as is.
+     */
+    fun projectType(ty: Ty): Ty {
+        if (!ty.isDefaultType) return ty
+        return defaultTypeByClass[ty::class] ?: ty
+    }
+
+    /**
+     * Looks [name] up among the default and already registered types only.
+     * Never materializes a lazy source, it runs while building stubs where other files' PSI must not be loaded.
+     */
+    fun tryGetDefaultType(name: String): Ty? {
+        return defaultTypeMap[name] ?: defaultTypeMap[name.lowercase()] ?: find(name) ?: find(name.lowercase())
+    }
+
+    /** [Ty.getField], also seeing what the std lib added to this project's copies of the default types on the chain */
+    fun findMember(ty: Ty, name: String): TyField? {
+        val defaults = projectDefaults(ty)
+        return ty.getField(name) ?: defaults.firstNotNullOfOrNull { it.getField(name) }
+    }
+
+    /** [Ty.allMembers] plus the members of this project's copies of the default types on the chain, nearest wins */
+    fun allMembers(ty: Ty): Map<String, TyField> {
+        val defaults = projectDefaults(ty).filter { it.allMembers.isNotEmpty() }
+        if (defaults.isEmpty()) return ty.allMembers
+
+        val members = HashMap(ty.allMembers)
+        defaults.forEach { copy -> copy.allMembers.forEach { (name, field) -> members.putIfAbsent(name, field) } }
+        return members
+    }
+
+    /**
+     * Copies of the JVM wide default types on the chain; a copy already on the chain is covered by its member table.
+     *
+     * The std module declaring a default type's members is materialized first, whether or not the copy is on the chain,
+     * otherwise `"abc".length` would only resolve once something else happened to load the string module.
+     */
+    private fun projectDefaults(ty: Ty): List<Ty> =
+        ty.prototypeChain().filter { it.isDefaultType }.mapNotNull { default ->
+            val copy = projectType(default)
+            materialize(copy.name)
+            copy.takeIf { it !== default }
+        }.toList()
+
+    fun getOrCompute(name: String, compute: () -> Ty): Ty {
+        get(name)?.let { return it }
+        synchronized(lock) {
+            find(name)?.let { return it }
+            val computed = compute()
+            put(computed)
+            return computed
+        }
+    }
+
+    fun add(type: Ty) {
+        synchronized(lock) {
+            put(type)
+        }
+    }
+
+    fun addAll(types: Collection<Ty>) {
+        if (types.isEmpty()) return
+        synchronized(lock) {
+            types.forEach { put(it) }
+        }
+    }
+
+    /**
+     * Registers a source of types which are only built once a name from it is looked up;
+     * [LazyTypeSource.materialize] has to register them in this registry.
+     */
+    fun registerLazySource(parentDisposable: Disposable, source: LazyTypeSource) {
+        lazySources.add(source)
+        Disposer.register(parentDisposable) { lazySources.remove(source) }
+    }
+
+    /** Makes sure the types a lazy source declares for [name] are registered, returns whether any source knows the name */
+    fun materialize(name: String): Boolean {
+        for (source in lazySources) {
+            if (source.materialize(name)) return true
+        }
+        return false
+    }
+
+    fun addAlias(alias: String, typeName: String) {
+        typeAliases[alias] = typeName
+    }
+
+    fun resolveAlias(alias: String): String? = typeAliases[alias]
+
+    /** Drops everything except the default types; interned ids are kept */
+    fun reset() {
+        synchronized(lock) {
+            log.info("Resetting type registry for ${project.name}")
+            table = AtomicReferenceArray(table.length())
+            typeById.clear()
+            defaultTypeMap.clear()
+            defaultTypeByClass.clear()
+            typeAliases.clear()
+            addAll(createDefaultTypes())
+        }
+    }
+
+    val types: List<Ty>
+        get() {
+            val current = table
+            return (0 until current.length()).mapNotNull { current[it] }
+        }
+
+    operator fun iterator(): Iterator<Ty> = types.iterator()
+
+    /** Callers hold [lock] */
+    private fun put(type: Ty) {
+        val nameId = internName(type.name)
+        ensureCapacity(nameId + 1)
+        table[nameId] = type
+        typeById[type.id] = type
+        if (type.isDefaultType) {
+            defaultTypeMap[type.name] = type
+            defaultTypeByClass.putIfAbsent(type::class, type)
+        }
+    }
+
+    private fun ensureCapacity(size: Int) {
+        val current = table
+        if (size <= current.length()) return
+        val next = AtomicReferenceArray<Ty?>(maxOf(size, current.length() * 2))
+        for (i in 0 until current.length()) {
+            next[i] = current[i]
+        }
+        table = next
+    }
+}
@@ -1,6 +1,27 @@
 package com.voltum.voltumscript.lexer
 
 import com.intellij.lexer.FlexAdapter
+import com.intellij.lexer.RestartableLexer
+import com.intellij.lexer.TokenIterator
 import com.voltum.voltumscript.VoltumLexer
 
-class VoltumLexerAdapter : FlexAdapter(VoltumLexer(null)) 
\ No newline at end of file
+/**
+ * Every token of [VoltumLexer] starts in `YYINITIAL`. Block comments (nested ones included) and doc comment runs only
+ * switch states while they are being matched and return to `YYINITIAL` before the token is produced, and strings are
+ * single tokens. So lexing can restart at any token boundary, which is what the editor highlighter and the body
+ * reparse look for when relexing near an edit.
+ */
+class VoltumLexerAdapter : FlexAdapter(VoltumLexer(null)), RestartableLexer {
+
+    override fun start(buffer: CharSequence, startOffset: Int, endOffset: Int, initialState: Int) {
+        (flex as VoltumLexer).resetCommentState()
+        super.start(buffer, startOffset, endOffset, initialState)
+    }
+
+    override fun start(buffer: CharSequence, startOffset: Int, endOffset: Int, initialState: Int, tokenIterator: TokenIterator?) =
+        start(buffer, startOffset, endOffset, initialState)
+
+    override fun getStartState(): Int = VoltumLexer.YYINITIAL
+
+    override fun isRestartableState(state: Int): Boolean = state == VoltumLexer.YYINITIAL
+}
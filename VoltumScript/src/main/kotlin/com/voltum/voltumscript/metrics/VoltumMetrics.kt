@@ -0,0 +1,242 @@
+@file:OptIn(ExperimentalContracts::class)
+
+package com.voltum.voltumscript.metrics
+
+import com.google.gson.GsonBuilder
+import com.voltum.voltumscript.ext.Printer
+import java.lang.ref.WeakReference
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+import kotlin.contracts.ExperimentalContracts
+import kotlin.contracts.InvocationKind
+import kotlin.contracts.contract
+
+/**
+ * Counters and latency histograms for the hot paths (resolve, inference, ...).
+ *
+ * Disabled by default (`-Dvoltum.metrics=true` or the toggle action turns it on); when disabled [measure] is a
+ * single volatile read around the block. Each thread records into its own histogram, they are only merged when
+ * a [snapshot] is taken, so recording never contends.
+ */
+object VoltumMetrics {
+    @Volatile
+    @JvmStatic
+    var isEnabled: Boolean = java.lang.Boolean.getBoolean("voltum.metrics")
+
+    private val operations = ConcurrentHashMap<String, Operation>()
+    private val counters = ConcurrentHashMap<String, LongAdder>()
+
+    /** Hold on to the result for hot paths, it saves the map lookup per call */
+    fun operation(name: String): Operation = operations[name] ?: operations.computeIfAbsent(name) { Operation(it) }
+
+    fun increment(name: String, delta: Long = 1) {
+        if (!isEnabled) return
+        (counters[name] ?: counters.computeIfAbsent(name) { LongAdder() }).add(delta)
+    }
+
+    fun snapshot(): MetricsSnapshot = MetricsSnapshot(
+        operations.values.map { it.snapshot() }.filter { it.count > 0 }.sortedByDescending { it.totalMs },
+        counters.entries.associateTo(sortedMapOf()) { it.key to it.value.sum() }
+    )
+
+    fun reset() {
+        operations.values.forEach { it.reset() }
+        counters.values.forEach { it.reset() }
+    }
+
+    fun toJson(): String = GsonBuilder().setPrettyPrinting().create().toJson(snapshot())
+
+    /**
+     * Latency histogram of one operation. Buckets are log-linear: 16 linear sub-buckets per power of two,
+     * which keeps every percentile within ~6% of the recorded value at a fixed size.
+     */
+    class Operation internal constructor(val name: String) {
+        private val recorders = ConcurrentLinkedQueue<Recorder>()
+
+        /** Counts of the recorders whose thread has ended, folded in by [pruneRecorders]; guarded by itself */
+        private val retired = Recorder(owner = null)
+
+        private val local = ThreadLocal.withInitial {
+            // Pooled threads come and go, a new one is when the recorders of the ended ones are worth folding
+            pruneRecorders()
+            Recorder(Thread.currentThread()).also { recorders.add(it) }
+        }
+
+        /** Recorders of threads still running, the ones of ended threads live on in [retired] only */
+        internal val recorderCount: Int get() = recorders.size
+
+        /**
+         * Moves the counts of every recorder whose thread has ended into [retired] and drops the recorder.
+         * An ended thread doesn't record anymore, and seeing it ended makes its last writes visible here.
+         */
+        private fun pruneRecorders() {
+            synchronized(retired) {
+                val iterator = recorders.iterator()
+                while (iterator.hasNext()) {
+                    val recorder = iterator.next()
+                    if (recorder.isOwnerAlive) continue
+                    retired.add(recorder)
+                    iterator.remove()
+                }
+            }
+        }
+
+        fun record(nanos: Long) {
+            local.get().record(nanos)
+        }
+
+        inline fun <T> measure(block: () -> T): T {
+            contract {
+                callsInPlace(block, InvocationKind.EXACTLY_ONCE)
+            }
+            if (!isEnabled) return block()
+            val start = System.nanoTime()
+            try {
+                return block()
+            } finally {
+                record(System.nanoTime() - start)
+            }
+        }
+
+        fun snapshot(): OperationSnapshot {
+            pruneRecorders()
+            val merged = Recorder(owner = null)
+            synchronized(retired) { merged.add(retired) }
+            recorders.forEach { merged.add(it) }
+            val buckets = merged.buckets
+            val count = merged.count
+            val total = merged.total
+            val max = merged.max
+
+            fun percentile(p: Double): Double {
+                if (count == 0L) return 0.0
+                val rank = Math.ceil(count * p).toLong().coerceAtLeast(1)
+                var seen = 0L
+                for (i in buckets.indices) {
+                    seen += buckets[i]
+                    if (seen >= rank) return micros(minOf(bucketUpperBound(i), max))
+                }
+                return micros(max)
+            }
+
+            return OperationSnapshot(
+                name = name,
+                count = count,
+                totalMs = total / 1_000_000.0,
+                meanUs = if (count == 0L) 0.0 else micros(total / count),
+                p50Us = percentile(0.50),
+                p90Us = percentile(0.90),
+                p99Us = percentile(0.99),
+                maxUs = micros(max),
+            )
+        }
+
+        internal fun reset() {
+            recorders.forEach { it.reset() }
+            synchronized(retired) { retired.reset() }
+        }
+    }
+
+    /**
+     * Written by its [owner] thread only; readers may see a slightly stale state, which is fine for metrics.
+     * Weak, so a recorder never keeps an ended thread alive.
+     */
+    private class Recorder(owner: Thread?) {
+        private val owner = owner?.let { WeakReference(it) }
+
+        val isOwnerAlive: Boolean get() = owner?.get()?.isAlive == true
+
+        val buckets = LongArray(BUCKET_COUNT)
+        var count = 0L
+        var total = 0L
+        var max = 0L
+
+        fun record(nanos: Long) {
+            val value = nanos.coerceAtLeast(0)
+            buckets[bucketIndex(value)]++
+            count++
+            total += value
+            if (value > max) max = value
+        }
+
+        fun add(other: Recorder) {
+            for (i in buckets.indices) buckets[i] += other.buckets[i]
+            count += other.count
+            total += other.total
+            max = maxOf(max, other.max)
+        }
+
+        fun reset() {
+            buckets.fill(0)
+            count = 0
+            total = 0
+            max = 0
+        }
+    }
+
+    private const val SUB_BUCKET_BITS = 4
+    private const val SUB_BUCKETS = 1 shl SUB_BUCKET_BITS
+
+    /** Values above 2^MAX_EXPONENT ns (~18 minutes) land in the last bucket */
+    private const val MAX_EXPONENT = 40
+    private const val BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS
+
+    internal fun bucketIndex(value: Long): Int {
+        if (value < SUB_BUCKETS) return value.toInt()
+        val exponent = 63 - java.lang.Long.numberOfLeadingZeros(value)
+        if (exponent > MAX_EXPONENT) return BUCKET_COUNT - 1
+        val subBucket = (value ushr (exponent - SUB_BUCKET_BITS)).toInt() and (SUB_BUCKETS - 1)
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket
+    }
+
+    internal fun bucketUpperBound(index: Int): Long {
+        if (index < SUB_BUCKETS) return index.toLong()
+        val exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1
+        val subBucket = index % SUB_BUCKETS
+        val shift = exponent - SUB_BUCKET_BITS
+        return ((SUB_BUCKETS + subBucket + 1).toLong() shl shift) - 1
+    }
+
+    private fun micros(nanos: Long): Double = nanos / TimeUnit.MICROSECONDS.toNanos(1).toDouble()
+}
+
+data class OperationSnapshot(
+    val name: String,
+    val count: Long,
+    val totalMs: Double,
+    val meanUs: Double,
+    val p50Us: Double,
+    val p90Us: Double,
+    val p99Us: Double,
+    val maxUs: Double,
+)
+
+data class MetricsSnapshot(
+    val operations: List<OperationSnapshot>,
+    val counters: Map<String, Long>,
+) {
+    fun debugString(w: Printer) {
+        w.ln("Operations:")
+        for (op in operations) {
+            w.ln(
+                "  ${op.name}: count=${op.count}, total=%.2fms, mean=%.1fus, p50=%.1fus, p90=%.1fus, p99=%.1fus, max=%.1fus"
+                    .format(op.totalMs, op.meanUs, op.p50Us, op.p90Us, op.p99Us, op.maxUs)
+            )
+        }
+        w.ln("Counters:")
+        for ((name, value) in counters) {
+            w.ln("  $name: $value")
+        }
+    }
+}
+
+/** Records the duration of [block] under [name] when metrics are enabled */
+inline fun <T> measure(name: String, block: () -> T): T {
+    contract {
+        callsInPlace(block, InvocationKind.EXACTLY_ONCE)
+    }
+    if (!VoltumMetrics.isEnabled) return block()
+    return VoltumMetrics.operation(name).measure(block)
+}
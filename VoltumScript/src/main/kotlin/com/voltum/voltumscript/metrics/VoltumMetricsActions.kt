@@ -0,0 +1,52 @@
+package com.voltum.voltumscript.metrics
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.application.PathManager
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.ide.CopyPasteManager
+import com.intellij.openapi.project.DumbAwareAction
+import com.intellij.openapi.project.DumbAwareToggleAction
+import com.voltum.voltumscript.ext.Printer
+import java.awt.datatransfer.StringSelection
+import kotlin.io.path.div
+import kotlin.io.path.writeText
+
+class ToggleMetricsAction : DumbAwareToggleAction() {
+    override fun getActionUpdateThread(): ActionUpdateThread = ActionUpdateThread.BGT
+
+    override fun isSelected(e: AnActionEvent): Boolean = VoltumMetrics.isEnabled
+
+    override fun setSelected(e: AnActionEvent, state: Boolean) {
+        VoltumMetrics.isEnabled = state
+    }
+}
+
+/** Logs the current metrics and exports them as json to the log directory (and the clipboard) */
+class DumpMetricsAction : DumbAwareAction() {
+    companion object {
+        val log = logger<DumpMetricsAction>()
+    }
+
+    override fun getActionUpdateThread(): ActionUpdateThread = ActionUpdateThread.BGT
+
+    override fun actionPerformed(e: AnActionEvent) {
+        val printer = Printer()
+        VoltumMetrics.snapshot().debugString(printer)
+        log.warn(printer.toString())
+
+        val json = VoltumMetrics.toJson()
+        val file = PathManager.getLogDir() / "voltum-metrics.json"
+        file.writeText(json)
+        CopyPasteManager.getInstance().setContents(StringSelection(json))
+        log.warn("Metrics exported to $file")
+    }
+}
+
+class ResetMetricsAction : DumbAwareAction() {
+    override fun getActionUpdateThread(): ActionUpdateThread = ActionUpdateThread.BGT
+
+    override fun actionPerformed(e: AnActionEvent) {
+        VoltumMetrics.reset()
+    }
+}
@@ -55,6 +55,10 @@ val PREFIX_AND_POSTFIX_OPERATORS = tokenSetOf(
     MINUSMINUS,
 )
 
+val ASSIGNMENT_OPERATORS = tokenSetOf(
+    EQ, PLUSEQ, MINUSEQ, MULEQ, DIVEQ, REMEQ, ANDEQ, OREQ, XOREQ, GTGTEQ, LTLTEQ,
+)
+
 val OPERATORS = tokenSetOf(
     OR, AND, EXCL, EQ, EXCLEQ, EQEQ, PLUSEQ, PLUS, PLUSPLUS,
     MINUSEQ, MINUS, MINUSMINUS, OREQ, ANDAND, ANDEQ, LT, XOREQ, XOR, MULEQ, MUL,
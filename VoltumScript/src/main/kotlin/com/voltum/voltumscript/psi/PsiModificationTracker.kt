@@ -26,10 +26,15 @@ interface VoltumModificationTrackerOwner : VoltumElement {
     fun incModificationCount(element: PsiElement): Boolean
 }
 
+/**
+ * Finds the nearest item (function or type declaration) and returns it if it owns a local tracker;
+ * a change inside a type declaration is a structure change, so `null` is returned for it.
+ */
 fun PsiElement.findModificationTrackerOwner(strict: Boolean): VoltumModificationTrackerOwner? {
     return findContextOfTypeWithoutIndexAccess(
         strict,
-        VoltumElement::class,
+        VoltumFuncDeclaration::class,
+        VoltumTypeDeclaration::class,
     ) as? VoltumModificationTrackerOwner
 }
 
@@ -7,7 +7,7 @@ import com.voltum.voltumscript.lang.index.IndexKeys
 import com.voltum.voltumscript.lang.stubs.*
 import com.voltum.voltumscript.lang.types.*
 
-class VoltumDictionaryStub : VoltumPlaceholderStub<VoltumDictionaryValue> {
+class VoltumDictionaryStub : VoltumPlaceholderStub<VoltumDictionaryValue>, VoltumTypedStub {
     constructor(
         parent: StubElement<*>?,
         elementType: IStubElementType<*, *>,
@@ -19,6 +19,8 @@ class VoltumDictionaryStub : VoltumPlaceholderStub<VoltumDictionaryValue> {
 
     var prototype: Ty? = null
 
+    override val storedTypes: List<Ty?> get() = listOf(prototype)
+
     object Type : VoltumStubElementType<VoltumDictionaryStub, VoltumDictionaryValue>(
         "DICTIONARY"
     ) {
@@ -41,14 +43,14 @@ class VoltumDictionaryStub : VoltumPlaceholderStub<VoltumDictionaryValue> {
                 this,
                 dataStream.readName()?.string,
             ).apply {
-                prototype = Ty.deserialize(dataStream)
+                prototype = dataStream.readStubType(parentStub)
             }
         }
 
         override fun serialize(stub: VoltumDictionaryStub, dataStream: StubOutputStream) =
             with(dataStream) {
                 writeName(stub.name)
-                serializeType(dataStream, stub.prototype)
+                writeStubType(stub, stub.prototype)
             }
 
         override fun indexStub(stub: VoltumDictionaryStub, sink: IndexSink) {
@@ -59,10 +61,12 @@ class VoltumDictionaryStub : VoltumPlaceholderStub<VoltumDictionaryValue> {
     override fun toString(): String = "${javaClass.simpleName}( name=$name )"
 }
 
-class VoltumDictionaryFieldStub : VoltumPlaceholderStub<VoltumDictionaryField> {
+class VoltumDictionaryFieldStub : VoltumPlaceholderStub<VoltumDictionaryField>, VoltumTypedStub {
 
     var type: Ty? = null
 
+    override val storedTypes: List<Ty?> get() = listOf(type)
+
     constructor(
         parent: StubElement<*>?,
         elementType: IStubElementType<*, *>,
@@ -93,7 +97,7 @@ class VoltumDictionaryFieldStub : VoltumPlaceholderStub<VoltumDictionaryField> {
                 parentStub,
                 this,
                 dataStream.readName()?.string,
-                Ty.deserialize(dataStream),
+                dataStream.readStubType(parentStub),
             ).apply {
             }
         }
@@ -101,7 +105,7 @@ class VoltumDictionaryFieldStub : VoltumPlaceholderStub<VoltumDictionaryField> {
         override fun serialize(stub: VoltumDictionaryFieldStub, dataStream: StubOutputStream) =
             with(dataStream) {
                 writeName(stub.name)
-                serializeType(dataStream, stub.type)
+                writeStubType(stub, stub.type)
             }
 
         override fun indexStub(stub: VoltumDictionaryFieldStub, sink: IndexSink) {
@@ -25,7 +25,6 @@ abstract class VoltumExprMixin : VoltumStubbedElementImpl<VoltumPlaceholderStub<
     //abstract class VoltumExprMixin : VoltumElementImpl, VoltumExpr {
 //    constructor(el: IElementType) : super(el)
     constructor(node: ASTNode) : super(node)
-    constructor(stub: VoltumPlaceholderStub<*>, elementType: IStubElementType<*, *>) : super(stub, elementType)
 
     override fun getReference(): VoltumReference? = VoltumPsiUtilImpl.getReference(this)
     override fun getReferences(): Array<VoltumReference> = VoltumPsiUtilImpl.getReferences(this)
@@ -40,7 +39,6 @@ abstract class VoltumExprMixin : VoltumStubbedElementImpl<VoltumPlaceholderStub<
 
 abstract class VoltumBinaryExprMixin : VoltumExprImpl, VoltumBinaryExpr {
     constructor(node: ASTNode) : super(node)
-    constructor(stub: VoltumPlaceholderStub<*>, elementType: IStubElementType<*, *>) : super(stub, elementType)
 
     override fun toDisplayString(): String = "(${left.text} ${operator.toDisplayString()} ${right?.text})"
 
@@ -51,7 +49,6 @@ abstract class VoltumBinaryExprMixin : VoltumExprImpl, VoltumBinaryExpr {
 
 abstract class VoltumPrefixExprMixin : VoltumExprImpl, VoltumPrefixExpr {
     constructor(node: ASTNode) : super(node)
-    constructor(stub: VoltumPlaceholderStub<*>, elementType: IStubElementType<*, *>) : super(stub, elementType)
 
     override fun getOperator(): PsiElement = notNullChild(findChildByType(PREFIX_AND_POSTFIX_OPERATORS))
     override fun toDisplayString(): String = "( ${getOperator().text} ${expr.text})"
@@ -63,7 +60,6 @@ abstract class VoltumPrefixExprMixin : VoltumExprImpl, VoltumPrefixExpr {
 
 abstract class VoltumPostfixExprMixin : VoltumExprImpl, VoltumPostfixExpr {
     constructor(node: ASTNode) : super(node)
-    constructor(stub: VoltumPlaceholderStub<*>, elementType: IStubElementType<*, *>) : super(stub, elementType)
     
     override fun getOperator(): PsiElement = notNullChild(findChildByType(PREFIX_AND_POSTFIX_OPERATORS))
     override fun toDisplayString(): String = "( ${expr.text} ${getOperator().text} )"
@@ -127,7 +123,6 @@ abstract class VoltumRefExprMixin : /*VoltumStubbedElementImpl<VoltumPlaceholder
 
     //    constructor(el: IElementType) : super(el)
     constructor(node: ASTNode) : super(node)
-    constructor(stub: VoltumPlaceholderStub<*>, elementType: IStubElementType<*, *>) : super(stub, elementType)
 
     override fun getNameId(): VoltumIdent? = VoltumPsiUtilImpl.getNameId(this)
     override fun getNameIdentifier(): PsiElement? = VoltumPsiUtilImpl.getNameIdentifier(this)
@@ -145,7 +140,6 @@ abstract class VoltumRefExprMixin : /*VoltumStubbedElementImpl<VoltumPlaceholder
 abstract class VoltumLiteralMixin : VoltumStubbedElementImpl<VoltumPlaceholderStub<*>>, VoltumLiteralValue {
     //    constructor(el: IElementType) : super(el)
     constructor(node: ASTNode) : super(node)
-    constructor(stub: VoltumPlaceholderStub<*>, elementType: IStubElementType<*, *>) : super(stub, elementType)
 
     override var prototype: Ty
         get() = tryResolveType() ?: throw Exception("Cannot resolve type for literal")
@@ -168,7 +162,6 @@ abstract class VoltumLiteralMixin : VoltumStubbedElementImpl<VoltumPlaceholderSt
 abstract class VoltumListMixin : VoltumLiteralMixin, VoltumListValue {
     //    constructor(el: IElementType) : super(el)
     constructor(node: ASTNode) : super(node)
-    constructor(stub: VoltumPlaceholderStub<*>, elementType: IStubElementType<*, *>) : super(stub, elementType)
 
     override var prototype: Ty
         get() = TyObject.INSTANCE
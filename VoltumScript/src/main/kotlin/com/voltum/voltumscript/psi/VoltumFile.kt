@@ -13,12 +13,23 @@ import com.intellij.psi.util.PsiModificationTracker
 import com.intellij.psi.util.PsiTreeUtil
 import com.voltum.voltumscript.lang.VoltumFileType
 import com.voltum.voltumscript.lang.VoltumLanguage
+import com.voltum.voltumscript.runtime.RuntimeSettings
 
 
 class VoltumFile(viewProvider: FileViewProvider) : PsiFileBase(viewProvider, VoltumLanguage) {
 
     override fun getFileType(): FileType = VoltumFileType.INSTANCE
 
+    /**
+     * Name of the std module this file declares (its name without extension), null outside a std lib dir.
+     * Stored in the file stub, so it only depends on the file's own path, not on the runtime settings.
+     */
+    val stdModuleName: String?
+        get() {
+            val file = originalFile.virtualFile ?: return null
+            return if (file.parent?.name == RuntimeSettings.STD_LIB_DIR_NAME) file.nameWithoutExtension else null
+        }
+
     fun getDeclarations(): List<VoltumDeclaration> {
         val result = RecursionManager.doPreventingRecursion(this, true) {
             CachedValuesManager.getCachedValue(this) {
@@ -1,12 +1,17 @@
 package com.voltum.voltumscript.psi
 
 import com.intellij.lang.ASTNode
+import com.intellij.openapi.util.SimpleModificationTracker
 import com.intellij.psi.PsiElement
 import com.intellij.psi.ResolveState
 import com.intellij.psi.StubBasedPsiElement
 import com.intellij.psi.scope.PsiScopeProcessor
 import com.intellij.psi.stubs.*
+import com.intellij.psi.util.PsiTreeUtil
 import com.voltum.voltumscript.ext.flags.EnumFlagValueProxy
+import com.voltum.voltumscript.ext.readNameAsString
+import com.voltum.voltumscript.ext.readVarInt
+import com.voltum.voltumscript.ext.writeVarInt
 import com.voltum.voltumscript.lang.stubs.*
 import com.voltum.voltumscript.lang.types.Ty
 import com.voltum.voltumscript.lang.types.TyFunction
@@ -32,21 +37,61 @@ interface VoltumFunction : VoltumDeclaration, StubBasedPsiElement<VoltumFunction
 
 fun VoltumFunction.isAsync() = greenStub?.isAsync ?: hasChildOfType(VoltumTypes.ASYNC_KW)
 
+/**
+ * Declared signature of a function, read from the stub when there is one, so call resolution and parameter
+ * hints on unopened files never load the AST.
+ */
+val VoltumFunction.signature: VoltumFunctionSignature
+    get() = greenStub?.signature ?: VoltumFunctionSignature(
+        name,
+        getArguments().map { VoltumParameterSignature(it.nameIdentifier.text, it.type.text) },
+        getReturnType()?.text,
+        isAsync()
+    )
+
+data class VoltumParameterSignature(val name: String, val type: String)
+
+/**
+ * Types are kept as written in the source, resolving them is up to the caller.
+ */
+data class VoltumFunctionSignature(
+    val name: String,
+    val parameters: List<VoltumParameterSignature>,
+    val returnType: String?,
+    val isAsync: Boolean,
+) {
+    fun accepts(argumentCount: Int): Boolean = argumentCount == parameters.size
+
+    fun hasParameter(name: String): Boolean = parameters.any { it.name == name }
+
+    val parametersPresentation: String
+        get() = parameters.joinToString(", ", "(", ")") { it.name + " " + it.type }
+}
+
 class VoltumFunctionStub : VoltumStubWithAttributes<VoltumFunction>, VoltumNamedStub {
     override var name: String?
 
     var isAsync by EnumFlagValueProxy(flags, StubAttributes.IsAsync)
+    val parameters: List<VoltumParameterSignature>
+    val returnType: String?
 //    var prototype: Lazy<TyFunction?>? = null
 
+    val signature: VoltumFunctionSignature
+        get() = VoltumFunctionSignature(name ?: "", parameters, returnType, isAsync)
+
     constructor(
         parent: StubElement<*>?,
         elementType: IStubElementType<out StubElement<*>, *>?,
         name: String?,
         isAsync: Boolean,
+        parameters: List<VoltumParameterSignature>,
+        returnType: String?,
 //        prototype: Lazy<TyFunction?>?
     ) : super(parent, elementType) {
         this.name = name
         this.isAsync = isAsync
+        this.parameters = parameters
+        this.returnType = returnType
 //        this.prototype = prototype ?: lazy { null }
     }
 
@@ -60,6 +105,8 @@ class VoltumFunctionStub : VoltumStubWithAttributes<VoltumFunction>, VoltumNamed
                 this,
                 psi.name,
                 psi.isAsync(),
+                psi.getArguments().map { VoltumParameterSignature(it.nameIdentifier.text, it.type.text) },
+                psi.getReturnType()?.text,
 //                lazy { (psi.prototypeNullable ?: psi.tryResolveType()) as? TyFunction }
             )
         }
@@ -70,6 +117,10 @@ class VoltumFunctionStub : VoltumStubWithAttributes<VoltumFunction>, VoltumNamed
                 this,
                 dataStream.readName()?.string,
                 dataStream.readBoolean(),
+                List(dataStream.readVarInt()) {
+                    VoltumParameterSignature(dataStream.readNameAsString()!!, dataStream.readNameAsString()!!)
+                },
+                dataStream.readNameAsString(),
 //                (Ty.deserialize(dataStream) as? TyFunction)?.let { lazy { it } }
             )
         }
@@ -78,6 +129,12 @@ class VoltumFunctionStub : VoltumStubWithAttributes<VoltumFunction>, VoltumNamed
             with(dataStream) {
                 writeName(stub.name)
                 writeBoolean(stub.isAsync)
+                writeVarInt(stub.parameters.size)
+                stub.parameters.forEach {
+                    writeName(it.name)
+                    writeName(it.type)
+                }
+                writeName(stub.returnType)
 //                serializeType(dataStream, stub.prototype?.value)
             }
 
@@ -86,7 +143,8 @@ class VoltumFunctionStub : VoltumStubWithAttributes<VoltumFunction>, VoltumNamed
     }
 
 
-    override fun toString(): String = "${javaClass.simpleName}( name=$name, flags=$flags )"
+    override fun toString(): String =
+        "${javaClass.simpleName}( name=$name, flags=$flags, parameters=${signature.parametersPresentation}, returnType=$returnType )"
 }
 
 abstract class VoltumFunctionMixin :
@@ -99,7 +157,7 @@ abstract class VoltumFunctionMixin :
     override fun getStatement(): VoltumStatement? = findChildByType(VoltumTypes.STATEMENT)
 
     override fun hasArgumentWithName(name: String): Boolean =
-        getArguments().any { it.nameIdentifier.text == name }
+        signature.hasParameter(name)
 
 
     override fun getNameId(): VoltumIdent? = findChildByType(VoltumTypes.FUNC_ID)
@@ -134,6 +192,26 @@ abstract class VoltumFunctionMixin :
     }
 }
 
+/**
+ * Named function declarations own a local modification tracker; changes inside the body only bump it,
+ * so caches of other functions (and everything depending on the structure tracker only) survive.
+ */
+abstract class VoltumFuncDeclarationMixin : VoltumFunctionMixin, VoltumModificationTrackerOwner {
+
+    constructor(node: ASTNode) : super(node)
+    constructor(stub: VoltumFunctionStub, nodeType: IStubElementType<*, *>) : super(stub, nodeType)
+
+    override val modificationTracker: SimpleModificationTracker = SimpleModificationTracker()
+
+    override fun incModificationCount(element: PsiElement): Boolean {
+        val body = getBlockBody() ?: return false
+        val shouldInc = PsiTreeUtil.isAncestor(body, element, false) &&
+                PsiTreeUtil.findChildOfAnyType(element, false, VoltumFuncDeclaration::class.java, VoltumTypeDeclaration::class.java) == null
+        if (shouldInc) modificationTracker.incModificationCount()
+        return shouldInc
+    }
+}
+
 fun List<VoltumIdentifierWithType>.asPresentationString(): String {
     return joinToString(", ", "(", ")") {
         it.nameIdentifier.text + " " + it.type.text
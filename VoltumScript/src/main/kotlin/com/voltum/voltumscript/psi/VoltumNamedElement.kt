@@ -15,6 +15,7 @@ import com.intellij.psi.tree.IElementType
 import com.intellij.psi.util.parentOfType
 import com.voltum.voltumscript.lang.references.VoltumReference
 import com.voltum.voltumscript.lang.types.TyKind
+import com.voltum.voltumscript.lang.types.TyInterner
 import com.voltum.voltumscript.lang.types.TyReference
 import com.voltum.voltumscript.psi.ext.prototype
 import com.voltum.voltumscript.psi.ext.startOffset
@@ -202,11 +203,11 @@ abstract class VoltumTypeRefMixin : VoltumIdentifierMixin, VoltumReferenceElemen
         val idName = this.getId()?.text ?: return null
         val tyKind = TyKind.findByName(idName)
         if (tyKind != TyKind.Unknown) {
-            return TyReference(tyKind)
+            return TyInterner.reference(tyKind)
         }
 
         this.reference?.resolve()?.let {
-            return TyReference(it.prototype)
+            return TyInterner.reference(it.prototype)
         }
 
         return null
@@ -3,7 +3,6 @@ package com.voltum.voltumscript.psi
 import com.intellij.lang.ASTNode
 import com.intellij.navigation.ItemPresentation
 import com.intellij.psi.PsiElement
-import com.intellij.psi.stubs.IStubElementType
 import com.intellij.psi.util.PsiTreeUtil
 import com.voltum.voltumscript.ext.VoltumQualifiedName
 import com.voltum.voltumscript.lang.stubs.VoltumPlaceholderStub
@@ -16,7 +15,6 @@ interface VoltumQualifiedReferenceElement : VoltumReferenceElement {
 
 abstract class VoltumPathExprMixin : VoltumStubbedElementImpl<VoltumPlaceholderStub<*>>, VoltumPath {
     constructor(node: ASTNode) : super(node)
-    constructor(stub: VoltumPlaceholderStub<*>, elementType: IStubElementType<*, *>) : super(stub, elementType)
 
     val previewLeftMostQualifier get() = leftMostQualifier()?.text
     val previewTopMostPathParent get() = getTopMostPathParent()?.text
@@ -43,11 +41,9 @@ abstract class VoltumPathExprMixin : VoltumStubbedElementImpl<VoltumPlaceholderS
     override fun setName(name: String): PsiElement = VoltumPsiUtilImpl.setName(this, name)
     override fun getLookupElement() = VoltumPsiUtilImpl.getLookupElement(this)
 
+    /** Built from the path parts, so type arguments and whitespace in the text don't end up in the components */
     override val qualifiedPath: VoltumQualifiedName
-        get() {
-            val qualifiedName = VoltumQualifiedName.fromDottedString(text)
-            return qualifiedName
-        }
+        get() = VoltumQualifiedName.fromComponents(getPathParts().map { it.text })
 
     override fun leftMostQualifier(): PsiElement? {
         var result: PsiElement = this
@@ -111,7 +107,6 @@ abstract class VoltumPathExprMixin : VoltumStubbedElementImpl<VoltumPlaceholderS
 
 abstract class VoltumCallExprMixin : VoltumExprImpl, VoltumCallExpr {
     constructor(node: ASTNode) : super(node)
-    constructor(stub: VoltumPlaceholderStub<*>, elementType: IStubElementType<*, *>) : super(stub, elementType)
 
     override val requiresTypeSubstitution: Boolean
         get() = true // typeArguments.isNotEmpty() == true
@@ -152,3 +147,7 @@ abstract class VoltumCallExprMixin : VoltumExprImpl, VoltumCallExpr {
     }
 }
 
+
+/** Name of the called function, the last segment of the call path: `fn` for both `fn()` and `a.b.fn()` */
+val VoltumCallExpr.calleeName: String?
+    get() = path?.lastVarReference?.text
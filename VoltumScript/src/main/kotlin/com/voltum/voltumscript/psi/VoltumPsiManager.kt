@@ -16,12 +16,12 @@ import com.intellij.psi.*
 import com.intellij.psi.util.PsiModificationTracker
 import com.intellij.util.messages.MessageBusConnection
 import com.intellij.util.messages.Topic
-import com.voltum.voltumscript.ext.measureLogTime
-import com.voltum.voltumscript.ext.measureLogTimeWithDebugCtx
 import com.voltum.voltumscript.lang.VoltumFileType
 import com.voltum.voltumscript.psi.VoltumPsiManager.Companion.isIgnorePsiEvents
 import com.voltum.voltumscript.psi.VoltumPsiTreeChangeEvent.*
 import com.voltum.voltumscript.psi.ext.containingVoltumFileSkippingCodeFragments
+import com.voltum.voltumscript.runtime.std.StdLibConfiguredListener
+import com.voltum.voltumscript.runtime.std.VOLTUM_STD_LIB_CONFIGURED_TOPIC
 
 /** Don't subscribe directly or via plugin.xml lazy listeners. Use [VoltumPsiManager.subscribeVoltumStructureChange] */
 private val VOLTUM_STRUCTURE_CHANGE_TOPIC: Topic<VoltumStructureChangeListener> = Topic.create(
@@ -106,6 +106,12 @@ class VoltumPsiManagerImpl(val project: Project) : VoltumPsiManager, Disposable
                 incVoltumStructureModificationCount()
             }
         })
+        // Inference done before the std lib was available has to be redone
+        project.messageBus.connect(this).subscribe(VOLTUM_STD_LIB_CONFIGURED_TOPIC, object : StdLibConfiguredListener {
+            override fun stdLibConfigured() {
+                incVoltumStructureModificationCount()
+            }
+        })
         // project.messageBus.connect().subscribe(CargoProjectsService.CARGO_PROJECTS_TOPIC, CargoProjectsListener { _, _ ->
         //     incVoltumStructureModificationCount()
         // })
@@ -116,7 +122,7 @@ class VoltumPsiManagerImpl(val project: Project) : VoltumPsiManager, Disposable
     inner class CacheInvalidator : VoltumPsiTreeChangeAdapter() {
         
         override fun handleEvent(event: VoltumPsiTreeChangeEvent) {
-//            measureLogTimeWithDebugCtx("CacheInvalidator::handleEvent -> ${event.toStringSimple()}", event.toString()) {
+//            measure("psi.cacheInvalidator") {
                 internalHandleEvent(event)
 //            }
         }
@@ -0,0 +1,76 @@
+package com.voltum.voltumscript.psi
+
+import com.intellij.lang.ASTNode
+import com.intellij.lang.Language
+import com.intellij.lang.PsiBuilderFactory
+import com.intellij.openapi.project.Project
+import com.intellij.psi.impl.source.tree.SharedImplUtil
+import com.intellij.psi.tree.ICompositeElementType
+import com.intellij.psi.tree.ICustomParsingType
+import com.intellij.psi.tree.IElementType
+import com.intellij.psi.tree.IReparseableElementTypeBase
+import com.intellij.util.CharTable
+import com.voltum.voltumscript.ext.Testmark
+import com.voltum.voltumscript.ext.hitOnTrue
+import com.voltum.voltumscript.lang.VoltumLanguage
+import com.voltum.voltumscript.lexer.VoltumLexerAdapter
+import com.voltum.voltumscript.parser.VoltumParser
+import com.voltum.voltumscript.parser.VoltumParserDefinition
+import com.voltum.voltumscript.parser.compositeNodeFactory
+
+/**
+ * Element type of the brace delimited bodies (block bodies, type declaration bodies).
+ *
+ * The file parser builds these nodes eagerly like any other [VoltumElementType]. After an edit inside a body, the
+ * platform reparses just that body through [parse], as long as the new text is still one balanced `{ ... }` block,
+ * instead of reparsing and diffing the whole file. The rule must be an `extraRoot` of the grammar.
+ */
+class VoltumReparseableElementType(debugName: String) :
+    IElementType(debugName, VoltumLanguage),
+    ICompositeElementType,
+    IReparseableElementTypeBase,
+    ICustomParsingType {
+
+    override fun createCompositeNode(): ASTNode = compositeNodeFactory(this)
+
+    override fun isReparseable(currentNode: ASTNode, newText: CharSequence, fileLanguage: Language, project: Project): Boolean =
+        Testmarks.BodyReparsed.hitOnTrue(isBalancedBlock(newText))
+
+    override fun parse(text: CharSequence, table: CharTable): ASTNode {
+        val builder = PsiBuilderFactory.getInstance().createBuilder(VoltumParserDefinition(), VoltumLexerAdapter(), text)
+        return VoltumParser().parse(this, builder)
+    }
+
+    override fun parseContents(chameleon: ASTNode): ASTNode? =
+        parse(chameleon.chars, SharedImplUtil.findCharTableByTree(chameleon)).firstChildNode
+
+    object Testmarks {
+        /** An edit is reparsed within its body, not by a reparse of the file */
+        object BodyReparsed : Testmark()
+    }
+
+    companion object {
+        /**
+         * True when [text] lexes to a single `{ ... }` block: it opens with a brace, the braces balance, the closing
+         * one is the last token, and the lexer ends in its initial state (no unterminated comment).
+         */
+        fun isBalancedBlock(text: CharSequence): Boolean {
+            val lexer = VoltumLexerAdapter()
+            lexer.start(text)
+            if (lexer.tokenType != VoltumTypes.LCURLY) return false
+
+            var depth = 0
+            while (lexer.tokenType != null) {
+                when (lexer.tokenType) {
+                    VoltumTypes.LCURLY -> depth++
+                    VoltumTypes.RCURLY -> if (--depth == 0) {
+                        lexer.advance()
+                        return lexer.tokenType == null && lexer.state == 0
+                    }
+                }
+                lexer.advance()
+            }
+            return false
+        }
+    }
+}
@@ -8,25 +8,35 @@ import com.intellij.psi.stubs.*
 import com.intellij.psi.tree.IElementType
 import com.intellij.psi.util.parentOfType
 import com.voltum.voltumscript.Icons
+import com.voltum.voltumscript.ext.readNameAsString
+import com.voltum.voltumscript.ext.readVarInt
+import com.voltum.voltumscript.ext.writeVarInt
 import com.voltum.voltumscript.lang.references.VoltumReference
 import com.voltum.voltumscript.lang.stubs.*
 import com.voltum.voltumscript.lang.types.*
 import com.voltum.voltumscript.psi.ext.stubAncestorStrict
 import javax.swing.Icon
 
-class VoltumTypeDeclarationStub : VoltumStubWithAttributes<VoltumDeclaration>, VoltumNamedStub {
+class VoltumTypeDeclarationStub : VoltumStubWithAttributes<VoltumDeclaration>, VoltumNamedStub, VoltumTypedStub {
     override var name: String?
 
     var prototype: TyStruct? = null
 
+    override val storedTypes: List<Ty?> get() = listOf(prototype)
+
+    /** Names of the declared fields and methods, feeds [com.voltum.voltumscript.lang.index.VoltumMemberIndex] */
+    val memberNames: List<String>
+
     constructor(
         parent: StubElement<*>?,
         elementType: IStubElementType<out StubElement<*>, *>?,
         name: String?,
-        proto: TyStruct?
+        proto: TyStruct?,
+        memberNames: List<String>
     ) : super(parent, elementType) {
         this.name = name
         this.prototype = proto
+        this.memberNames = memberNames
     }
 
     object Type : VoltumStubElementType<VoltumTypeDeclarationStub, VoltumDeclaration>("TYPE_DECLARATION") {
@@ -34,16 +44,20 @@ class VoltumTypeDeclarationStub : VoltumStubWithAttributes<VoltumDeclaration>, V
             VoltumTypeDeclarationImpl(stub, this)
 
         override fun createStub(psi: VoltumDeclaration, parentStub: StubElement<*>?): VoltumTypeDeclarationStub {
-
-            var proto = PrototypeContainer.tryGetDefaultType(psi.name!!)
+            // Only default and already registered types, std modules must not be materialized while building stubs
+            var proto = psi.project.typeRegistry.tryGetDefaultType(psi.name!!)
             if (proto == null)
                 proto = psi.tryResolveType() as? TyStruct
 
+            val declaration = psi as VoltumTypeDeclaration
+            val memberNames = declaration.fields.map { it.varId.text } + declaration.methods.map { it.nameIdentifier.text }
+
             return VoltumTypeDeclarationStub(
                 parentStub,
                 this,
                 psi.name,
                 proto as? TyStruct,
+                memberNames.distinct(),
             )
         }
 
@@ -52,7 +66,8 @@ class VoltumTypeDeclarationStub : VoltumStubWithAttributes<VoltumDeclaration>, V
                 parentStub,
                 this,
                 dataStream.readName()?.string,
-                Ty.deserialize(dataStream) as? TyStruct
+                dataStream.readStubType(parentStub) as? TyStruct,
+                List(dataStream.readVarInt()) { dataStream.readNameAsString()!! }
             )
 
             return stub
@@ -61,7 +76,9 @@ class VoltumTypeDeclarationStub : VoltumStubWithAttributes<VoltumDeclaration>, V
         override fun serialize(stub: VoltumTypeDeclarationStub, dataStream: StubOutputStream) =
             with(dataStream) {
                 writeName(stub.name)
-                serializeType(dataStream, stub.prototype)
+                writeStubType(stub, stub.prototype)
+                writeVarInt(stub.memberNames.size)
+                stub.memberNames.forEach { writeName(it) }
             }
 
         override fun indexStub(stub: VoltumTypeDeclarationStub, sink: IndexSink) =
@@ -96,6 +96,8 @@ val PsiElement.prototype: Ty
         return when (this) {
             is VoltumValueTypeElement -> this.prototype
             is VoltumTypeDeclaration  -> {
+                // std lib declarations are configured when their module is materialized
+                this.name?.let { project.typeRegistry.materialize(it) }
                 this.greenStub?.prototype ?: this.tryResolveType() ?: TyUnknown.INSTANCE
             }
 
@@ -90,7 +90,7 @@ class RuntimeSettings : PersistentStateComponent<RuntimeSettings> {
     fun getLspPath() = getBaseToolPath(true) / "CSScriptingLang.LSP.exe"
 
     fun getMetaJsonPath() = getBaseToolPath() / "BindingsMeta.json"
-    fun getStdLibPath() = getBaseToolPath() / "StdLibFiles"
+    fun getStdLibPath() = getBaseToolPath() / STD_LIB_DIR_NAME
     fun getMetaJson() = getMetaJsonPath().toFile().readText()
 
     fun createLspCommandLine() = GeneralCommandLine().apply {
@@ -99,6 +99,9 @@ class RuntimeSettings : PersistentStateComponent<RuntimeSettings> {
     }
 
     companion object {
+        /** Name of the directory the runtime writes the std module files to, whichever build config it is */
+        const val STD_LIB_DIR_NAME = "StdLibFiles"
+
         @JvmStatic
         fun getInstance() = service<RuntimeSettings>()
     }
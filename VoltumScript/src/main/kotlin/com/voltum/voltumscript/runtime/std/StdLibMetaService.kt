@@ -1,39 +1,58 @@
 package com.voltum.voltumscript.runtime.std
 
-import com.google.gson.FieldNamingPolicy
-import com.google.gson.GsonBuilder
 import com.intellij.openapi.Disposable
-import com.intellij.openapi.application.EDT
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.application.ReadAction
 import com.intellij.openapi.components.Service
 import com.intellij.openapi.components.service
 import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.editor.Document
+import com.intellij.openapi.progress.ProgressManager
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.project.modules
 import com.intellij.openapi.roots.libraries.Library
 import com.intellij.openapi.vfs.LocalFileSystem
+import com.intellij.openapi.vfs.VfsUtil
 import com.intellij.openapi.vfs.VirtualFile
-import com.intellij.openapi.vfs.VirtualFileManager
+import com.intellij.platform.ide.progress.withBackgroundProgress
 import com.intellij.psi.PsiDocumentListener
 import com.intellij.psi.PsiFile
+import com.intellij.util.messages.Topic
+import com.voltum.voltumscript.VoltumBundle
 import com.voltum.voltumscript.ext.*
-import com.voltum.voltumscript.lang.types.PrototypeContainer
 import com.voltum.voltumscript.lang.types.tryResolveType
+import com.voltum.voltumscript.lang.types.typeRegistry
 import com.voltum.voltumscript.psi.VoltumTypeDeclaration
 import com.voltum.voltumscript.psi.VoltumTypes
 import com.voltum.voltumscript.psi.ext.stubChildOfElementType
 import com.voltum.voltumscript.runtime.runtimeSettings
 import com.voltum.voltumscript.runtime.std.types.TypeMeta
-import com.voltum.voltumscript.runtime.std.types.TypeMetaClass
 import com.voltum.voltumscript.runtime.std.types.TypeMetaModule
 import com.voltum.voltumscript.runtime.std.types.TypeMetaPrototype
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.withContext
+import java.io.IOException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicReference
 
 val Project.stdMeta: StdLibMetaService get() = service()
 
+interface StdLibConfiguredListener {
+    fun stdLibConfigured()
+}
+
+/**
+ * Published once the std lib metadata is loaded and its directory refreshed; from then on std types
+ * materialize in the [com.voltum.voltumscript.lang.types.VoltumTypeRegistry] on first lookup
+ */
+val VOLTUM_STD_LIB_CONFIGURED_TOPIC: Topic<StdLibConfiguredListener> = Topic.create(
+    "VOLTUM_STD_LIB_CONFIGURED_TOPIC",
+    StdLibConfiguredListener::class.java,
+    Topic.BroadcastDirection.TO_PARENT
+)
+
 @Service(Service.Level.PROJECT)
 class StdLibMetaService(
     val project: Project,
@@ -55,12 +74,26 @@ class StdLibMetaService(
 
     val objects get() = (classes.all + prototypes.all).filter { it.isAlias.not() }
 
+    @Volatile
+    var isConfigured: Boolean = false
+        private set
+    private var configureJob: Job? = null
+
+    /** std object names and aliases -> the module chunk declaring them, see [materialize] */
+    @Volatile
+    private var chunksByName: Map<String, StdModuleChunk> = emptyMap()
+    private val materializing = ThreadLocal.withInitial { HashSet<StdModuleChunk>() }
+
+    val materializedModuleCount: Int get() = chunksByName.values.toSet().count { it.isMaterialized }
+    val moduleCount: Int get() = chunksByName.values.toSet().size
+
     fun reset() {
         meta.clear()
         classes.clear()
         modules.clear()
         prototypes.clear()
         moduleLibraries.clear()
+        chunksByName = emptyMap()
     }
 
     fun add(metaType: TypeMeta) {
@@ -105,49 +138,43 @@ class StdLibMetaService(
             }
         })
 
-        load()
-
+        project.typeRegistry.registerLazySource(this) { name -> materialize(name) }
 
+        load()
     }
 
     override fun dispose() {
+        configureJob?.cancel()
         reset()
     }
 
     fun load() {
-        reset()
+        val dir = LocalFileSystem.getInstance().findFileByPath(runtimeSettings.getStdLibPath().toString())
+        val metaString = try {
+            runtimeSettings.getMetaJson()
+        } catch (e: IOException) {
+            null
+        }
+        if (dir == null || metaString == null) {
+            log.warn("Std lib not found under ${runtimeSettings.getBaseToolPath()}, std types are unavailable")
+            reset()
+            project.typeRegistry.reset()
+            return
+        }
+
+        load(metaString, dir)
+    }
 
-        PrototypeContainer.init()
+    /** Loads the std metadata [metaString] describing the std files under [stdLibDir] */
+    fun load(metaString: String, stdLibDir: VirtualFile) {
+        reset()
 
-        val metaString = runtimeSettings.getMetaJson()
+        project.typeRegistry.reset()
 
-        stdLibDir = LocalFileSystem.getInstance()
-            .findFileByPath(runtimeSettings.getStdLibPath().toString())!!
+        this.stdLibDir = stdLibDir
 
         try {
-            val gson = GsonBuilder()
-                .serializeNulls()
-                .setLenient()
-                .setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE)
-                .create()
-
-            val metaTypesList = JsonUtils.tryParseJsonArray(metaString)
-
-            metaTypesList!!.forEach {
-                val obj = it.asJsonObject
-                val kind = obj.get("Kind").asString
-                var type: TypeMeta? = null
-                if (kind == "Class") {
-                    type = gson.fromJson(it, TypeMetaClass::class.java)
-                } else if (kind == "Prototype") {
-                    type = gson.fromJson(it, TypeMetaPrototype::class.java)
-                } else if (kind == "Module") {
-                    type = gson.fromJson(it, TypeMetaModule::class.java)
-                }
-                if (type != null) {
-                    add(type)
-                }
-            }
+            StdLibMetaSnapshot.load(metaString).forEach { add(it) }
 
             project.modules.firstOrNull()?.let {
                 val lib = StdModuleLibrary("StdLib")
@@ -159,126 +186,198 @@ class StdLibMetaService(
                 moduleLibraries.add(lib)
             }
 
+            indexChunks()
         } catch (e: Exception) {
             log.error("Failed to load meta", e)
         }
 
-        try {
+        configure()
 
-            invokeLaterOnWriteThread {
-                cs.launch {
-                    withContext(Dispatchers.EDT) {
-                        VirtualFileManager.getInstance().asyncRefresh {
-                            objects.forEach { obj ->
-                                // FileBasedIndex.getInstance().requestReindex(obj.virtualFile!!)
-
-                                val psiFile = obj.getPsiFile(project)
-                                psiFile?.stubChildOfElementType(VoltumTypes.TYPE_DECLARATION)?.let { stub ->
-                                    if (stub is VoltumTypeDeclaration) {
-                                        obj.type = PrototypeContainer.tryGetDefaultType(obj.name) ?: stub.tryResolveType()
-                                        if(obj is TypeMetaPrototype) {
-                                            obj.type!!.aliasNames = obj.aliases
-                                        }
-                                        // obj.aliasTypes.forEach { alias ->
-                                        //     alias.type = TyKind.Struct.createInstance(null, alias.name)
-                                        // }
-                                    }
-                                }
-
-                                /*if (obj.type == null) {
-                                    obj.type = PrototypeContainer.tryGetDefaultType(obj.name)
-                                    obj.aliasTypes.forEach { alias ->
-                                        alias.type = obj.type
-                                    }
-                                }*/
-
-                                if (!obj.superType.isNullOrEmpty()) {
-                                    obj.superTypeMeta = objects.firstOrNull { it.name == obj.superType }
-                                    // obj.aliasTypes.forEach { alias ->
-                                    //     alias.superTypeMeta = obj
-                                    // }
-                                }
+        /*cs.launch {
+            writeAction {
+                var module = ModuleManager.getInstance(project).newModule(stdLibDir.path, "StdLib")
 
-                            }
+                stdLibrary = project.libraryTable.getOrCreateLibrary("StdLib")
 
-                            val configuredObjects = HashSet<TypeMeta>()
-                            objects.forEach { obj ->
-                                val psiFile = obj.getPsiFile(project)
-                                
-                                psiFile?.stubChildOfElementType(VoltumTypes.TYPE_DECLARATION)?.let { stub ->
-                                    if (stub is VoltumTypeDeclaration) {
-                                        if (obj.type != null) {
-                                            if (configuredObjects.contains(obj)) {
-                                                return@forEach
-                                            }
-                                            configuredObjects.add(obj)
-                                            obj.type?.configure(obj, stub)
-                                            
-                                            if(obj is TypeMetaPrototype) {
-                                                obj.aliases.forEach { alias ->
-                                                    PrototypeContainer.typeAliases[alias] = stub.name!!
-                                                }
-                                            }
-
-                                            // obj.aliasTypes.forEach { alias ->
-                                            //     alias.type?.configure(alias, stub)
-                                            // }
-                                        }
-                                    }
-                                }
+                stdLibrary.apply {
+                    modifiableModel.apply {
+                        for (moduleMeta in modules.all) {
+                            stdLibDir.findChild(moduleMeta.relativePath)?.let { mf ->
+                                addRoot(mf, OrderRootType.CLASSES)
                             }
-
-                            // val writer = Printer()
-                            // for (type in PrototypeContainer) {
-                            //     type.dump(writer)
-                            // }
-                            // log.warn(writer.toString())
                         }
-                    }
+                    }.commit()
                 }
 
+                ModuleRootManager.getInstance(module).modifiableModel.apply {
+                    addLibraryEntries(listOf(stdLibrary), DependencyScope.COMPILE, true)
+
+                    addContentEntry(stdLibDir).apply {
+                        addSourceFolder(stdLibDir, false)
+                    }
+                }.commit()
+
+                ModuleRootModificationUtil.addDependency(module, stdLibrary)
+
 
             }
+        }*/
+    }
 
-            /*cs.launch {
-                writeAction {
-                    var module = ModuleManager.getInstance(project).newModule(stdLibDir.path, "StdLib")
+    /**
+     * Refreshes the std lib directory on a background thread and publishes [VOLTUM_STD_LIB_CONFIGURED_TOPIC] once done.
+     * A new [load] cancels a refresh still in flight.
+     *
+     * Types are not configured here, a std module is only materialized (PSI loaded, types resolved and registered)
+     * the first time one of its names is looked up in the type registry, see [materialize].
+     */
+    private fun configure() {
+        configureJob?.cancel()
+        isConfigured = false
+
+        configureJob = cs.launch {
+            withBackgroundProgress(project, VoltumBundle.message("progress.title.configuring.std.lib"), cancellable = true) {
+                // Picks up std files written by the runtime since the last refresh, outside any read action
+                VfsUtil.markDirtyAndRefresh(false, true, true, stdLibDir)
+            }
 
-                    stdLibrary = project.libraryTable.getOrCreateLibrary("StdLib")
+            isConfigured = true
+            project.messageBus.syncPublisher(VOLTUM_STD_LIB_CONFIGURED_TOPIC).stdLibConfigured()
+        }
+    }
 
-                    stdLibrary.apply {
-                        modifiableModel.apply {
-                            for (moduleMeta in modules.all) {
-                                stdLibDir.findChild(moduleMeta.relativePath)?.let { mf ->
-                                    addRoot(mf, OrderRootType.CLASSES)
-                                }
-                            }
-                        }.commit()
+    /**
+     * Splits the std objects into one chunk per module and maps every object name, namespaced name and alias to it.
+     * Aliases are registered right away, they only need the metadata.
+     */
+    private fun indexChunks() {
+        val index = HashMap<String, StdModuleChunk>()
+        for ((key, chunkObjects) in objects.groupBy { it.module ?: it.namespacedName }) {
+            val chunk = StdModuleChunk(key, chunkObjects)
+            for (obj in chunkObjects) {
+                index.putIfAbsent(obj.name, chunk)
+                index.putIfAbsent(obj.namespacedName, chunk)
+                if (obj is TypeMetaPrototype) {
+                    obj.aliases.forEach { alias ->
+                        index.putIfAbsent(alias, chunk)
+                        project.typeRegistry.addAlias(alias, obj.name)
                     }
+                }
+            }
+        }
+        chunksByName = index
+    }
 
-                    ModuleRootManager.getInstance(module).modifiableModel.apply {
-                        addLibraryEntries(listOf(stdLibrary), DependencyScope.COMPILE, true)
+    /**
+     * Materializes the std module declaring [name], if any. Returns false when the name isn't a std name.
+     * Cheap once the module is materialized, so lookups can call it unconditionally.
+     */
+    fun materialize(name: String): Boolean {
+        val chunk = chunksByName[name] ?: return false
+        materialize(chunk)
+        return true
+    }
 
-                        addContentEntry(stdLibDir).apply {
-                            addSourceFolder(stdLibDir, false)
-                        }
-                    }.commit()
+    private fun materialize(chunk: StdModuleChunk) {
+        if (chunk.isMaterialized) return
+        // Resolving a type looks names up in the registry again, which must not re-enter the chunk being built
+        val building = materializing.get()
+        if (!building.add(chunk)) return
+
+        try {
+            // Super types first, so configuring a type can link its prototype
+            for (obj in chunk.objects) {
+                val superChunk = obj.superType?.let { chunksByName[it] } ?: continue
+                materialize(superChunk)
+            }
 
-                    ModuleRootModificationUtil.addDependency(module, stdLibrary)
+            buildOrAwait(chunk)
+        } finally {
+            building.remove(chunk)
+        }
+    }
 
+    /**
+     * Builds [chunk] on this thread, or waits for the thread already building it. No monitor is held while
+     * building or waiting; a cancelled build hands the chunk back so the next lookup retries it.
+     *
+     * A write action can't be waiting on a build in progress, readers are excluded; it takes the chunk over instead.
+     */
+    private fun buildOrAwait(chunk: StdModuleChunk) {
+        val application = ApplicationManager.getApplication()
+        while (!chunk.isMaterialized) {
+            val pending = chunk.build.get()
+            if (pending != null && !application.isWriteAccessAllowed) {
+                ProgressIndicatorUtils.awaitWithCheckCanceled(pending)
+                continue
+            }
 
+            val mine = CompletableFuture<Boolean>()
+            if (!chunk.build.compareAndSet(pending, mine)) continue
+
+            var built = false
+            try {
+                if (application.isReadAccessAllowed) {
+                    build(chunk, mine)
+                } else {
+                    ReadAction.nonBlocking<Unit> { build(chunk, mine) }
+                        .expireWith(this)
+                        .executeSynchronously()
                 }
-            }*/
+                built = true
+            } finally {
+                if (!built) chunk.build.compareAndSet(mine, null)
+                mine.complete(built)
+            }
+        }
+    }
 
-        } catch (e: Exception) {
-            log.error("Failed to debug meta", e)
+    /** Runs inside a read action, possibly restarted after a write action */
+    private fun build(chunk: StdModuleChunk, claim: CompletableFuture<Boolean>) {
+        // Taken over by a write action in the meantime
+        if (chunk.build.get() !== claim) return
+
+        chunk.objects.forEach { resolveType(it) }
+        val configuredObjects = HashSet<TypeMeta>()
+        chunk.objects.forEach { configureType(it, configuredObjects) }
+        project.typeRegistry.addAll(configuredObjects.mapNotNull { it.type })
+    }
+
+    private fun resolveType(obj: TypeMeta) {
+        ProgressManager.checkCanceled()
+
+        val psiFile = obj.getPsiFile(project, stdLibDir)
+        psiFile?.stubChildOfElementType(VoltumTypes.TYPE_DECLARATION)?.let { stub ->
+            if (stub is VoltumTypeDeclaration) {
+                obj.type = project.typeRegistry.tryGetDefaultType(obj.name) ?: stub.tryResolveType()
+                if (obj is TypeMetaPrototype) {
+                    obj.type!!.aliasNames = obj.aliases
+                }
+            }
         }
 
+        obj.superType?.takeIf { it.isNotEmpty() }?.let { superType ->
+            obj.superTypeMeta = chunksByName[superType]?.objects?.firstOrNull { it.name == superType }
+        }
+    }
+
+    private fun configureType(obj: TypeMeta, configuredObjects: MutableSet<TypeMeta>) {
+        ProgressManager.checkCanceled()
+
+        val stub = obj.getPsiFile(project, stdLibDir)?.stubChildOfElementType(VoltumTypes.TYPE_DECLARATION) as? VoltumTypeDeclaration
+            ?: return
+        if (obj.type == null || obj in configuredObjects) {
+            return
+        }
 
+        // Only counted once configured, a build cancelled half way configures the type again on retry
+        obj.type?.configure(obj, stub)
+        configuredObjects.add(obj)
     }
 
     fun debugString(w: Printer) {
         w.ln()
+        w.ln("Materialized modules: $materializedModuleCount/$moduleCount")
 
         w.verticalList(modules.all.toList(), "Modules:") {
             it.debugString(w)
@@ -294,4 +393,14 @@ class StdLibMetaService(
 
     }
 
-}
\ No newline at end of file
+}
+
+/** The std objects of one module, materialized together on first use */
+private class StdModuleChunk(val key: String, val objects: List<TypeMeta>) {
+    /** Completed with true once built; with false and cleared when a build got cancelled */
+    val build = AtomicReference<CompletableFuture<Boolean>?>(null)
+
+    val isMaterialized: Boolean get() = build.get()?.getNow(false) == true
+
+    override fun toString(): String = "StdModuleChunk($key, materialized=$isMaterialized)"
+}
@@ -0,0 +1,274 @@
+package com.voltum.voltumscript.runtime.std
+
+import com.google.gson.FieldNamingPolicy
+import com.google.gson.GsonBuilder
+import com.intellij.openapi.application.PathManager
+import com.intellij.openapi.diagnostic.ControlFlowException
+import com.intellij.openapi.diagnostic.logger
+import com.voltum.voltumscript.ext.*
+import com.voltum.voltumscript.runtime.std.types.*
+import java.io.*
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.nio.file.StandardOpenOption
+import java.security.MessageDigest
+import kotlin.io.path.div
+import kotlin.io.path.exists
+
+/**
+ * Binary snapshot of the parsed `BindingsMeta.json`.
+ *
+ * Snapshots live in `<system dir>/voltum/std-meta/<sha256 of the json>.bin`; a changed json simply gets a new file,
+ * so there's nothing to invalidate. The file is memory mapped and decoded straight from the buffer; any problem
+ * reading it (old [VERSION], truncated or corrupt file, ...) drops it and falls back to parsing the json and rewriting
+ * the snapshot.
+ */
+object StdLibMetaSnapshot {
+    private val log = logger<StdLibMetaSnapshot>()
+
+    /** Bump whenever the layout written by [write] changes */
+    const val VERSION = 1
+    private const val MAGIC = 0x564C544D // "VLTM"
+
+    val cacheDir: Path get() = PathManager.getSystemDir() / "voltum" / "std-meta"
+
+    fun load(json: String, dir: Path = cacheDir): List<TypeMeta> {
+        val hash = contentHash(json)
+        val file = dir / "$hash.bin"
+
+        if (file.exists()) {
+            try {
+                return read(file, hash)
+            } catch (e: Exception) {
+                // Corrupt data surfaces as index, cast or null errors just as much as IOException
+                if (e is ControlFlowException) throw e
+                log.warn("Failed to read std meta snapshot $file, falling back to json", e)
+                drop(file)
+            }
+        }
+
+        val types = parseJson(json)
+        try {
+            write(file, hash, types)
+        } catch (e: IOException) {
+            log.warn("Failed to write std meta snapshot $file", e)
+        }
+        return types
+    }
+
+    fun parseJson(json: String): List<TypeMeta> {
+        val gson = GsonBuilder()
+            .serializeNulls()
+            .setLenient()
+            .setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE)
+            .create()
+
+        return JsonUtils.tryParseJsonArray(json)!!.mapNotNull {
+            when (it.asJsonObject.get("Kind").asString) {
+                "Class"     -> gson.fromJson(it, TypeMetaClass::class.java)
+                "Prototype" -> gson.fromJson(it, TypeMetaPrototype::class.java)
+                "Module"    -> gson.fromJson(it, TypeMetaModule::class.java)
+                else        -> null
+            }
+        }
+    }
+
+    fun contentHash(json: String): String {
+        val digest = MessageDigest.getInstance("SHA-256").digest(json.toByteArray(Charsets.UTF_8))
+        return digest.joinToString("") { "%02x".format(it) }
+    }
+
+    /** Throws [IOException] for a foreign or stale file, corrupt contents may also throw runtime exceptions */
+    @Throws(IOException::class)
+    fun read(file: Path, expectedHash: String): List<TypeMeta> {
+        FileChannel.open(file, StandardOpenOption.READ).use { channel ->
+            val input = SnapshotInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()))
+
+            if (input.readInt() != MAGIC) throw IOException("Not a std meta snapshot")
+            val version = input.readInt()
+            if (version != VERSION) throw IOException("Snapshot version $version, expected $VERSION")
+            if (input.readString() != expectedHash) throw IOException("Snapshot hash mismatch")
+
+            return input.readList { readTypeMeta() }
+        }
+    }
+
+    private fun drop(file: Path) {
+        try {
+            Files.deleteIfExists(file)
+        } catch (e: IOException) {
+            log.warn("Failed to delete std meta snapshot $file", e)
+        }
+    }
+
+    @Throws(IOException::class)
+    fun write(file: Path, hash: String, types: List<TypeMeta>) {
+        Files.createDirectories(file.parent)
+        // Write next to the target and move, so a concurrent reader never sees a partial file
+        val tmp = Files.createTempFile(file.parent, file.fileName.toString(), ".tmp")
+        try {
+            DataOutputStream(BufferedOutputStream(Files.newOutputStream(tmp))).use { out ->
+                out.writeInt(MAGIC)
+                out.writeInt(VERSION)
+                out.writeString(hash)
+                out.writeList(types) { writeTypeMeta(it) }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+        } finally {
+            Files.deleteIfExists(tmp)
+        }
+    }
+
+    private fun DataOutput.writeTypeMeta(meta: TypeMeta) {
+        writeEnum(meta.kind)
+        writeString(meta.relativePath)
+        writeString(meta.name)
+        writeString(meta.namespace)
+        writeString(meta.module)
+        writeString(meta.definition)
+        writeString(meta.superType)
+        writeBoolean(meta.isAlias)
+        writeList(meta.properties) { writeMember(it) }
+        writeList(meta.methods) { writeMember(it) }
+        writeList(meta.constructors) { writeMember(it) }
+
+        when (meta) {
+            is TypeMetaPrototype -> writeList(meta.aliases) { writeString(it) }
+            is TypeMetaModule    -> {
+                writeList(meta.classes) { writeTypeMeta(it) }
+                writeList(meta.prototypes) { writeTypeMeta(it) }
+            }
+        }
+    }
+
+    private fun SnapshotInput.readTypeMeta(): TypeMeta {
+        val meta = when (readEnum<StdTypeMetaKind>()) {
+            StdTypeMetaKind.Class     -> TypeMetaClass()
+            StdTypeMetaKind.Prototype -> TypeMetaPrototype()
+            StdTypeMetaKind.Module    -> TypeMetaModule()
+        }
+        meta.relativePath = readString()!!
+        meta.name = readString()!!
+        meta.namespace = readString()
+        meta.module = readString()
+        meta.definition = readString()
+        meta.superType = readString()
+        meta.isAlias = readBoolean()
+        meta.properties.addAll(readList { readMember() })
+        meta.methods.addAll(readList { readMember() })
+        meta.constructors.addAll(readList { readMember() })
+
+        when (meta) {
+            is TypeMetaPrototype -> meta.aliases.addAll(readList { readString()!! })
+            is TypeMetaModule    -> {
+                meta.classes.addAll(readList { readTypeMeta() as TypeMetaClass })
+                meta.prototypes.addAll(readList { readTypeMeta() as TypeMetaPrototype })
+            }
+        }
+        return meta
+    }
+
+    private fun DataOutput.writeMember(member: TypeMemberMeta) {
+        writeString(member.name)
+        writeString(member.definition)
+        writeBoolean(member.documentation != null)
+        member.documentation?.let {
+            writeString(it.summary)
+            writeString(it.codeExample)
+        }
+        writeBoolean(member.isInstanceGetterProperty)
+        writeBoolean(member.isGetter)
+        writeBoolean(member.isSetter)
+        writeTypeHint(member.typeHint)
+        writeEnum(member.kind)
+        writeList(member.parameters) {
+            writeString(it.key)
+            writeString(it.value)
+        }
+        writeTypeHint(member.returnType)
+    }
+
+    private fun SnapshotInput.readMember(): TypeMemberMeta = TypeMemberMeta().apply {
+        name = readString()!!
+        definition = readString()
+        if (readBoolean()) {
+            documentation = StdTypeDocumentation(readString()!!, readString())
+        }
+        isInstanceGetterProperty = readBoolean()
+        isGetter = readBoolean()
+        isSetter = readBoolean()
+        typeHint = readTypeHint()
+        kind = readEnum()
+        parameters = readList {
+            StdTypeParameter().apply {
+                key = readString()!!
+                value = readString()!!
+            }
+        }
+        returnType = readTypeHint()
+    }
+
+    private fun DataOutput.writeTypeHint(hint: StdTypeTypeHint?) {
+        writeBoolean(hint != null)
+        if (hint != null) {
+            writeString(hint.name)
+            writeString(hint.prototypeFqn)
+        }
+    }
+
+    private fun SnapshotInput.readTypeHint(): StdTypeTypeHint? {
+        if (!readBoolean()) return null
+        return StdTypeTypeHint().apply {
+            name = readString()!!
+            prototypeFqn = readString()!!
+        }
+    }
+
+    // `writeUTF` is limited to 64k, module definitions can be larger than that
+    private fun DataOutput.writeString(value: String?) {
+        if (value == null) {
+            writeInt(-1)
+            return
+        }
+        val bytes = value.toByteArray(Charsets.UTF_8)
+        writeInt(bytes.size)
+        write(bytes)
+    }
+
+    /**
+     * Reads the layout written through [DataOutput] straight from the mapped buffer (big endian, like [DataOutput]).
+     * Sizes are checked against what's left, so a corrupt length fails fast instead of allocating.
+     */
+    private class SnapshotInput(private val buffer: ByteBuffer) {
+        fun readInt(): Int = buffer.getInt()
+
+        fun readBoolean(): Boolean = buffer.get().toInt() != 0
+
+        fun readUnsignedByte(): Int = buffer.get().toInt() and 0xFF
+
+        inline fun <reified E : Enum<E>> readEnum(): E = enumValues<E>()[readUnsignedByte()]
+
+        fun <T> readList(reader: SnapshotInput.() -> T): List<T> = List(readSize("List")) { reader() }
+
+        fun readString(): String? {
+            val size = buffer.getInt()
+            if (size < 0) return null
+            checkRemaining("String", size)
+            val position = buffer.position()
+            buffer.position(position + size)
+            return Charsets.UTF_8.decode(buffer.slice(position, size)).toString()
+        }
+
+        /** Every element takes at least one byte */
+        private fun readSize(what: String): Int = buffer.getInt().also { checkRemaining(what, it) }
+
+        private fun checkRemaining(what: String, size: Int) {
+            if (size < 0 || size > buffer.remaining()) {
+                throw EOFException("$what of $size bytes at ${buffer.position()}, ${buffer.remaining()} left")
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.voltum.voltumscript.runtime.std.types
 
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.vfs.VirtualFile
 import com.intellij.openapi.vfs.VirtualFileManager
 import com.voltum.voltumscript.Constants
 import com.voltum.voltumscript.ext.Printer
@@ -27,6 +28,10 @@ abstract class TypeMeta : Cloneable {
 
     fun getPsiFile(project: Project) = getVirtualFile(project)?.toPsiFile(project)
 
+    /** Same file, looked up under the std lib directory the metadata was loaded with */
+    fun getPsiFile(project: Project, stdLibDir: VirtualFile) =
+        stdLibDir.findFileByRelativePath(relativePathWithExtension)?.toPsiFile(project)
+
     var name: String = ""
     var namespace: String? = ""
     var module: String? = ""
@@ -17,7 +17,7 @@ open class TypeMemberMeta {
     var kind: StdTypeMemberKind = StdTypeMemberKind.Property
 
     var parameters: List<StdTypeParameter> = listOf()
-    val returnType: StdTypeTypeHint? = null
+    var returnType: StdTypeTypeHint? = null
 
     override fun toString(): String {
         return "StdTypeMemberMeta(name='$name', definition=$definition, documentation=$documentation, isInstanceGetterProperty=$isInstanceGetterProperty, isGetter=$isGetter, isSetter=$isSetter, kind=$kind)"
@@ -3,8 +3,8 @@ package com.voltum.voltumscript.runtime.std.types
 import com.google.gson.annotations.SerializedName
 
 class StdTypeTypeHint {
-    val name: String = ""
+    var name: String = ""
 
     @SerializedName("PrototypeType")
-    val prototypeFqn: String = ""
+    var prototypeFqn: String = ""
 }
\ No newline at end of file
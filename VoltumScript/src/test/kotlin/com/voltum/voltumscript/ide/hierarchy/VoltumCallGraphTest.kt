@@ -0,0 +1,90 @@
+package com.voltum.voltumscript.ide.hierarchy
+
+import com.intellij.psi.PsiElement
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.lang.index.VoltumCallIndex
+import com.voltum.voltumscript.psi.VoltumFile
+import com.voltum.voltumscript.psi.VoltumFuncDeclaration
+import com.voltum.voltumscript.psi.VoltumTypeDeclarationMethodMember
+
+class VoltumCallGraphTest : VoltumTestCase() {
+
+    /** `prefix0` calls `prefix1` ... calls `prefix{depth - 1}` */
+    private fun chain(prefix: String, depth: Int): String = buildString {
+        for (i in 0 until depth) {
+            append("function $prefix$i(int a) int {\n")
+            if (i + 1 < depth) append("    return $prefix${i + 1}(a)\n") else append("    return a\n")
+            append("}\n")
+        }
+    }
+
+    private fun functions(file: VoltumFile): List<VoltumFuncDeclaration> =
+        file.children.filterIsInstance<VoltumFuncDeclaration>()
+
+    private fun names(elements: Collection<PsiElement>): List<String?> = elements.map { VoltumCallGraph.nameOf(it) }
+
+    fun `test both directions along chains of varying depth`() {
+        for (depth in listOf(1, 2, 5, 20)) {
+            val prefix = "chain${depth}_"
+            val file = myFixture.addFileToProject("$prefix.vlt", chain(prefix, depth)) as VoltumFile
+            val chain = functions(file)
+            assertEquals(depth, chain.size)
+
+            chain.forEachIndexed { i, function ->
+                val callees = VoltumCallGraph.callees(function).keys
+                val callers = VoltumCallGraph.callers(function).keys
+                assertEquals(listOfNotNull(if (i + 1 < depth) "$prefix${i + 1}" else null), names(callees))
+                assertEquals(listOfNotNull(if (i > 0) "$prefix${i - 1}" else null), names(callers))
+            }
+        }
+    }
+
+    fun `test walking callees reaches the end of the chain`() {
+        val depth = 12
+        val file = myFixture.addFileToProject("walk.vlt", chain("walk", depth)) as VoltumFile
+
+        var current: PsiElement? = functions(file).first()
+        var steps = 0
+        while (current != null) {
+            current = VoltumCallGraph.callees(current).keys.singleOrNull()
+            if (current != null) steps++
+        }
+        assertEquals(depth - 1, steps)
+    }
+
+    fun `test top level callers are grouped by file`() {
+        val file = myFixture.addFileToProject(
+            "main.vlt",
+            chain("top", 2) + "var x = top0(1)\nvar y = top0(2)\n"
+        ) as VoltumFile
+
+        val callers = VoltumCallGraph.callers(functions(file).first())
+        assertEquals(listOf<PsiElement>(file), callers.keys.toList())
+        assertEquals(2, callers.getValue(file).size)
+    }
+
+    fun `test name only guesses are callees but not callers`() {
+        val file = myFixture.addFileToProject("guess.vlt", """
+            type Box struct {
+                compute() int {}
+            }
+            function user(int a) int {
+                return unknown.compute()
+            }
+        """.trimIndent()) as VoltumFile
+        val user = functions(file).single()
+        val compute = PsiTreeUtil.findChildOfType(file, VoltumTypeDeclarationMethodMember::class.java)!!
+
+        assertEquals(listOf("compute"), names(VoltumCallGraph.callees(user).keys))
+        assertEmpty(VoltumCallGraph.callers(compute).keys)
+    }
+
+    fun `test call sites are keyed by callee name`() {
+        val file = myFixture.addFileToProject("calls.vlt", "var a = f(1)\nvar b = x.y.g()\nvar c = f(2)\n") as VoltumFile
+
+        val sites = VoltumCallIndex.collectCallSites(file)
+        assertSameElements(sites.keys, "f", "g")
+        assertEquals(2, sites.getValue("f").size)
+    }
+}
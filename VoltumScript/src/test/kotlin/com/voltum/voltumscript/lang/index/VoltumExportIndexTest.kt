@@ -0,0 +1,54 @@
+package com.voltum.voltumscript.lang.index
+
+import com.intellij.psi.PsiDocumentManager
+import com.voltum.voltumscript.VoltumTestCase
+
+class VoltumExportIndexTest : VoltumTestCase() {
+    private val code = """
+        type Point struct {
+            x int
+            length() float {}
+        }
+        function add(int a, int b) int {
+            var local = a
+            return local + b
+        }
+        var origin = 0
+    """.trimIndent()
+
+    fun `test top level names are exported`() {
+        myFixture.configureByText("main.vlt", code)
+        val summary = VoltumExportIndex.getSummary(project, myFixture.file.virtualFile)
+
+        assertSameElements(summary.names, "Point", "add", "origin")
+        assertEquals(VoltumExport(VoltumExportKind.TYPE, "{x, length}"), summary.exports["Point"])
+        assertEquals(VoltumExport(VoltumExportKind.FUNCTION, "(a int, b int) int"), summary.exports["add"])
+        assertEquals(VoltumExport(VoltumExportKind.VARIABLE, null), summary.exports["origin"])
+    }
+
+    fun `test files exporting a name`() {
+        val file = myFixture.addFileToProject("other.vlt", code).virtualFile
+        assertSameElements(VoltumExportIndex.findExportingFiles(project, "add"), file)
+        assertEmpty(VoltumExportIndex.findExportingFiles(project, "local"))
+    }
+
+    fun `test body edit keeps the export hash`() {
+        myFixture.configureByText("main.vlt", code.replace("var local = a", "var local = a/*caret*/"))
+        val before = VoltumExportIndex.getSummary(project, myFixture.file.virtualFile)
+
+        myFixture.type(" + 1")
+        PsiDocumentManager.getInstance(project).commitAllDocuments()
+
+        assertFalse(VoltumExportIndex.exportsChanged(project, myFixture.file.virtualFile, before))
+    }
+
+    fun `test signature edit changes the export hash`() {
+        myFixture.configureByText("main.vlt", code.replace("int b)", "int b/*caret*/)"))
+        val before = VoltumExportIndex.getSummary(project, myFixture.file.virtualFile)
+
+        myFixture.type(", int c")
+        PsiDocumentManager.getInstance(project).commitAllDocuments()
+
+        assertTrue(VoltumExportIndex.exportsChanged(project, myFixture.file.virtualFile, before))
+    }
+}
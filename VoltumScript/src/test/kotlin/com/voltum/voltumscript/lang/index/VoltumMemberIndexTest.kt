@@ -0,0 +1,38 @@
+package com.voltum.voltumscript.lang.index
+
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.psi.VoltumTypeDeclarationFieldMember
+import com.voltum.voltumscript.psi.VoltumTypeDeclarationMethodMember
+
+class VoltumMemberIndexTest : VoltumTestCase() {
+    override fun setUp() {
+        super.setUp()
+        myFixture.configureByText("main.vlt", """
+            type Point struct {
+                x int
+                y int
+                length() float {}
+            }
+            type Size struct {
+                x int
+                area() float {}
+            }
+        """.trimIndent())
+    }
+
+    fun `test owners of a shared member`() {
+        assertSameElements(VoltumMemberIndex.findOwnerNames(project, "x"), "Point", "Size")
+    }
+
+    fun `test owners of unique members`() {
+        assertSameElements(VoltumMemberIndex.findOwnerNames(project, "y"), "Point")
+        assertSameElements(VoltumMemberIndex.findOwnerNames(project, "area"), "Size")
+        assertEmpty(VoltumMemberIndex.findOwnerNames(project, "z"))
+    }
+
+    fun `test members are found in their owners`() {
+        assertInstanceOf(VoltumMemberIndex.findMembers(project, "y").single(), VoltumTypeDeclarationFieldMember::class.java)
+        assertInstanceOf(VoltumMemberIndex.findMembers(project, "length").single(), VoltumTypeDeclarationMethodMember::class.java)
+        assertEquals(2, VoltumMemberIndex.findMembers(project, "x").size)
+    }
+}
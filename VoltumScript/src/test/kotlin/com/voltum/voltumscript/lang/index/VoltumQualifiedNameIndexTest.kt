@@ -0,0 +1,43 @@
+package com.voltum.voltumscript.lang.index
+
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.ext.VoltumQualifiedName
+import com.voltum.voltumscript.psi.VoltumFunction
+import com.voltum.voltumscript.psi.VoltumTypeDeclaration
+
+class VoltumQualifiedNameIndexTest : VoltumTestCase() {
+    override fun setUp() {
+        super.setUp()
+        myFixture.configureByText("main.vlt", """
+            type Point struct {
+                x int
+                length() float {}
+            }
+            function main() {
+                function nested() {}
+            }
+        """.trimIndent())
+    }
+
+    fun `test top level declarations`() {
+        assertInstanceOf(find("Point").single(), VoltumTypeDeclaration::class.java)
+        assertInstanceOf(find("main").single(), VoltumFunction::class.java)
+    }
+
+    fun `test nested declarations are not qualified`() {
+        assertEmpty(find("nested"))
+        assertEmpty(find("main.nested"))
+    }
+
+    fun `test member keys resolve to the member identifier`() {
+        assertEquals("x", resolve("Point.x").single().text)
+        assertEquals("length", resolve("Point.length").single().text)
+        assertEmpty(resolve("Point.y"))
+    }
+
+    private fun find(qName: String) =
+        VoltumQualifiedNameIndex.findElements(project, VoltumQualifiedName.fromDottedString(qName))
+
+    private fun resolve(qName: String) =
+        VoltumQualifiedNameIndex.resolve(project, VoltumQualifiedName.fromDottedString(qName))
+}
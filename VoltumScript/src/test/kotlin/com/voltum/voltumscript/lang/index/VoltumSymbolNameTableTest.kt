@@ -0,0 +1,52 @@
+package com.voltum.voltumscript.lang.index
+
+import com.intellij.psi.codeStyle.NameUtil
+import junit.framework.TestCase
+
+class VoltumSymbolNameTableTest : TestCase() {
+    private val table = VoltumSymbolNameTable(
+        listOf("getSymbolName", "setSymbolName", "symbolTable", "resolveType", "typeRegistry", "gsnHelper", "x")
+    )
+
+    fun `test substring match`() {
+        assertEquals(listOf("getSymbolName", "setSymbolName"), table.search("bolNam").sorted())
+    }
+
+    fun `test camel hump initials`() {
+        assertTrue("getSymbolName" in table.search("gsn"))
+        assertTrue("getSymbolName" in table.search("getSN"))
+        assertFalse("setSymbolName" in table.search("gsn"))
+    }
+
+    fun `test word prefixes across humps`() {
+        // Neither a substring nor the initials of the name, the matcher still takes it
+        assertTrue("getSymbolName" in table.search("symNa"))
+        assertTrue("setSymbolName" in table.search("symNa"))
+    }
+
+    fun `test search finds everything the matcher accepts`() {
+        val patterns = listOf("symNa", "sna", "gesyna", "tyre", "rty", "bolNam", "gsn", "getSN", "SymTab", "sym_na", "x", "zzzq")
+        for (pattern in patterns) {
+            val matcher = NameUtil.buildMatcher("*$pattern", NameUtil.MatchingCaseSensitivity.NONE)
+            assertEquals(pattern, table.names.filter { matcher.matches(it) }.sorted(), table.search(pattern).sorted())
+        }
+    }
+
+    fun `test exact match ranks first`() {
+        assertEquals("symbolTable", table.search("symbolTable").first())
+    }
+
+    fun `test patterns without letters or digits scan every name`() {
+        assertNull(table.candidates("_ "))
+    }
+
+    fun `test candidates need every letter of the pattern`() {
+        assertEquals(listOf("typeRegistry"), table.candidates("registry")!!.map { table.names[it] })
+        assertEquals(listOf("getSymbolName", "setSymbolName"), table.candidates("symNa")!!.map { table.names[it] })
+        assertEmpty(table.search("zzzq"))
+    }
+
+    fun `test limit`() {
+        assertEquals(1, table.search("SymbolName", limit = 1).size)
+    }
+}
@@ -0,0 +1,69 @@
+package com.voltum.voltumscript.lang.index
+
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.util.indexing.FileBasedIndex
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.lang.index.VoltumUsageIndex.Companion.CALL
+import com.voltum.voltumscript.lang.index.VoltumUsageIndex.Companion.MEMBER
+import com.voltum.voltumscript.lang.index.VoltumUsageIndex.Companion.READ
+import com.voltum.voltumscript.lang.index.VoltumUsageIndex.Companion.TYPE
+import com.voltum.voltumscript.lang.index.VoltumUsageIndex.Companion.WRITE
+import com.voltum.voltumscript.lang.references.VoltumUsageSearch
+import com.voltum.voltumscript.psi.VoltumVarId
+
+class VoltumUsageIndexTest : VoltumTestCase() {
+    private val code = """
+        type Point struct {
+            total int
+        }
+        function add(int a, int b) int {
+            return a + b
+        }
+        var total = add(1, 2)
+        total = total + 1
+        total++
+        var p = Point()
+        var n = p.total
+        function scale(Point q) {}
+    """.trimIndent()
+
+    private fun roles(name: String): List<Int> {
+        val data = FileBasedIndex.getInstance().getFileData(VoltumUsageIndex.NAME, myFixture.file.virtualFile, project)
+        return data[name]?.map { VoltumUsageIndex.rolesOf(it) }.orEmpty()
+    }
+
+    fun `test occurrence roles`() {
+        myFixture.configureByText("main.vlt", code)
+
+        assertOrderedEquals(roles("total"), WRITE, READ, WRITE, MEMBER or READ)
+        assertOrderedEquals(roles("add"), CALL or READ)
+        assertTrue(TYPE in roles("Point"))
+    }
+
+    fun `test declarations are not recorded`() {
+        myFixture.configureByText("main.vlt", code)
+
+        assertEmpty(roles("scale"))
+        assertEmpty(roles("q"))
+        assertOrderedEquals(roles("a"), READ)
+    }
+
+    fun `test offsets point at the identifier`() {
+        myFixture.configureByText("main.vlt", code)
+        val data = FileBasedIndex.getInstance().getFileData(VoltumUsageIndex.NAME, myFixture.file.virtualFile, project)
+
+        for (packed in data.getValue("total")) {
+            assertEquals("total", myFixture.file.findElementAt(VoltumUsageIndex.offsetOf(packed))?.text)
+        }
+    }
+
+    fun `test search skips member accesses of a variable`() {
+        myFixture.configureByText("main.vlt", code)
+        val target = myFixture.findElementByText("total = add", VoltumVarId::class.java)
+
+        val references = VoltumUsageSearch.findReferences(target, GlobalSearchScope.allScope(project))
+
+        assertEquals(3, references.size)
+        assertTrue(references.none { it.element.textRange.startOffset >= code.indexOf("p.total") })
+    }
+}
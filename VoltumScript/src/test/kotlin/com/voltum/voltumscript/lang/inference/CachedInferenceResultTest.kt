@@ -0,0 +1,89 @@
+package com.voltum.voltumscript.lang.inference
+
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.psi.VoltumFunction
+import com.voltum.voltumscript.psi.VoltumVariableDeclaration
+
+class CachedInferenceResultTest : VoltumTestCase() {
+    private val code = """
+        function add(int a, int b) int {
+            return a + b
+        }
+        function add(int x) int {
+            return x
+        }
+        var first = 1
+        var second = add(1, 2)
+    """.trimIndent()
+
+    private lateinit var functions: List<VoltumFunction>
+    private lateinit var variables: List<VoltumVariableDeclaration>
+
+    override fun setUp() {
+        super.setUp()
+        myFixture.configureByText("main.vlt", code)
+        functions = PsiTreeUtil.findChildrenOfType(myFixture.file, VoltumFunction::class.java).toList()
+        variables = PsiTreeUtil.findChildrenOfType(myFixture.file, VoltumVariableDeclaration::class.java).toList()
+    }
+
+    fun `test elements are looked up by name`() {
+        val result = CachedInferenceResult().apply {
+            addFunction(functions[0])
+            variables.forEach { addVariable(it) }
+        }
+
+        assertEquals(listOf(functions[0]), result.elementsNamed("add").toList())
+        assertEquals(listOf(variables[1]), result.elementsNamed("second").toList())
+        assertEmpty(result.elementsNamed("missing").toList())
+        assertNotNull(result.typedVariables["a"])
+        assertSameElements(result.all, functions[0], variables[0], variables[1], result.typedVariables["a"], result.typedVariables["b"])
+    }
+
+    fun `test merge keeps the last declaration of a name and every id`() {
+        val left = CachedInferenceResult().apply { addFunction(functions[0]) }
+        val right = CachedInferenceResult().apply { addFunction(functions[1]) }
+
+        val merged = CachedInferenceResult().apply {
+            merge(left)
+            merge(right)
+        }
+
+        assertSame(functions[1], merged.functions["add"])
+        assertContainsElements(merged.allIds, functions[0].getNameId(), functions[1].getNameId())
+        assertContainsElements(merged.all, functions[0], functions[1])
+        assertSameElements(merged.typedVariables.values.keys, "a", "b", "x")
+    }
+
+    fun `test merged result does not share storage with its source`() {
+        val source = CachedInferenceResult().apply { addFunction(functions[0]) }
+        val merged = CachedInferenceResult().apply { merge(source) }
+
+        merged.addVariable(variables[0])
+        merged.addFunction(functions[1])
+
+        assertNull(source.variables["first"])
+        assertFalse(functions[1] in source.all)
+        assertSame(functions[0], source.functions["add"])
+        assertFalse(functions[1].getNameId() in source.allIds)
+    }
+
+    fun `test id values follow later additions`() {
+        val result = CachedInferenceResult().apply { addVariable(variables[0]) }
+        assertEquals("1", result.allIdValues["first"]?.text)
+        assertFalse("second" in result.allIdValues)
+
+        result.addVariable(variables[1])
+        assertEquals("add(1, 2)", result.allIdValues["second"]?.text)
+
+        val merged = CachedInferenceResult().apply { merge(result) }
+        assertEquals(result.allIdValues, merged.allIdValues)
+    }
+
+    fun `test names are shared between results`() {
+        val one = CachedInferenceResult().apply { addVariable(variables[0]) }
+        val other = CachedInferenceResult().apply { addVariable(variables[0]) }
+
+        assertSame(one.variables.values.keys.single(), other.variables.values.keys.single())
+    }
+}
@@ -0,0 +1,111 @@
+package com.voltum.voltumscript.lang.inference
+
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.testFramework.PlatformTestUtil
+import com.voltum.voltumscript.VoltumTestCase
+import java.util.concurrent.Callable
+
+class VoltumProjectInferenceTest : VoltumTestCase() {
+    private fun addFile(name: String, code: String): VirtualFile =
+        myFixture.addFileToProject(name, code.trimIndent()).virtualFile
+
+    private fun layerNames(files: Collection<VirtualFile>): List<List<String>> =
+        project.projectInference.partition(files).map { layer -> layer.map { it.name } }
+
+    /** The driver waits on non-blocking read actions, so it runs off the EDT like a batch job would */
+    private fun infer(files: Collection<VirtualFile>, parallelism: Int): ProjectInferenceResult {
+        val future = ApplicationManager.getApplication().executeOnPooledThread(Callable {
+            project.projectInference.infer(files, parallelism)
+        })
+        return PlatformTestUtil.waitForFuture(future, 60_000)
+    }
+
+    fun `test files are layered after their dependencies`() {
+        val files = listOf(
+            addFile("a.vlt", """
+                type Base struct {
+                    x int
+                }
+            """),
+            addFile("b.vlt", """
+                function middle(Base b) int {
+                    return b.x
+                }
+            """),
+            addFile("c.vlt", """
+                var top = middle(null)
+            """),
+            addFile("d.vlt", """
+                var alone = 1
+            """),
+        )
+
+        assertEquals(listOf(listOf("a.vlt", "d.vlt"), listOf("b.vlt"), listOf("c.vlt")), layerNames(files))
+    }
+
+    fun `test files in a cycle share a layer`() {
+        val files = listOf(
+            addFile("x.vlt", """
+                function ping() int {
+                    return pong()
+                }
+            """),
+            addFile("y.vlt", """
+                function pong() int {
+                    return ping()
+                }
+            """),
+        )
+
+        assertEquals(listOf(listOf("x.vlt", "y.vlt")), layerNames(files))
+    }
+
+    fun `test files depending on a cycle come after it`() {
+        val files = listOf(
+            addFile("x.vlt", """
+                function ping() int {
+                    return pong()
+                }
+            """),
+            addFile("y.vlt", """
+                function pong() int {
+                    return ping()
+                }
+            """),
+            addFile("z.vlt", """
+                var result = ping()
+            """),
+            addFile("w.vlt", """
+                var alone = 1
+            """),
+        )
+
+        assertEquals(listOf(listOf("w.vlt", "x.vlt", "y.vlt"), listOf("z.vlt")), layerNames(files))
+    }
+
+    fun `test results do not depend on the number of workers`() {
+        val files = (0 until 12).map { i ->
+            val dependency = if (i == 0) "" else "var use$i = compute${(i - 1) / 2}(1, 2)"
+            addFile("file$i.vlt", """
+                type Point$i struct {
+                    x int
+                }
+                function compute$i(int a, int b) int {
+                    return a + b
+                }
+                $dependency
+            """)
+        }
+
+        val sequential = infer(files, 1)
+        val parallel = infer(files, 4)
+
+        assertEquals(sequential.layers, parallel.layers)
+        assertEquals(files.map { it.path }.sorted(), parallel.files.map { it.file.path })
+        assertEquals(sequential.files.map { it.owners }, parallel.files.map { it.owners })
+        assertTrue(parallel.files.all { it.owners > 0 && it.failedOwners == 0 })
+        assertEquals(sequential.merged.toString(), parallel.merged.toString())
+        assertEquals(sequential.merged.functions.values.keys, parallel.merged.functions.values.keys)
+    }
+}
@@ -0,0 +1,145 @@
+package com.voltum.voltumscript.lang.resolver
+
+import com.intellij.psi.PsiElement
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.psi.VoltumVarReference
+import com.voltum.voltumscript.util.liveBytes
+import com.voltum.voltumscript.util.liveInstances
+
+class VoltumResolveCacheTest : VoltumTestCase() {
+    private val cache get() = VoltumResolveCache.getInstance(project)
+
+    override fun tearDown() {
+        try {
+            for (dep in ResolveCacheDependency.entries) {
+                cache.setCapacity(dep, dep.defaultCapacity)
+            }
+            cache.clear()
+        } finally {
+            super.tearDown()
+        }
+    }
+
+    fun `test hits and misses are counted per dependency`() {
+        val references = configureReferences(10)
+        val before = cache.getStats(ResolveCacheDependency.VOLTUM_STRUCTURE).snapshot()
+
+        repeat(2) { references.forEach { resolve(it) } }
+
+        val after = cache.getStats(ResolveCacheDependency.VOLTUM_STRUCTURE).snapshot()
+        assertEquals(references.size.toLong(), after.misses - before.misses)
+        assertEquals(references.size.toLong(), after.hits - before.hits)
+    }
+
+    /**
+     * Resolving a large synthetic project keeps at most `capacity` entries and evicts the least recently used ones.
+     * Entries are counted here, the retained bytes are checked by the budget test below.
+     */
+    fun `test entry count stays within capacity and oldest entries are evicted`() {
+        val capacity = 500
+        cache.setCapacity(ResolveCacheDependency.VOLTUM_STRUCTURE, capacity)
+        cache.clear()
+
+        val references = configureReferences(5_000)
+        val evictionsBefore = cache.getStats(ResolveCacheDependency.VOLTUM_STRUCTURE).evictions.sum()
+
+        references.forEach { resolve(it) }
+
+        assertTrue(cache.cachedEntryCount(ResolveCacheDependency.VOLTUM_STRUCTURE) <= capacity)
+        val evicted = cache.getStats(ResolveCacheDependency.VOLTUM_STRUCTURE).evictions.sum() - evictionsBefore
+        assertTrue("evicted $evicted", evicted >= references.size - capacity)
+
+        // The most recently resolved entries are the ones kept
+        assertNotNull(cache.getCached(references.last(), ResolveCacheDependency.VOLTUM_STRUCTURE))
+        assertNull(cache.getCached(references.first(), ResolveCacheDependency.VOLTUM_STRUCTURE))
+    }
+
+    fun `test hits keep entries from being evicted`() {
+        val capacity = 100
+        cache.setCapacity(ResolveCacheDependency.VOLTUM_STRUCTURE, capacity)
+        cache.clear()
+
+        val references = configureReferences(1_000)
+        val first = references.first()
+        references.forEach {
+            resolve(it)
+            resolve(first)
+        }
+
+        assertNotNull(cache.getCached(first, ResolveCacheDependency.VOLTUM_STRUCTURE))
+        assertNull(cache.getCached(references[1], ResolveCacheDependency.VOLTUM_STRUCTURE))
+    }
+
+    fun `test every write is bounded and re-added keys are not evicted early`() {
+        cache.setCapacity(ResolveCacheDependency.ANY_PSI_CHANGE, 3)
+        cache.clear()
+        val (a, b, c, d, e) = configureReferences(10)
+        val map = cache.anyPsiChangeDependentCache
+
+        listOf(a, b, c).forEach { map.putIfAbsent(it, it) }
+        map.remove(a)
+        map[a] = a
+        map.computeIfAbsent(d) { it }
+        // b is now the least recently used, a was re-added after it
+        assertNull(map[b])
+        assertSame(a, map[a])
+
+        map.compute(e) { key, _ -> key }
+        assertEquals(3, map.size)
+        assertNull(map[c])
+        assertSame(a, map[a])
+    }
+
+    /**
+     * Resolving far more references than fit keeps what the cache retains within a heap budget of `capacity` entries,
+     * both the cached results and the cache's own weak keys. Sizes come from the heap histogram, after a full gc.
+     */
+    fun `test retained heap stays within the capacity budget`() {
+        val capacity = 500
+        cache.setCapacity(ResolveCacheDependency.VOLTUM_STRUCTURE, capacity)
+        cache.clear()
+
+        val references = configureReferences(5_000)
+        for (reference in references) {
+            cache.resolveWithCaching(reference, ResolveCacheDependency.VOLTUM_STRUCTURE) { Payload() }
+        }
+
+        // Soft values stay cached without memory pressure, so an unbounded cache would retain all 5000 payloads
+        val payloads = liveInstances()[Payload::class.java.name] ?: 0L
+        val retained = payloads * Payload.RETAINED_BYTES
+        val budget = capacity * Payload.RETAINED_BYTES
+        assertTrue("$payloads cached payloads retain $retained bytes, budget $budget", retained <= budget)
+
+        val keyBytes = liveBytes()[KEY_REF_CLASS] ?: 0L
+        assertTrue("cache keys retain $keyBytes bytes", keyBytes <= capacity * MAX_KEY_REF_BYTES)
+    }
+
+    private class Payload {
+        @Suppress("unused")
+        private val data = LongArray(RETAINED_BYTES.toInt() / Long.SIZE_BYTES)
+
+        companion object {
+            const val RETAINED_BYTES = 4096L
+        }
+    }
+
+    private fun resolve(element: PsiElement): List<PsiElement>? =
+        cache.resolveWithCaching(element, ResolveCacheDependency.VOLTUM_STRUCTURE) { listOf(it) }
+
+    private fun configureReferences(count: Int): List<VoltumVarReference> {
+        val code = buildString {
+            appendLine("var a = 1")
+            repeat(count) { appendLine("var v$it = a") }
+        }
+        val file = myFixture.configureByText("main.vlt", code)
+        return PsiTreeUtil.collectElementsOfType(file, VoltumVarReference::class.java).toList()
+    }
+
+    companion object {
+        private const val KEY_REF_CLASS = "com.voltum.voltumscript.lang.resolver.ResolveKeyRef"
+
+        /** A weak reference with its identity hash, generous for compressed and uncompressed oops */
+        private const val MAX_KEY_REF_BYTES = 64L
+    }
+}
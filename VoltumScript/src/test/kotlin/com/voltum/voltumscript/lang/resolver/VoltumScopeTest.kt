@@ -0,0 +1,83 @@
+package com.voltum.voltumscript.lang.resolver
+
+import com.intellij.psi.util.parentOfType
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.psi.*
+import org.intellij.lang.annotations.Language
+
+class VoltumScopeTest : VoltumTestCase() {
+    fun `test local variable`() = checkResolvesTo(
+        """
+        function main() {
+            var a = 1
+            var b = a/*caret*/
+        }
+    """, "var a = 1"
+    )
+
+    fun `test argument`() = checkResolvesTo(
+        """
+        function main(int a) {
+            var b = a/*caret*/
+        }
+    """, "int a"
+    )
+
+    fun `test block shadows outer variable`() = checkResolvesTo(
+        """
+        var a = 1
+        function main() {
+            var a = 2
+            if (true) {
+                var a = 3
+                var b = a/*caret*/
+            }
+        }
+    """, "var a = 3"
+    )
+
+    fun `test variable declared later is not visible`() = checkResolvesTo(
+        """
+        var a = 1
+        function main() {
+            var b = a/*caret*/
+            var a = 2
+        }
+    """, "var a = 1"
+    )
+
+    fun `test nested function sees enclosing locals`() = checkResolvesTo(
+        """
+        function main() {
+            var a = 1
+            var fn = () => {
+                var b = a/*caret*/
+            }
+        }
+    """, "var a = 1"
+    )
+
+    fun `test free name is not resolved locally`() {
+        InlineFile(
+            """
+            function main() {
+                var b = other/*caret*/
+            }
+        """
+        )
+        val ref = referenceAtCaret()
+        assertEmpty(ref.resolveLocal(ref.name!!))
+        assertTrue((myFixture.file as VoltumFile).freeNameCandidates.containsKey("other"))
+    }
+
+    private fun checkResolvesTo(@Language("Voltum") code: String, declarationText: String) {
+        InlineFile(code)
+        val ref = referenceAtCaret()
+        val resolved = ref.resolveLocal(ref.name!!)
+        assertSize(1, resolved)
+        assertEquals(declarationText, resolved.single().text)
+    }
+
+    private fun referenceAtCaret(): VoltumVarReference =
+        myFixture.file.findElementAt(myFixture.caretOffset - 1)!!.parentOfType<VoltumVarReference>(true)!!
+}
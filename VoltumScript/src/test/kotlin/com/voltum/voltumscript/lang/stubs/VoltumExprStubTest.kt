@@ -0,0 +1,45 @@
+package com.voltum.voltumscript.lang.stubs
+
+import com.intellij.psi.impl.source.PsiFileImpl
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.psi.VoltumDictionaryField
+import com.voltum.voltumscript.psi.VoltumVariableDeclaration
+import com.voltum.voltumscript.psi.ext.greenStub
+import com.voltum.voltumscript.psi.varIdAndValueList
+
+class VoltumExprStubTest : VoltumTestCase() {
+    private lateinit var file: PsiFileImpl
+
+    override fun setUp() {
+        super.setUp()
+        file = myFixture.addFileToProject("other.vlt", """
+            var answer = 42
+            var point = {x: 1 + 2}
+        """.trimIndent()) as PsiFileImpl
+    }
+
+    /** Stub backed PSI of the unopened file, the AST is only loaded by the accessors under test */
+    private inline fun <reified T> stubbed(): List<T> {
+        val stubTree = file.stubTree
+        assertNotNull("other.vlt must not have an AST yet", stubTree)
+        return stubTree!!.plainList.mapNotNull { it.psi as? T }
+    }
+
+    fun `test expressions have no stubs`() {
+        val types = file.stubTree!!.plainList.map { it.stubType }
+        assertFalse(types.toString(), types.any { it is VoltumExprStubType })
+    }
+
+    fun `test initializer of a stub backed declaration`() {
+        val answer = stubbed<VoltumVariableDeclaration>().first { it.name == "answer" }
+        assertNotNull(answer.greenStub)
+
+        assertEquals("42", answer.initializer?.text)
+        assertEquals(listOf("answer" to "42"), answer.varIdAndValueList.map { it.first.text to it.second.text }.toList())
+    }
+
+    fun `test value of a stub backed dictionary field`() {
+        val field = stubbed<VoltumDictionaryField>().single()
+        assertEquals("1 + 2", field.value.text)
+    }
+}
@@ -0,0 +1,73 @@
+package com.voltum.voltumscript.lang.stubs
+
+import com.intellij.psi.stubs.SerializationManagerEx
+import com.intellij.psi.stubs.StubElement
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.lang.types.TyStruct
+import com.voltum.voltumscript.psi.VoltumDictionaryStub
+import com.voltum.voltumscript.psi.VoltumTypeDeclarationStub
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+
+class VoltumTypeTableTest : VoltumTestCase() {
+    private val code = (0 until 30).joinToString("\n") {
+        """
+        type Point$it struct {
+            x int
+            def length() int {
+                return x
+            }
+        }
+        var dict$it = {x: 1, nested: {y: 2}}
+        """.trimIndent()
+    }
+
+    private fun buildStubTree(): VoltumFileStub {
+        myFixture.configureByText("main.vlt", code)
+        return VoltumFileStub.Type.builder.buildStubTree(myFixture.file) as VoltumFileStub
+    }
+
+    private fun serialize(stub: StubElement<*>): ByteArray =
+        ByteArrayOutputStream().also { SerializationManagerEx.getInstanceEx().serialize(stub, it) }.toByteArray()
+
+    private fun deserialize(bytes: ByteArray): VoltumFileStub =
+        SerializationManagerEx.getInstanceEx().deserialize(ByteArrayInputStream(bytes)) as VoltumFileStub
+
+    private inline fun <reified T> stubsOf(stub: StubElement<*>): List<T> =
+        listOfNotNull(stub as? T) + stub.childrenStubs.flatMap { stubsOf<T>(it) }
+
+    fun `test types are read back from the file table`() {
+        val stubTree = buildStubTree()
+        val read = deserialize(serialize(stubTree))
+
+        assertEquals(stubTree.typeTable.size, read.typeTable.size)
+
+        val expected = stubsOf<VoltumTypeDeclarationStub>(stubTree)
+        val actual = stubsOf<VoltumTypeDeclarationStub>(read)
+        assertSize(30, actual)
+        for ((e, a) in expected.zip(actual)) {
+            assertEquals(e.prototype!!.name, a.prototype!!.name)
+        }
+
+        val expectedDictionaries = stubsOf<VoltumDictionaryStub>(stubTree)
+        val dictionaries = stubsOf<VoltumDictionaryStub>(read)
+        assertEquals(expectedDictionaries.map { it.prototype?.kind }, dictionaries.map { it.prototype?.kind })
+    }
+
+    fun `test a type shared by several stubs is written once`() {
+        val stubTree = buildStubTree()
+        val distinctSize = serialize(stubTree).size
+
+        // The table is collected on first use, so the shared variant needs a fresh tree
+        val shared = TyStruct().apply { name = "struct:Shared" }
+        val sharedTree = buildStubTree()
+        stubsOf<VoltumTypeDeclarationStub>(sharedTree).forEach { it.prototype = shared }
+        val sharedBytes = serialize(sharedTree)
+        assertTrue("$distinctSize vs ${sharedBytes.size}", sharedBytes.size < distinctSize)
+
+        val read = stubsOf<VoltumTypeDeclarationStub>(deserialize(sharedBytes)).map { it.prototype }
+        assertSize(30, read)
+        read.forEach { assertSame(read.first(), it) }
+        assertEquals("struct:Shared", read.first()!!.name)
+    }
+}
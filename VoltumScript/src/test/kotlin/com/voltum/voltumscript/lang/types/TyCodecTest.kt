@@ -0,0 +1,153 @@
+package com.voltum.voltumscript.lang.types
+
+import com.intellij.psi.stubs.SerializationManagerEx
+import com.intellij.psi.stubs.StubElement
+import com.intellij.psi.stubs.StubInputStream
+import com.intellij.psi.stubs.StubOutputStream
+import com.intellij.util.io.PersistentStringEnumerator
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import com.voltum.voltumscript.psi.VoltumTypeDeclarationStub
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.nio.file.Files
+import java.util.*
+import kotlin.random.Random
+
+class TyCodecTest : VoltumTestCase() {
+    private lateinit var names: PersistentStringEnumerator
+
+    override fun setUp() {
+        super.setUp()
+        names = PersistentStringEnumerator(Files.createTempDirectory("ty-codec").resolve("names"))
+    }
+
+    override fun tearDown() {
+        try {
+            names.close()
+        } finally {
+            super.tearDown()
+        }
+    }
+
+    fun `test shared kinds read back as their instance`() {
+        val shared = listOf(TyUnknown.INSTANCE, TyNull.INSTANCE, TyUnit.INSTANCE, TyBool.INSTANCE, TyString.INSTANCE,
+                            TyArray.INSTANCE, TyInt32.INSTANCE, TyInt64.INSTANCE, TyDouble.INSTANCE, TyFloat.INSTANCE)
+        for (ty in shared) {
+            assertSame(ty, roundTrip(ty))
+        }
+        assertNull(roundTrip(null))
+        assertSame(TyUnknown.INSTANCE, roundTrip(TyInterner.reference(TyKind.Int32)))
+    }
+
+    fun `test random type graphs round trip`() {
+        val random = Random(7)
+        repeat(500) {
+            val root = randomGraph(random)
+            assertSameGraph(root, roundTrip(root), IdentityHashMap())
+        }
+    }
+
+    fun `test self referencing function`() {
+        val fn = TyFunction().apply { name = "recurse" }
+        fn.params.add(TyFunctionParam("next", lazyOf(fn)))
+
+        val read = roundTrip(fn) as TyFunction
+        assertSame(read, read.params.single().type.value)
+    }
+
+    fun `test type declaration stubs keep their prototype`() {
+        myFixture.configureByText("main.vlt", """
+            type Point struct {
+                x int
+            }
+            type Line struct {
+                from Point
+            }
+        """.trimIndent())
+
+        val stubTree = VoltumFileStub.Type.builder.buildStubTree(myFixture.file)
+        val bytes = ByteArrayOutputStream()
+        SerializationManagerEx.getInstanceEx().serialize(stubTree, bytes)
+        val read = SerializationManagerEx.getInstanceEx().deserialize(ByteArrayInputStream(bytes.toByteArray()))
+
+        val expected = typeDeclarations(stubTree)
+        val actual = typeDeclarations(read)
+        assertSize(2, actual)
+        for ((e, a) in expected.zip(actual)) {
+            assertEquals(e.name, a.name)
+            assertSameGraph(e.prototype, a.prototype, IdentityHashMap())
+        }
+    }
+
+    private fun typeDeclarations(stub: StubElement<*>): List<VoltumTypeDeclarationStub> =
+        listOfNotNull(stub as? VoltumTypeDeclarationStub) + stub.childrenStubs.flatMap { typeDeclarations(it) }
+
+    private fun roundTrip(ty: Ty?): Ty? {
+        val bytes = ByteArrayOutputStream()
+        serializeType(StubOutputStream(bytes, names), ty)
+        val input = StubInputStream(ByteArrayInputStream(bytes.toByteArray()), names)
+        return Ty.deserialize(input).also { assertEquals("trailing bytes", 0, input.available()) }
+    }
+
+    /** Functions whose parameters point at primitives, structs, other functions of the graph and themselves */
+    private fun randomGraph(random: Random): Ty {
+        val pool = mutableListOf<Ty>(TyInt32.INSTANCE, TyString.INSTANCE, TyBool.INSTANCE, TyArray.INSTANCE, TyUnknown.INSTANCE)
+        repeat(random.nextInt(1, 6)) {
+            pool += TyStruct().apply {
+                name = "struct:S${random.nextInt(100)}"
+                flags = random.nextInt(8)
+            }
+        }
+        pool += TyObject().apply { name = "object:dictionary" }
+
+        val functions = List(random.nextInt(1, 6)) { i ->
+            TyFunction().apply {
+                name = "f$i"
+                flags = random.nextInt(8)
+                returnTypeName = pool.random(random).name
+            }
+        }
+        pool += functions
+        for (fn in functions) {
+            repeat(random.nextInt(5)) { p ->
+                fn.params.add(TyFunctionParam("p$p", lazyOf(pool.random(random))))
+            }
+            repeat(random.nextInt(3)) { t ->
+                fn.typeParameters.add(TyTypeParameter("T$t"))
+            }
+        }
+        return functions.first()
+    }
+
+    private fun assertSameGraph(expected: Ty?, actual: Ty?, seen: IdentityHashMap<Ty, Ty>) {
+        if (expected == null) {
+            assertNull(actual)
+            return
+        }
+        assertNotNull(actual)
+        seen[expected]?.let {
+            assertSame(it, actual)
+            return
+        }
+        seen[expected] = actual
+
+        assertEquals(expected.kind, actual!!.kind)
+        if (TyCodecs[expected.kind] is SharedTyCodec<*>) {
+            assertSame(expected, actual)
+            return
+        }
+        assertEquals(expected.name, actual.name)
+        assertEquals(expected.flags, actual.flags)
+
+        if (expected is TyFunction) {
+            actual as TyFunction
+            assertEquals(expected.returnTypeName, actual.returnTypeName)
+            assertEquals(expected.typeParameters, actual.typeParameters)
+            assertEquals(expected.params.map { it.name }, actual.params.map { it.name })
+            for ((e, a) in expected.params.zip(actual.params)) {
+                assertSameGraph(e.type.value, a.type.value, seen)
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.voltum.voltumscript.lang.types
+
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.psi.VoltumListValue
+import com.voltum.voltumscript.psi.VoltumLiteralFloat
+import com.voltum.voltumscript.psi.VoltumLiteralInt
+import com.voltum.voltumscript.psi.VoltumTypeRef
+import com.voltum.voltumscript.util.liveInstances
+
+class TyInterningTest : VoltumTestCase() {
+    private fun unit(i: Int) = """
+        function compute$i(int32 a, string b) bool {
+            var total = a + $i * 2
+            var ratio = 15f
+            var items = [a, $i, [1, 2]]
+            return total > 10
+        }
+    """.trimIndent()
+
+    fun `test literals and lists share one instance`() {
+        myFixture.configureByText("main.vlt", unit(1) + "\n" + unit(2))
+
+        val ints = PsiTreeUtil.findChildrenOfType(myFixture.file, VoltumLiteralInt::class.java).map { it.tryResolveType() }
+        assertTrue(ints.size > 4)
+        ints.forEach { assertSame(TyInt32.INSTANCE, it) }
+
+        val floats = PsiTreeUtil.findChildrenOfType(myFixture.file, VoltumLiteralFloat::class.java).map { it.tryResolveType() }
+        assertSize(2, floats)
+        floats.forEach { assertSame(TyFloat.INSTANCE, it) }
+
+        val lists = PsiTreeUtil.findChildrenOfType(myFixture.file, VoltumListValue::class.java).map { it.tryResolveType() }
+        assertSize(4, lists)
+        lists.forEach { assertSame(TyArray.INSTANCE, it) }
+    }
+
+    fun `test type references are interned`() {
+        myFixture.configureByText("main.vlt", unit(1) + "\n" + unit(2))
+
+        val refs = PsiTreeUtil.findChildrenOfType(myFixture.file, VoltumTypeRef::class.java).mapNotNull { it.tryResolveType() }
+        assertSize(6, refs)
+        assertSize(3, refs.map { System.identityHashCode(it) }.toSet())
+
+        assertSame(TyInterner.reference(TyKind.Unit), TyInterner.reference(TyKind.Unit))
+        assertSame(TyInterner.reference(TyString.INSTANCE), TyInterner.reference(TyString.INSTANCE))
+        assertNotSame(TyInterner.reference(TyString.INSTANCE), TyInterner.reference(TyKind.String))
+    }
+
+    fun `test members are stored compactly and shared through the prototype`() {
+        val proto = TyStruct()
+        assertEmpty(proto.members)
+
+        repeat(20) { proto.addField("field$it", TyInt32.INSTANCE) }
+        assertSize(20, proto.members)
+        repeat(20) { assertSame(TyInt32.INSTANCE, proto["field$it"]) }
+
+        val child = TyStruct().apply { addToPrototype(proto) }
+        assertEmpty(child.members)
+        assertSame(proto.allMembers, child.allMembers)
+
+        child.addField("own", TyString.INSTANCE)
+        assertSize(21, child.allMembers)
+        assertSize(20, proto.allMembers)
+    }
+
+    fun `test member tables only rebuild when their own prototype chain changes`() {
+        val base = TyStruct().apply { addField("x", TyInt32.INSTANCE) }
+        val child = TyStruct().apply {
+            addToPrototype(base)
+            addField("y", TyInt32.INSTANCE)
+        }
+        val table = child.allMembers
+
+        TyStruct().addField("unrelated", TyString.INSTANCE)
+        assertSame(table, child.allMembers)
+
+        base.addField("z", TyString.INSTANCE)
+        assertNotSame(table, child.allMembers)
+        assertSameElements(child.allMembers.keys, "x", "y", "z")
+    }
+
+    fun `test shared member tables follow changes further up the chain`() {
+        val base = TyStruct().apply { addField("x", TyInt32.INSTANCE) }
+        val middle = TyStruct().apply { addToPrototype(base) }
+        val child = TyStruct().apply { addToPrototype(middle) }
+        assertSame(base.allMembers, child.allMembers)
+
+        base.addField("y", TyInt32.INSTANCE)
+        assertSameElements(child.allMembers.keys, "x", "y")
+
+        middle.addField("z", TyString.INSTANCE)
+        assertSameElements(child.allMembers.keys, "x", "y", "z")
+        assertSame(middle.allMembers, child.allMembers)
+    }
+
+    fun `test members typed with an interned type keep their own owner`() {
+        val point = TyStruct().apply { addField("x", TyInt32.INSTANCE) }
+        val size = TyStruct().apply { addField("width", TyInt32.INSTANCE) }
+
+        val x = point.getField("x")!!
+        val width = size.getField("width")!!
+        assertSame(x.ty, width.ty)
+        assertSame(point, x.owner)
+        assertSame(size, width.owner)
+        assertNull(TyInt32.INSTANCE.linkedElement)
+    }
+
+    fun `test heap histogram stays flat as the project grows`() {
+        val resolved = mutableListOf<Ty?>()
+        repeat(20) { file ->
+            val text = (0 until 50).joinToString("\n") { unit(file * 50 + it) }
+            val psi = myFixture.addFileToProject("file$file.vlt", text)
+            PsiTreeUtil.findChildrenOfAnyType(psi, VoltumLiteralInt::class.java, VoltumLiteralFloat::class.java, VoltumListValue::class.java)
+                .mapTo(resolved) { it.tryResolveType() }
+            PsiTreeUtil.findChildrenOfType(psi, VoltumTypeRef::class.java).mapTo(resolved) { it.tryResolveType() }
+        }
+        assertTrue(resolved.size > 10_000)
+
+        val histogram = liveInstances()
+        val interned = listOf(TyInt32::class, TyFloat::class, TyArray::class, TyReference::class)
+        for (klass in interned) {
+            val instances = histogram[klass.java.name] ?: 0L
+            assertTrue("${klass.simpleName}: $instances live instances for ${resolved.size} resolved elements", instances < 50)
+        }
+    }
+}
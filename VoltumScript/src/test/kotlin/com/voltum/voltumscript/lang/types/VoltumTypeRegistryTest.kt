@@ -0,0 +1,97 @@
+package com.voltum.voltumscript.lang.types
+
+import com.intellij.psi.impl.source.PsiFileImpl
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.runtime.RuntimeSettings
+import com.voltum.voltumscript.runtime.std.stdMeta
+
+class VoltumTypeRegistryTest : VoltumTestCase() {
+    private val stdMetaJson = """
+        [
+          {
+            "Classes": [],
+            "Prototypes": [
+              {
+                "Name": "String", "Kind": "Prototype", "RelativePath": "Core/String", "Aliases": ["string", "str"],
+                "Definition": "type String struct {}",
+                "Methods": [
+                  {
+                    "Name": "length", "Definition": "def length() int32;", "Documentation": null,
+                    "Parameters": [], "ReturnType": { "Name": "int32", "PrototypeType": "Int32Prototype" }
+                  }
+                ],
+                "Properties": [], "Constructors": []
+              }
+            ],
+            "Methods": [], "Properties": [], "Constructors": [], "Aliases": [],
+            "Name": "Core", "Namespace": "Core", "Module": null, "SuperType": null,
+            "Kind": "Module", "RelativePath": "Core", "Definition": ""
+          }
+        ]
+    """.trimIndent()
+
+    private val requested = mutableListOf<String>()
+
+    override fun setUp() {
+        super.setUp()
+        project.typeRegistry.registerLazySource(testRootDisposable) { name ->
+            requested.add(name)
+            false
+        }
+    }
+
+    fun `test building stubs does not materialize lazy sources`() {
+        val file = myFixture.addFileToProject("point.vlt", """
+            type Point struct {
+                x int
+            }
+        """.trimIndent()) as PsiFileImpl
+
+        file.calcStubTree()
+
+        assertEmpty(requested)
+    }
+
+    fun `test default type lookup does not materialize lazy sources`() {
+        assertInstanceOf(project.typeRegistry.tryGetDefaultType("int32"), TyInt32::class.java)
+        assertNull(project.typeRegistry.tryGetDefaultType("NotAStdType"))
+        assertEmpty(requested)
+    }
+
+    fun `test lookup by name materializes lazy sources`() {
+        assertNull(project.typeRegistry["NotAStdType"])
+        assertEquals(listOf("NotAStdType"), requested)
+    }
+
+    fun `test member lookup on a default type materializes its std module`() {
+        val stdFile = myFixture.addFileToProject("${RuntimeSettings.STD_LIB_DIR_NAME}/Core/String.vlt", """
+            type String struct {
+                length() int32 {}
+            }
+        """.trimIndent())
+        val std = project.stdMeta
+        try {
+            std.load(stdMetaJson, stdFile.virtualFile.parent.parent)
+            assertEquals(0, std.materializedModuleCount)
+
+            assertNotNull(project.typeRegistry.findMember(TyString.INSTANCE, "length"))
+            assertEquals(1, std.materializedModuleCount)
+            assertContainsElements(project.typeRegistry.allMembers(TyString.INSTANCE).keys, "length")
+
+            // The members went to this project's copy, the JVM wide instance is shared with other projects
+            assertNotSame(TyString.INSTANCE, project.typeRegistry.projectType(TyString.INSTANCE))
+            assertNull(TyString.INSTANCE.getField("length"))
+        } finally {
+            std.reset()
+            project.typeRegistry.reset()
+        }
+    }
+
+    fun `test registering past the initial capacity keeps earlier types`() {
+        val structs = (0 until 200).map { i -> TyStruct().apply { name = "Grown$i" } }
+        structs.forEach { project.typeRegistry.add(it) }
+
+        structs.forEach { assertSame(it, project.typeRegistry.tryGetDefaultType(it.name)) }
+        assertNotNull(project.typeRegistry.tryGetDefaultType("int32"))
+    }
+}
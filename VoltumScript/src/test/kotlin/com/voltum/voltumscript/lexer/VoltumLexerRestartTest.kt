@@ -0,0 +1,105 @@
+package com.voltum.voltumscript.lexer
+
+import com.intellij.lexer.Lexer
+import com.intellij.psi.tree.IElementType
+import kotlin.random.Random
+
+class VoltumLexerRestartTest : VoltumLexingTestCaseBase() {
+    override fun getTestDataPath(): String = "lexer/fixtures"
+
+    override fun createLexer(): Lexer = VoltumLexerAdapter()
+
+    private data class Token(val start: Int, val end: Int, val type: IElementType, val state: Int)
+
+    private val sample = """
+        /// Doc comment
+        /// spanning lines
+        type Point struct {
+            x int
+        }
+        /* outer /* nested */ still a comment */
+        function f(int a) int {
+            var s = "text with { and /* inside"
+            var c = 'single'
+            //// not a doc comment
+            return a + 1.5f // trailing
+        }
+    """.trimIndent()
+
+    fun `test every token starts in a restartable state`() {
+        val lexer = VoltumLexerAdapter()
+        for (token in lex(sample)) {
+            assertTrue("$token", lexer.isRestartableState(token.state))
+        }
+    }
+
+    fun `test restarting at any token gives the same tail`() {
+        val full = lex(sample)
+        for ((i, token) in full.withIndex()) {
+            assertEquals("restart at ${token.start}", full.subList(i, full.size), lex(sample, token.start, token.state))
+        }
+    }
+
+    fun `test incremental relex matches full relex on random edits`() {
+        val random = Random(42)
+        val fragments = listOf("/*", "*/", "///", "////", "//", "\n", " ", "\"", "'", "{", "}", "x", "var ", "1.5f", "\\")
+        var text = sample
+        var tokens = lex(text)
+
+        repeat(1000) { edit ->
+            val start = random.nextInt(text.length + 1)
+            val end = (start + random.nextInt(4)).coerceAtMost(text.length)
+            val replacement = if (random.nextBoolean()) fragments.random(random) else ""
+            val newText = text.substring(0, start) + replacement + text.substring(end)
+
+            val full = lex(newText)
+            assertEquals("edit #$edit, [$start, $end) -> '$replacement'", full, relex(tokens, newText, start, end, start + replacement.length))
+
+            text = newText
+            tokens = full
+        }
+    }
+
+    private fun lex(text: CharSequence, startOffset: Int = 0, state: Int = 0): List<Token> {
+        val lexer = VoltumLexerAdapter()
+        lexer.start(text, startOffset, text.length, state)
+        val tokens = mutableListOf<Token>()
+        while (true) {
+            val type = lexer.tokenType ?: break
+            tokens += Token(lexer.tokenStart, lexer.tokenEnd, type, lexer.state)
+            lexer.advance()
+        }
+        return tokens
+    }
+
+    /**
+     * Relexes the way the editor highlighter does: from two tokens before the edit, or further back until a restartable
+     * state, up to the first token after the edit which starts where an old token did, in the same state.
+     */
+    private fun relex(old: List<Token>, text: String, editStart: Int, oldEnd: Int, newEnd: Int): List<Token> {
+        val lexer = VoltumLexerAdapter()
+        val containing = old.indexOfFirst { it.end > editStart }.let { if (it < 0) old.size else it }
+        var index = maxOf(0, containing - 2)
+        while (index > 0 && !lexer.isRestartableState(old[index].state)) index--
+
+        val result = old.subList(0, index).toMutableList()
+        val restart = old.getOrNull(index)
+        lexer.start(text, restart?.start ?: 0, text.length, restart?.state ?: lexer.startState)
+
+        val shift = newEnd - oldEnd
+        val tail = old.filter { it.start >= oldEnd }.map { it.copy(start = it.start + shift, end = it.end + shift) }
+        var tailIndex = 0
+        while (true) {
+            val type = lexer.tokenType ?: break
+            val token = Token(lexer.tokenStart, lexer.tokenEnd, type, lexer.state)
+            while (tailIndex < tail.size && tail[tailIndex].start < token.start) tailIndex++
+            val same = tail.getOrNull(tailIndex)
+            if (token.start >= newEnd && same != null && same.start == token.start && same.state == token.state) {
+                return result + tail.subList(tailIndex, tail.size)
+            }
+            result += token
+            lexer.advance()
+        }
+        return result
+    }
+}
@@ -0,0 +1,83 @@
+package com.voltum.voltumscript.metrics
+
+import junit.framework.TestCase
+
+class VoltumMetricsTest : TestCase() {
+    private var wasEnabled = false
+
+    override fun setUp() {
+        super.setUp()
+        wasEnabled = VoltumMetrics.isEnabled
+        VoltumMetrics.isEnabled = true
+        VoltumMetrics.reset()
+    }
+
+    override fun tearDown() {
+        VoltumMetrics.reset()
+        VoltumMetrics.isEnabled = wasEnabled
+        super.tearDown()
+    }
+
+    fun `test bucket bounds contain the recorded value`() {
+        for (value in (0L..4096L) + listOf(1L shl 20, (1L shl 30) + 12345, (1L shl 40) - 1)) {
+            val index = VoltumMetrics.bucketIndex(value)
+            assertTrue("$value > upper bound of $index", value <= VoltumMetrics.bucketUpperBound(index))
+            if (index > 0) {
+                assertTrue("$value <= upper bound of ${index - 1}", value > VoltumMetrics.bucketUpperBound(index - 1))
+            }
+        }
+    }
+
+    fun `test percentiles are within bucket precision`() {
+        val op = VoltumMetrics.operation("test.percentiles")
+        for (i in 1..1000) {
+            op.record(i * 1000L)
+        }
+
+        val snapshot = op.snapshot()
+        assertEquals(1000, snapshot.count)
+        assertEquals(500.0, snapshot.p50Us, 500.0 * 0.07)
+        assertEquals(990.0, snapshot.p99Us, 990.0 * 0.07)
+        assertEquals(1000.0, snapshot.maxUs)
+    }
+
+    fun `test recordings from several threads are merged`() {
+        val op = VoltumMetrics.operation("test.threads")
+        val threads = (1..4).map { Thread { repeat(250) { op.record(1000) } } }
+        threads.forEach { it.start() }
+        threads.forEach { it.join() }
+
+        assertEquals(1000, op.snapshot().count)
+    }
+
+    fun `test recorders of ended threads are folded and dropped`() {
+        val op = VoltumMetrics.operation("test.ended.threads")
+        repeat(10) {
+            val threads = (1..10).map { Thread { op.record(1000) } }
+            threads.forEach { it.start() }
+            threads.forEach { it.join() }
+        }
+
+        assertEquals(100, op.snapshot().count)
+        assertEquals(0, op.recorderCount)
+    }
+
+    fun `test nothing is recorded when disabled`() {
+        VoltumMetrics.isEnabled = false
+        measure("test.disabled") { }
+        VoltumMetrics.increment("test.disabled")
+
+        val snapshot = VoltumMetrics.snapshot()
+        assertTrue(snapshot.operations.none { it.name == "test.disabled" })
+        assertFalse(snapshot.counters.containsKey("test.disabled"))
+    }
+
+    fun `test json export`() {
+        measure("test.json") { }
+        VoltumMetrics.increment("test.counter", 3)
+
+        val json = VoltumMetrics.toJson()
+        assertTrue(json.contains("\"test.json\""))
+        assertTrue(json.contains("\"test.counter\": 3"))
+    }
+}
@@ -0,0 +1,16 @@
+package com.voltum.voltumscript.psi
+
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.runtime.RuntimeSettings
+
+class VoltumFileStdModuleTest : VoltumTestCase() {
+    fun `test files in a std lib dir declare a module`() {
+        val file = myFixture.addFileToProject("${RuntimeSettings.STD_LIB_DIR_NAME}/Core.vlt", "var x = 1") as VoltumFile
+        assertEquals("Core", file.stdModuleName)
+    }
+
+    fun `test other files declare no module`() {
+        val file = myFixture.addFileToProject("src/Core.vlt", "var x = 1") as VoltumFile
+        assertNull(file.stdModuleName)
+    }
+}
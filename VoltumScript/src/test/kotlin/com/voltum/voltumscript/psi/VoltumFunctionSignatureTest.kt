@@ -0,0 +1,66 @@
+package com.voltum.voltumscript.psi
+
+import com.intellij.psi.impl.source.PsiFileImpl
+import com.intellij.psi.stubs.SerializationManagerEx
+import com.intellij.psi.stubs.StubElement
+import com.intellij.psi.util.PsiTreeUtil
+import com.intellij.testFramework.utils.parameterInfo.MockCreateParameterInfoContext
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.ide.VoltumParameterInfoHandler
+import com.voltum.voltumscript.lang.index.VoltumNamedElementIndex
+import com.voltum.voltumscript.lang.stubs.VoltumFileStub
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+
+class VoltumFunctionSignatureTest : VoltumTestCase() {
+    fun `test signature from psi`() {
+        val function = configureFunction("function add(int a, float b) float {}")
+
+        assertEquals(
+            VoltumFunctionSignature(
+                "add",
+                listOf(VoltumParameterSignature("a", "int"), VoltumParameterSignature("b", "float")),
+                "float",
+                false
+            ),
+            function.signature
+        )
+    }
+
+    fun `test stub signature survives serialization`() {
+        val function = configureFunction("async function load(string path) {}")
+
+        val bytes = ByteArrayOutputStream()
+        SerializationManagerEx.getInstanceEx().serialize(VoltumFileStub.Type.builder.buildStubTree(myFixture.file), bytes)
+        val stubTree = SerializationManagerEx.getInstanceEx().deserialize(ByteArrayInputStream(bytes.toByteArray()))
+        val stub = findFunctionStub(stubTree)!!
+
+        assertEquals(function.signature, stub.signature)
+        assertTrue(stub.signature.isAsync)
+        assertNull(stub.signature.returnType)
+        assertTrue(stub.signature.accepts(1))
+        assertFalse(stub.signature.accepts(2))
+    }
+
+    fun `test signature and parameter info of another file stay on its stubs`() {
+        val lib = myFixture.addFileToProject("lib.vlt", "function add(int a, float b) float {}") as PsiFileImpl
+        myFixture.configureByText("main.vlt", "var x = add(1, <caret>2)")
+
+        val function = VoltumNamedElementIndex.findElementsByName(project, "add").filterIsInstance<VoltumFunction>().single()
+        assertEquals(listOf("a", "b"), function.signature.parameters.map { it.name })
+
+        val context = MockCreateParameterInfoContext(myFixture.editor, myFixture.file)
+        assertNotNull(VoltumParameterInfoHandler().findElementForParameterInfo(context))
+        assertEquals(function.signature, context.itemsToShow.single())
+
+        assertNull("lib.vlt was parsed", lib.treeElement)
+    }
+
+    private fun configureFunction(code: String): VoltumFunction {
+        myFixture.configureByText("main.vlt", code)
+        return PsiTreeUtil.findChildOfType(myFixture.file, VoltumFunction::class.java)!!
+    }
+
+    private fun findFunctionStub(stub: StubElement<*>): VoltumFunctionStub? =
+        stub as? VoltumFunctionStub ?: stub.childrenStubs.firstNotNullOfOrNull { findFunctionStub(it) }
+}
@@ -0,0 +1,133 @@
+package com.voltum.voltumscript.psi
+
+import com.intellij.psi.PsiDocumentManager
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.psi.ext.selfInferenceResult
+import org.intellij.lang.annotations.Language
+
+class VoltumModificationTrackersTest : VoltumTestCase() {
+    fun `test edit inside function body is local`() = checkStructureChanged(false, """
+        function a() {
+            var x = 1/*caret*/
+        }
+    """, "0")
+
+    fun `test new variable inside function body is local`() = checkStructureChanged(false, """
+        function a() {
+            /*caret*/
+        }
+    """, "var y = 2\n")
+
+    fun `test function name change is a structure change`() = checkStructureChanged(true, """
+        function a/*caret*/() {
+            var x = 1
+        }
+    """, "b")
+
+    fun `test function arguments change is a structure change`() = checkStructureChanged(true, """
+        function a(/*caret*/) {
+            var x = 1
+        }
+    """, "int b")
+
+    fun `test top level variable is a structure change`() = checkStructureChanged(true, """
+        var x = 1/*caret*/
+    """, "0")
+
+    fun `test type declaration member is a structure change`() = checkStructureChanged(true, """
+        type S struct {
+            x int/*caret*/
+        }
+    """, "\ny int")
+
+    fun `test nested function declaration inside body is a structure change`() = checkStructureChanged(true, """
+        function a() {
+            /*caret*/
+        }
+    """, "function b() {}\n")
+
+    fun `test only the edited function tracker is incremented`() {
+        InlineFile(
+            """
+            function a() {
+                var x = 1/*caret*/
+            }
+            function b() {
+                var y = 2
+            }
+        """
+        )
+        val (a, b) = functions()
+        val aCount = a.modificationTracker.modificationCount
+        val bCount = b.modificationTracker.modificationCount
+
+        typeAndCommit("0")
+
+        assertTrue(a.modificationTracker.modificationCount > aCount)
+        assertEquals(bCount, b.modificationTracker.modificationCount)
+    }
+
+    fun `test inference of other functions survives a local edit`() {
+        InlineFile(
+            """
+            function a() {
+                var x = 1/*caret*/
+            }
+            function b() {
+                var y = 2
+                var z = y
+            }
+        """
+        )
+        val ref = varReference("y")
+        val before = ref.selfInferenceResult
+        assertNotNull(before)
+
+        typeAndCommit("0")
+
+        assertTrue(ref.isValid)
+        assertSame(before, ref.selfInferenceResult)
+    }
+
+    fun `test inference is invalidated by a structure change`() {
+        InlineFile(
+            """
+            var x = 1/*caret*/
+            function b() {
+                var y = 2
+                var z = y
+            }
+        """
+        )
+        val ref = varReference("y")
+        val before = ref.selfInferenceResult
+
+        typeAndCommit("0")
+
+        assertTrue(ref.isValid)
+        assertNotSame(before, ref.selfInferenceResult)
+    }
+
+    private fun checkStructureChanged(expected: Boolean, @Language("Voltum") code: String, text: String) {
+        InlineFile(code).withCaret()
+        val tracker = project.voltumStructureModificationTracker
+        val before = tracker.modificationCount
+
+        typeAndCommit(text)
+
+        val changed = tracker.modificationCount != before
+        assertEquals("Structure modification tracker change", expected, changed)
+    }
+
+    private fun typeAndCommit(text: String) {
+        myFixture.type(text)
+        PsiDocumentManager.getInstance(project).commitAllDocuments()
+    }
+
+    private fun functions(): List<VoltumFuncDeclaration> =
+        PsiTreeUtil.findChildrenOfType(myFixture.file, VoltumFuncDeclaration::class.java).toList()
+
+    private fun varReference(name: String): VoltumVarReference =
+        PsiTreeUtil.findChildrenOfType(myFixture.file, VoltumVarReference::class.java).first { it.text == name }
+}
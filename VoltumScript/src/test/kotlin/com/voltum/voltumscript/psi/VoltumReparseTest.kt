@@ -0,0 +1,111 @@
+package com.voltum.voltumscript.psi
+
+import com.intellij.psi.PsiDocumentManager
+import com.intellij.psi.PsiElement
+import com.intellij.psi.PsiFileFactory
+import com.intellij.psi.PsiManager
+import com.intellij.psi.PsiTreeChangeAdapter
+import com.intellij.psi.PsiTreeChangeEvent
+import com.intellij.psi.impl.DebugUtil
+import com.intellij.psi.impl.source.tree.SharedImplUtil
+import com.intellij.psi.util.PsiTreeUtil
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.lang.VoltumLanguage
+
+class VoltumReparseTest : VoltumTestCase() {
+    private val code = """
+        type Point struct {
+            x int
+            length() float {
+                return x
+            }
+        }
+        function first(int a) int {
+            var total = a/*caret*/
+            if (total > 1) {
+                total = total + 1
+            }
+            return total
+        }
+        function second() {
+            return first(1)
+        }
+    """.trimIndent()
+
+    fun `test balanced block detection`() {
+        assertTrue(VoltumReparseableElementType.isBalancedBlock("{ a }"))
+        assertTrue(VoltumReparseableElementType.isBalancedBlock("{ if (a) { b } }"))
+        assertFalse(VoltumReparseableElementType.isBalancedBlock("{ a } }"))
+        assertFalse(VoltumReparseableElementType.isBalancedBlock("{ { a }"))
+        assertFalse(VoltumReparseableElementType.isBalancedBlock("{ a } { b }"))
+        assertFalse(VoltumReparseableElementType.isBalancedBlock("a { }"))
+        assertFalse(VoltumReparseableElementType.isBalancedBlock("{ /* }"))
+    }
+
+    fun `test bodies parsed on their own match the file tree`() {
+        myFixture.configureByText("main.vlt", code)
+        val bodies = PsiTreeUtil.collectElements(myFixture.file) {
+            it.node.elementType is VoltumReparseableElementType
+        }
+        assertSize(5, bodies)
+
+        for (body in bodies) {
+            val type = body.node.elementType as VoltumReparseableElementType
+            val reparsed = type.parse(body.text, SharedImplUtil.findCharTableByTree(body.node))
+            assertEquals(DebugUtil.nodeTreeToString(body.node, true), DebugUtil.nodeTreeToString(reparsed, true))
+        }
+    }
+
+    fun `test edits inside a body keep the tree in sync`() {
+        myFixture.configureByText("main.vlt", code)
+        val second = PsiTreeUtil.findChildrenOfType(myFixture.file, VoltumFuncDeclaration::class.java).last()
+        val body = PsiTreeUtil.getParentOfType(myFixture.file.findElementAt(myFixture.caretOffset), VoltumBlockBody::class.java)!!
+        val changedParents = recordChangedParents(body)
+
+        VoltumReparseableElementType.Testmarks.BodyReparsed.checkHit {
+            myFixture.type(" + a * 2")
+            PsiDocumentManager.getInstance(project).commitAllDocuments()
+        }
+
+        // Only the edited body was reparsed and merged, nothing outside of it changed
+        assertNotEmpty(changedParents.keys)
+        assertEmpty(changedParents.filterValues { inBody -> !inBody }.keys)
+        assertTrue(body.isValid)
+        assertTrue(second.isValid)
+        assertSame(second, PsiTreeUtil.findChildrenOfType(myFixture.file, VoltumFuncDeclaration::class.java).last())
+        assertEquals(freshTree(myFixture.file.text), DebugUtil.psiToString(myFixture.file, true))
+    }
+
+    fun `test unbalanced edit falls back to a file reparse`() {
+        myFixture.configureByText("main.vlt", code)
+
+        VoltumReparseableElementType.Testmarks.BodyReparsed.checkNotHit {
+            myFixture.type(" }")
+            PsiDocumentManager.getInstance(project).commitAllDocuments()
+        }
+
+        assertEquals(freshTree(myFixture.file.text), DebugUtil.psiToString(myFixture.file, true))
+    }
+
+    /**
+     * Parents of the children added, removed or replaced from now until the end of the test, each with whether it was
+     * inside [body] when the change happened
+     */
+    private fun recordChangedParents(body: PsiElement): Map<PsiElement, Boolean> {
+        val parents = LinkedHashMap<PsiElement, Boolean>()
+        PsiManager.getInstance(project).addPsiTreeChangeListener(object : PsiTreeChangeAdapter() {
+            override fun childAdded(event: PsiTreeChangeEvent) = record(event)
+            override fun childRemoved(event: PsiTreeChangeEvent) = record(event)
+            override fun childReplaced(event: PsiTreeChangeEvent) = record(event)
+
+            private fun record(event: PsiTreeChangeEvent) {
+                val parent = event.parent ?: return
+                parents[parent] = PsiTreeUtil.isAncestor(body, parent, false)
+            }
+        }, testRootDisposable)
+        return parents
+    }
+
+    private fun freshTree(text: String): String =
+        DebugUtil.psiToString(PsiFileFactory.getInstance(project).createFileFromText("fresh.vlt", VoltumLanguage, text), true)
+}
@@ -0,0 +1,107 @@
+package com.voltum.voltumscript.runtime.std
+
+import com.voltum.voltumscript.VoltumTestCase
+import com.voltum.voltumscript.runtime.std.types.TypeMetaModule
+import com.voltum.voltumscript.runtime.std.types.TypeMetaPrototype
+import java.nio.file.Files
+import java.nio.file.Path
+import kotlin.io.path.div
+import kotlin.io.path.exists
+import kotlin.io.path.fileSize
+import kotlin.io.path.readBytes
+import kotlin.io.path.writeBytes
+import kotlin.io.path.writeText
+
+class StdLibMetaSnapshotTest : VoltumTestCase() {
+    private val json = """
+        [
+          {
+            "Classes": [],
+            "Prototypes": [
+              {
+                "Name": "String", "Kind": "Prototype", "RelativePath": "Core/String", "Aliases": ["string", "str"],
+                "Definition": "type String struct {}",
+                "Methods": [
+                  {
+                    "Name": "length", "Definition": "def length() int32;",
+                    "Documentation": { "Summary": "Length of the string", "CodeExample": null },
+                    "Parameters": [], "ReturnType": { "Name": "int32", "PrototypeType": "Int32Prototype" }
+                  }
+                ],
+                "Properties": [], "Constructors": []
+              }
+            ],
+            "Methods": [
+              { "Name": "sleep", "Definition": "def function sleep(int32 ms) object;", "Documentation": null, "Parameters": [] }
+            ],
+            "Properties": [], "Constructors": [], "Aliases": [],
+            "Name": "Core", "Namespace": "Core", "Module": null, "SuperType": null,
+            "Kind": "Module", "RelativePath": "Core", "Definition": "def function sleep(int32 ms) object;"
+          }
+        ]
+    """
+
+    private lateinit var dir: Path
+
+    override fun setUp() {
+        super.setUp()
+        dir = Files.createTempDirectory("voltum-std-meta")
+    }
+
+    override fun tearDown() {
+        try {
+            dir.toFile().deleteRecursively()
+        } finally {
+            super.tearDown()
+        }
+    }
+
+    fun `test snapshot round trip`() {
+        val parsed = StdLibMetaSnapshot.load(json, dir)
+        val snapshot = dir / "${StdLibMetaSnapshot.contentHash(json)}.bin"
+        assertTrue(snapshot.exists())
+
+        val loaded = StdLibMetaSnapshot.read(snapshot, StdLibMetaSnapshot.contentHash(json))
+        assertEquals(parsed.size, loaded.size)
+
+        val module = loaded.single() as TypeMetaModule
+        assertEquals("Core", module.name)
+        assertNull(module.module)
+        assertEquals("sleep", module.methods.single().name)
+
+        val prototype = module.prototypes.single() as TypeMetaPrototype
+        assertEquals(listOf("string", "str"), prototype.aliases)
+        val length = prototype.methods.single()
+        assertEquals("Length of the string", length.documentation?.summary)
+        assertEquals("Int32Prototype", length.returnType?.prototypeFqn)
+    }
+
+    fun `test changed json gets a new snapshot`() {
+        StdLibMetaSnapshot.load(json, dir)
+        val changed = json.replace("sleep", "wait")
+        val loaded = StdLibMetaSnapshot.load(changed, dir)
+
+        assertEquals("wait", (loaded.single() as TypeMetaModule).methods.single().name)
+        assertEquals(2, Files.list(dir).use { it.count() }.toInt())
+    }
+
+    fun `test corrupted snapshot falls back to json`() {
+        val hash = StdLibMetaSnapshot.contentHash(json)
+        (dir / "$hash.bin").writeText("garbage")
+
+        val loaded = StdLibMetaSnapshot.load(json, dir)
+        assertEquals("Core", loaded.single().name)
+    }
+
+    fun `test truncated snapshot is dropped and rewritten`() {
+        StdLibMetaSnapshot.load(json, dir)
+        val hash = StdLibMetaSnapshot.contentHash(json)
+        val snapshot = dir / "$hash.bin"
+        val bytes = snapshot.readBytes()
+        snapshot.writeBytes(bytes.copyOf(bytes.size / 2))
+
+        val loaded = StdLibMetaSnapshot.load(json, dir)
+        assertEquals("Core", loaded.single().name)
+        assertEquals(bytes.size.toLong(), snapshot.fileSize())
+    }
+}
@@ -2,6 +2,8 @@ package com.voltum.voltumscript.util
 
 import com.voltum.voltumscript.VoltumTestCase
 import junit.framework.TestCase
+import java.lang.management.ManagementFactory
+import javax.management.ObjectName
 
 /** Tries to find the specified annotation on the current test method and then on the current class */
 inline fun <reified T : Annotation> TestCase.findAnnotationInstance(): T? =
@@ -17,4 +19,26 @@ inline fun <reified X : Throwable> expect(f: () -> Unit) {
         throw e
     }
     VoltumTestCase.fail("No ${X::class.java} was thrown during the test")
-}
\ No newline at end of file
+}
+
+/** Live instances per class name, from the `GC.class_histogram` diagnostic command (which runs a full gc first) */
+fun liveInstances(): Map<String, Long> = classHistogram(column = 1)
+
+/** Shallow bytes of the live instances per class name, see [liveInstances] */
+fun liveBytes(): Map<String, Long> = classHistogram(column = 2)
+
+private fun classHistogram(column: Int): Map<String, Long> {
+    val histogram = ManagementFactory.getPlatformMBeanServer().invoke(
+        ObjectName("com.sun.management:type=DiagnosticCommand"),
+        "gcClassHistogram",
+        arrayOf<Any>(emptyArray<String>()),
+        arrayOf(Array<String>::class.java.name)
+    ) as String
+
+    // "   1:      12345     678900  com.example.Class (module)"
+    return histogram.lineSequence()
+        .map { it.trim().split(Regex("\\s+")) }
+        .filter { it.size >= 4 && it[0].endsWith(":") }
+        .groupingBy { it[3] }
+        .fold(0L) { total, line -> total + line[column].toLong() }
+}